@@ -0,0 +1,62 @@
+/**
+ * The AnswerCheckBenchmark class measures the answer check done on every "Check" or Enter.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnswerCheckBenchmark {
+
+    public String expected = "photosynthesis";
+    public String correctInput = "  PhotoSynthesis ";
+    public String wrongInput = "photosynthesys";
+    public String fileName = "Photosynthesis.txt";
+
+    @Benchmark
+    public boolean equalsIgnoreCaseCorrect() {
+        return correctInput.trim().equalsIgnoreCase(expected);
+    }
+
+    @Benchmark
+    public boolean equalsIgnoreCaseWrong() {
+        return wrongInput.trim().equalsIgnoreCase(expected);
+    }
+
+    @Benchmark
+    public boolean answerRuleMatches() {
+        return AnswerRule.matches(correctInput, expected);
+    }
+
+    @Benchmark
+    public boolean answerRuleMatchesTypo() {
+        return AnswerRule.matches(wrongInput, expected, 1);
+    }
+
+    @Benchmark
+    public String answerFromFileName() {
+        return AnswerRule.fromFileName(fileName);
+    }
+}
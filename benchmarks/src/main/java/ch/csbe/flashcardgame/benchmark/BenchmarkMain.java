@@ -0,0 +1,47 @@
+/**
+ * The BenchmarkMain class runs the benchmarks and writes the results as JSON.
+ * <p>
+ * All JMH command line options are accepted, e.g. a regular expression to pick benchmarks or
+ * "-p fileCount=100" to limit parameters. Unless "-rf"/"-rff" are given, the results are written in
+ * JMH's JSON format to target/jmh-result.json, so runs of different commits can be compared.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options.
+     * @throws CommandLineOptionException If the options cannot be parsed.
+     * @throws RunnerException If a benchmark fails.
+     */
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result("target/jmh-result.json");
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * The CardLoadBenchmark class measures reading and decoding a single card, as done for every card
+ * shown by {@code QuestionWindow.loadNextMedia}.
+ * <p>
+ * Small and multi-megabyte cards are read from the loose file and from a compiled deck.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.csbe.flashcardgame.deck.CompiledDeck;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CardLoadBenchmark {
+
+    // Size of the card in bytes: a typical small card and a 4 MB reference card.
+    @Param({ "512", "4194304" })
+    public int cardBytes;
+
+    private FolderCardSource folderSource;
+    private CompiledDeck compiledDeck;
+
+    @Setup
+    public void setUp() throws IOException {
+        File[] files = DeckFixtures.singleCardDeck(cardBytes).toFile().listFiles();
+        folderSource = new FolderCardSource(files);
+        Path deckFile = Files.createTempFile("bench", CompiledDeck.EXTENSION);
+        deckFile.toFile().deleteOnExit();
+        CompiledDeck.compile(files, deckFile);
+        compiledDeck = CompiledDeck.open(deckFile);
+    }
+
+    @Benchmark
+    public String readLooseFile() throws IOException {
+        return folderSource.readContent(0);
+    }
+
+    @Benchmark
+    public String readCompiledDeck() {
+        return compiledDeck.readContent(0);
+    }
+}
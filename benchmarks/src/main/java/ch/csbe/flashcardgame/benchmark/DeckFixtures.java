@@ -0,0 +1,98 @@
+/**
+ * The DeckFixtures class creates the deck folders the benchmarks run against.
+ * <p>
+ * Folders are created below "flashcardgame-bench" in the temporary directory and reused by later
+ * runs, because writing a million card files takes far longer than scanning them.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+final class DeckFixtures {
+    // Base directory of all benchmark decks.
+    private static final Path BASE = Paths.get(System.getProperty("java.io.tmpdir"), "flashcardgame-bench");
+
+    /**
+     * The DeckFixtures class only provides static helpers.
+     */
+
+    private DeckFixtures() {
+    }
+
+    /**
+     * Returns a flat deck folder with the given number of small text cards, creating it if needed.
+     *
+     * @param cardCount The number of cards.
+     * @return The deck folder.
+     * @throws IOException If the folder cannot be created.
+     */
+
+    static Path flatDeck(int cardCount) throws IOException {
+        Path folder = BASE.resolve("flat-" + cardCount);
+        Path marker = folder.resolve(".complete");
+        if (Files.exists(marker)) {
+            return folder;
+        }
+        Files.createDirectories(folder);
+        for (int i = 0; i < cardCount; i++) {
+            Files.write(folder.resolve("answer" + i + ".txt"), ("What is card number " + i + "?").getBytes(StandardCharsets.UTF_8));
+        }
+        Files.createFile(marker);
+        return folder;
+    }
+
+    /**
+     * Returns a deck folder with a single card of the given size, creating it if needed.
+     *
+     * @param cardBytes The size of the card in bytes.
+     * @return The deck folder.
+     * @throws IOException If the folder cannot be created.
+     */
+
+    static Path singleCardDeck(int cardBytes) throws IOException {
+        Path folder = BASE.resolve("card-" + cardBytes);
+        Path card = folder.resolve("answer.txt");
+        if (Files.exists(card) && Files.size(card) == cardBytes) {
+            return folder;
+        }
+        Files.createDirectories(folder);
+        Files.write(card, cardContent(cardBytes).getBytes(StandardCharsets.UTF_8));
+        return folder;
+    }
+
+    /**
+     * @param length The number of characters.
+     * @return Card text of the given length, mixing plain words with some markup.
+     */
+
+    static String cardContent(int length) {
+        String pattern = "The <b>capital</b> of France is a city on the Seine.<br/>";
+        char[] content = new char[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = pattern.charAt(i % pattern.length());
+        }
+        return new String(content);
+    }
+
+    /**
+     * @param length The number of characters.
+     * @return Plain card text of the given length without any markup.
+     */
+
+    static String plainContent(int length) {
+        char[] content = new char[length];
+        Arrays.fill(content, 'a');
+        return new String(content);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * The DeckScanBenchmark class measures how long it takes to find the cards of a deck folder.
+ * <p>
+ * It compares the original non-recursive {@code File.listFiles} call of
+ * {@code QuestionWindow.setSelectedFolder} with the parallel {@link DeckScanner}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.csbe.flashcardgame.deck.DeckScanner;
+import ch.csbe.flashcardgame.deck.ScannedCardSource;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DeckScanBenchmark {
+
+    // Number of card files in the deck folder.
+    @Param({ "100", "10000", "1000000" })
+    public int fileCount;
+
+    private File folder;
+
+    @Setup
+    public void setUp() throws IOException {
+        folder = DeckFixtures.flatDeck(fileCount).toFile();
+    }
+
+    @Benchmark
+    public File[] listFiles() {
+        return folder.listFiles(file -> file.getName().toLowerCase().endsWith(".txt"));
+    }
+
+    @Benchmark
+    public File[] parallelScan() throws InterruptedException {
+        return DeckScanner.scan(folder, new ScannedCardSource()).awaitCompletion();
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * The LabelRenderBenchmark class measures showing a card in a {@link JLabel}, which parses the card
+ * as HTML and builds its views.
+ * <p>
+ * The label is cleared first, because setting the text it already has does nothing. Its preferred size
+ * is queried after setting the text, because Swing only lays out the HTML views when they are
+ * measured or painted. For comparison, it also measures building a
+ * {@link CardView} (done off the EDT) and painting an already built one (all the EDT does on a
+ * cache hit). Runs headless.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JLabel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.csbe.flashcardgame.ui.CardView;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LabelRenderBenchmark {
+
+    // Number of characters of the card.
+    @Param({ "200", "20000" })
+    public int cardLength;
+
+    private JLabel label;
+    private String cardContent;
+    private String htmlCard;
+    private String plainCard;
+    private CardView builtView;
+    private Graphics2D graphics;
+    private final Rectangle area = new Rectangle(0, 0, 800, 600);
+
+    @Setup
+    public void setUp() {
+        label = new JLabel();
+        label.setFont(new Font("Arial", Font.PLAIN, 20));
+        cardContent = DeckFixtures.cardContent(cardLength);
+        htmlCard = "<html>" + cardContent + "</html>";
+        plainCard = DeckFixtures.plainContent(cardLength);
+        builtView = CardView.build(cardContent, label);
+        graphics = new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_RGB).createGraphics();
+        graphics.setClip(area);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public Dimension renderHtml() {
+        label.setText("");
+        label.setText(htmlCard);
+        return label.getPreferredSize();
+    }
+
+    @Benchmark
+    public Dimension renderPlainText() {
+        label.setText("");
+        label.setText(plainCard);
+        return label.getPreferredSize();
+    }
+
+    @Benchmark
+    public CardView buildCardView() {
+        return CardView.build(cardContent, label);
+    }
+
+    @Benchmark
+    public void paintCachedView() {
+        builtView.paint(graphics, area);
+    }
+}
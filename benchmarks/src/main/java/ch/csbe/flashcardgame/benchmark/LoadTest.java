@@ -0,0 +1,348 @@
+/**
+ * The LoadTest class simulates many learners playing at the same time, to size hardware for classrooms.
+ * <p>
+ * Every learner is a virtual thread that plays the session flow of the game, headless, over and over:
+ * it selects the deck (the deck is opened and checked for duplicates, as on the ready screen), plays
+ * every card (the card is loaded through a {@link CardPrefetcher}, the learner thinks and answers,
+ * correctly with the given ratio and again after a wrong answer, as the question screen requires), and
+ * finishes (the session, deck and journal are closed, as before the finale screen) to retry the deck.
+ * Every learner keeps its own journal and review history, as on its own machine, below a temporary
+ * directory; the deck folder and its cache files are shared.
+ * </p>
+ * <p>
+ * The learners are added in stages, e.g. 10, then 100, then 1000, each running for the same time. For
+ * every stage one row is printed: completed sessions, answers per second, the answers per second of one
+ * learner compared to the first stage (falls below 100% where the game stops scaling), the latency
+ * percentiles of opening a deck, loading a card, checking an answer and finishing a session, the heap
+ * before, at its peak and after the stage (after a full GC), and the GC pauses during the stage.
+ * </p>
+ * <p>
+ * Usage: java -cp benchmarks.jar ch.csbe.flashcardgame.benchmark.LoadTest [--learners 10,100,1000]
+ * [--seconds 20] [--warmup 5] [--think 500] [--correct 0.8] [--cards 50] [--deck folder]
+ * [--order shuffle|linear|leitner]
+ * </p>
+ * <p>
+ * The think time is the mean time a learner takes per answer, spread evenly between 0 and twice the
+ * mean. With the Leitner order a retry only shows the cards that are due again, so the default is a
+ * shuffled order. Decks are not watched for changes unless -Dflashcardgame.watch=true is given, since
+ * every learner would hold a file watch of its own.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import ch.csbe.flashcardgame.deck.CardPrefetcher;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.Deck;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+import ch.csbe.flashcardgame.session.CardScheduler;
+import ch.csbe.flashcardgame.session.DeckSession;
+import ch.csbe.flashcardgame.session.LeitnerScheduler;
+import ch.csbe.flashcardgame.session.LinearScheduler;
+import ch.csbe.flashcardgame.session.ResultJournal;
+import ch.csbe.flashcardgame.session.ReviewHistory;
+import ch.csbe.flashcardgame.session.ShuffledScheduler;
+
+public class LoadTest {
+    // Answer given instead of the right one.
+    private static final String WRONG_ANSWER = "not the answer";
+
+    // The deck every learner plays.
+    private final File deck;
+    // Card order of the sessions: "shuffle", "linear" or "leitner".
+    private final String order;
+    // Mean time a learner takes per answer, in milliseconds.
+    private final long thinkMillis;
+    // Share of answers that are correct.
+    private final double correctRatio;
+    // Directory with a subdirectory for every learner.
+    private final Path learners;
+    // The stage currently running; GC pauses are counted for it.
+    private volatile Stage current;
+
+    private LoadTest(File deck, String order, long thinkMillis, double correctRatio, Path learners) {
+        this.deck = deck;
+        this.order = order;
+        this.thinkMillis = thinkMillis;
+        this.correctRatio = correctRatio;
+        this.learners = learners;
+    }
+
+    /**
+     * Runs the stages and prints one row per stage.
+     *
+     * @param args The options, see the class description.
+     * @throws Exception If the deck or the learners' directories cannot be created.
+     */
+
+    public static void main(String[] args) throws Exception {
+        String[] stages = option(args, "learners", "10,100,1000").split(",");
+        long seconds = Long.parseLong(option(args, "seconds", "20"));
+        long warmup = Long.parseLong(option(args, "warmup", "5"));
+        double correctRatio = Double.parseDouble(option(args, "correct", "0.8"));
+        if (correctRatio <= 0 || correctRatio > 1) {
+            throw new IllegalArgumentException("--correct must be above 0 and at most 1, a card is only left when it is answered correctly");
+        }
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("flashcardgame.watch") == null) {
+            System.setProperty("flashcardgame.watch", "false");
+        }
+        if (System.getProperty("flashcardgame.cacheDir") == null) {
+            System.setProperty("flashcardgame.cacheDir", Files.createTempDirectory("load-cache").toString());
+        }
+        String folder = option(args, "deck", null);
+        Path deck = folder != null ? Paths.get(folder) : DeckFixtures.flatDeck(Integer.parseInt(option(args, "cards", "50")));
+        LoadTest test = new LoadTest(deck.toFile(), option(args, "order", "shuffle"),
+                Long.parseLong(option(args, "think", "500")), correctRatio, Files.createTempDirectory("load-learners"));
+        test.listenForPauses();
+
+        // The game prints a line for every opened deck, the report goes to the original output.
+        PrintStream report = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        report.printf("deck %s, think %d ms, %.0f%% correct, order %s, %d s per stage%n", deck, test.thinkMillis,
+                100 * correctRatio, test.order, seconds);
+        if (warmup > 0) {
+            test.run(Integer.parseInt(stages[0].trim()), warmup);
+        }
+        report.printf("%8s %9s %10s %7s  %-17s %-17s %-17s %-17s %-25s %s%n", "learners", "sessions", "answers/s",
+                "scaling", "open p50/p99 ms", "load p50/p99 ms", "check p50/p99 us", "finish p50/p99 ms",
+                "heap MB before/peak/after", "gc pauses count/max/total ms");
+        double firstPerLearner = 0;
+        for (String learners : stages) {
+            Stage stage = test.run(Integer.parseInt(learners.trim()), seconds);
+            double perLearner = stage.answersPerSecond() / stage.learners;
+            firstPerLearner = firstPerLearner == 0 ? perLearner : firstPerLearner;
+            report.printf("%8d %9d %10.1f %6.0f%%  %-17s %-17s %-17s %-17s %-25s %d/%d/%d%s%n", stage.learners,
+                    stage.sessions.sum(), stage.answersPerSecond(), 100 * perLearner / firstPerLearner,
+                    percentiles(stage.open, 1_000_000), percentiles(stage.load, 1_000_000),
+                    percentiles(stage.check, 1_000), percentiles(stage.finish, 1_000_000),
+                    stage.heapBefore / (1 << 20) + "/" + stage.heapPeak / (1 << 20) + "/" + stage.heapAfter / (1 << 20),
+                    stage.pauses.getCount(), stage.pauses.getMaxNanos() / 1_000_000, stage.pauseNanos.sum() / 1_000_000,
+                    stage.errors.sum() > 0 ? "  (" + stage.errors.sum() + " errors)" : "");
+        }
+        System.exit(0);
+    }
+
+    // Runs one stage: starts the learners, lets them play for the given time and stops them.
+    private Stage run(int learnerCount, long seconds) throws InterruptedException {
+        Stage stage = new Stage(learnerCount);
+        stage.heapBefore = usedHeapAfterGc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        current = stage;
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int learner = 0; learner < learnerCount; learner++) {
+            int number = learner;
+            executor.execute(() -> learn(number, stage));
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        stage.stopped = true;
+        stage.elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        current = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                stage.heapPeak += pool.getPeakUsage().getUsed();
+            }
+        }
+        stage.heapAfter = usedHeapAfterGc();
+        return stage;
+    }
+
+    // Plays sessions as one learner until the stage is stopped.
+    private void learn(int learner, Stage stage) {
+        Path home = learners.resolve("learner-" + learner);
+        try {
+            Files.createDirectories(home);
+        } catch (IOException event) {
+            event.printStackTrace();
+            stage.errors.increment();
+            return;
+        }
+        long seed = ThreadLocalRandom.current().nextLong();
+        while (!stage.stopped) {
+            try {
+                playSession(home, seed++, stage);
+            } catch (Exception event) {
+                event.printStackTrace();
+                stage.errors.increment();
+            }
+        }
+    }
+
+    // Plays one session from the deck selection to the finale; only completed sessions are counted.
+    private void playSession(Path home, long seed, Stage stage) throws Exception {
+        long start = System.nanoTime();
+        // Selecting the folder opens the deck and checks it for duplicates while the learner decides.
+        Deck opened = Deck.open(deck);
+        opened.findDuplicates();
+        ResultJournal journal = ResultJournal.open(home.resolve("results.journal"), ResultJournal.DEFAULT_FSYNC_MILLIS);
+        CardSource cards = opened.getDistinctCards();
+        DeckSession session = new DeckSession(cards, createScheduler(cards, home, seed), journal);
+        CardPrefetcher prefetcher = new CardPrefetcher(opened.getCards(), CardPrefetcher.DEFAULT_LOOKAHEAD);
+        stage.open.recordNanos(System.nanoTime() - start);
+        boolean completed = false;
+        try {
+            while (!stage.stopped) {
+                if (!session.nextCard()) {
+                    if (!session.isWaitingForCards()) {
+                        completed = true;
+                        break;
+                    }
+                    // The scan is still running, as "Loading..." on the question screen.
+                    Thread.sleep(1);
+                    continue;
+                }
+                long load = System.nanoTime();
+                prefetcher.take(session.getCurrentIndex()).get();
+                prefetcher.prefetch(session.getUpcomingCards(prefetcher.getLookahead()));
+                stage.load.recordNanos(System.nanoTime() - load);
+                boolean correct = false;
+                while (!correct && !stage.stopped) {
+                    Thread.sleep(thinkMillis > 0 ? ThreadLocalRandom.current().nextLong(2 * thinkMillis + 1) : 0);
+                    String answer = ThreadLocalRandom.current().nextDouble() < correctRatio ? session.getCurrentAnswer() : WRONG_ANSWER;
+                    long check = System.nanoTime();
+                    correct = session.submitAnswer(answer);
+                    stage.check.recordNanos(System.nanoTime() - check);
+                    stage.answers.increment();
+                }
+            }
+        } finally {
+            long finish = System.nanoTime();
+            session.finish();
+            prefetcher.close();
+            opened.close();
+            journal.closeAsync().join();
+            if (completed) {
+                stage.finish.recordNanos(System.nanoTime() - finish);
+                stage.sessions.increment();
+            }
+        }
+    }
+
+    // Creates the scheduler for the configured order.
+    private CardScheduler createScheduler(CardSource cards, Path home, long seed) throws IOException {
+        switch (order) {
+            case "linear":
+                return new LinearScheduler(cards);
+            case "leitner":
+                return new LeitnerScheduler(cards, ReviewHistory.open(home.resolve("reviews.log")));
+            default:
+                return new ShuffledScheduler(cards, seed);
+        }
+    }
+
+    // Counts the GC pauses of the running stage; concurrent cycles are not pauses.
+    private void listenForPauses() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector.getName().contains("Concurrent") || collector.getName().contains("Cycles")) {
+                continue;
+            }
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                Stage stage = current;
+                if (stage != null && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    long nanos = TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration());
+                    stage.pauses.recordNanos(nanos);
+                    stage.pauseNanos.add(nanos);
+                }
+            }, null, null);
+        }
+    }
+
+    // Used heap after a full GC.
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Median and 99th percentile of a histogram in the given unit.
+    private static String percentiles(Histogram histogram, long unitNanos) {
+        if (histogram.getCount() == 0) {
+            return "-";
+        }
+        return String.format("%.2f/%.2f", (double) histogram.getPercentileNanos(50) / unitNanos,
+                (double) histogram.getPercentileNanos(99) / unitNanos);
+    }
+
+    // Value of a "--name value" option, or the default.
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--" + name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * The Stage class collects the measurements of one number of learners.
+     */
+
+    private static class Stage {
+        private final int learners;
+        private volatile boolean stopped = false;
+        private long elapsedNanos;
+        private final LongAdder sessions = new LongAdder();
+        private final LongAdder answers = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Histogram open;
+        private final Histogram load;
+        private final Histogram check;
+        private final Histogram finish;
+        private final Histogram pauses;
+        private final LongAdder pauseNanos = new LongAdder();
+        private long heapBefore;
+        private long heapPeak;
+        private long heapAfter;
+
+        private Stage(int learners) {
+            this.learners = learners;
+            // Every stage, also the warm-up, has its own histograms in the registry.
+            String prefix = "load." + learners + "." + System.nanoTime() + ".";
+            this.open = Metrics.histogram(prefix + "open");
+            this.load = Metrics.histogram(prefix + "load");
+            this.check = Metrics.histogram(prefix + "check");
+            this.finish = Metrics.histogram(prefix + "finish");
+            this.pauses = Metrics.histogram(prefix + "gcPause");
+        }
+
+        // Answers per second over the stage.
+        private double answersPerSecond() {
+            return answers.sum() * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * The NearestAnswerBenchmark class measures finding the answer nearest to a wrong input in a large
+ * deck, with the answer trie and with a scan over all answers.
+ * <p>
+ * The deck holds 100k answers, either random words or numbered names like "capital12345" that are
+ * all within a few edits of each other. The input is an answer with one typo or an unrelated word,
+ * which has to be compared with the whole deck before it is known that no answer is near.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class NearestAnswerBenchmark {
+
+    @Param({ "words", "numbered" })
+    public String answers;
+
+    @Param({ "typo", "unrelated" })
+    public String input;
+
+    @Param({ "100000" })
+    public int cardCount;
+
+    private String[] answerList;
+    private AnswerTrie trie;
+    private String[] inputs;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        File[] files = new File[cardCount];
+        for (int i = 0; i < cardCount; i++) {
+            files[i] = new File("/deck", ("words".equals(answers) ? word(random) : "capital" + i) + ".txt");
+        }
+        CardSource cards = new FolderCardSource(files);
+        trie = AnswerTrie.build(cards, () -> false);
+        answerList = new String[cardCount];
+        for (int i = 0; i < cardCount; i++) {
+            answerList[i] = cards.getAnswer(i);
+        }
+        // An answer with one typo, or an unrelated word.
+        inputs = new String[1024];
+        for (int i = 0; i < inputs.length; i++) {
+            String answer = answerList[random.nextInt(cardCount)];
+            int pos = random.nextInt(answer.length());
+            inputs[i] = "typo".equals(input) ? answer.substring(0, pos) + 'x' + answer.substring(pos + 1) : word(random);
+        }
+    }
+
+    @Benchmark
+    public int trieNearest() {
+        String input = inputs[next++ & 1023];
+        return trie.findNearest(input, 0, input.length(), Math.min(2, Math.max(1, input.length() / 3)), -1);
+    }
+
+    @Benchmark
+    public int scanNearest() {
+        String input = inputs[next++ & 1023];
+        int max = Math.min(2, Math.max(1, input.length() / 3));
+        int best = -1;
+        for (int i = 0; i < answerList.length; i++) {
+            int distance = AnswerRule.distance(input, 0, input.length(), answerList[i], max);
+            if (distance <= max) {
+                best = i;
+                max = distance - 1;
+                if (max < 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // A random lower-case word of 4 to 13 letters.
+    private static String word(Random random) {
+        char[] word = new char[4 + random.nextInt(10)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * The ScreenFootprint class checks that playing many sessions does not leave screens, windows or
+ * threads behind.
+ * <p>
+ * It plays a small deck through the real screens, headless and on the EDT: ready screen, "YES", every
+ * card answered correctly, finale, "HOME". After a warm-up it records the used heap (after a full GC),
+ * the native memory of the JVM, the screens held by the {@link AppShell}, the top-level windows and the
+ * live threads, plays the remaining sessions and compares. It exits with status 1 if any of them grew.
+ * </p>
+ * <p>
+ * The native memory is what Native Memory Tracking reports as committed outside the Java heap: thread
+ * stacks, classes, compiled code and the JVM's own allocations. It is only measured if the JVM runs
+ * with -XX:NativeMemoryTracking=summary. The resident set size of the process is printed as well (on
+ * Linux) but not compared: it grows while the heap's pages are touched for the first time.
+ * </p>
+ * <p>
+ * Usage: java -XX:NativeMemoryTracking=summary -cp benchmarks.jar
+ * ch.csbe.flashcardgame.benchmark.ScreenFootprint [sessions]
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.benchmark;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Frame;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.ObjectName;
+
+import javax.swing.AbstractButton;
+import javax.swing.SwingUtilities;
+
+import ch.csbe.flashcardgame.session.DeckSession;
+import ch.csbe.flashcardgame.ui.AppShell;
+import ch.csbe.flashcardgame.ui.MainWindow;
+import ch.csbe.flashcardgame.ui.QuestionWindow;
+import ch.csbe.flashcardgame.ui.ReadyWindow;
+
+public class ScreenFootprint {
+    // Sessions played before the first measurement.
+    private static final int WARMUP_SESSIONS = 50;
+    // Cards of the played deck.
+    private static final int CARD_COUNT = 20;
+    // Heap growth that is still considered noise.
+    private static final long HEAP_TOLERANCE_BYTES = 2L * 1024 * 1024;
+    // Growth of the native memory that is still considered noise; the JIT keeps compiling for a while.
+    private static final long NATIVE_TOLERANCE_BYTES = 8L * 1024 * 1024;
+    // Committed memory in the summary of Native Memory Tracking, in total and of the Java heap.
+    private static final Pattern TOTAL_COMMITTED = Pattern.compile("Total: reserved=\\d+KB, committed=(\\d+)KB");
+    private static final Pattern HEAP_COMMITTED = Pattern.compile("Java Heap \\(reserved=\\d+KB, committed=(\\d+)KB");
+    // Status file of the process, holding its resident set size on Linux.
+    private static final Path PROCESS_STATUS = Paths.get("/proc/self/status");
+
+    /**
+     * Plays the sessions and prints the footprint before and after.
+     *
+     * @param args Optionally the number of sessions, 1000 by default.
+     * @throws Exception If the deck cannot be created or a session fails.
+     */
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("flashcardgame.order", "linear");
+        System.setProperty("flashcardgame.cacheDir", Files.createTempDirectory("footprint-cache").toString());
+        Path deck = DeckFixtures.flatDeck(CARD_COUNT);
+
+        SwingUtilities.invokeAndWait(() -> AppShell.getInstance().showScreen(MainWindow.getInstance()));
+        for (int i = 0; i < WARMUP_SESSIONS; i++) {
+            playSession(deck.toFile());
+        }
+        long[] before = measure();
+        for (int i = WARMUP_SESSIONS; i < sessions; i++) {
+            playSession(deck.toFile());
+        }
+        long[] after = measure();
+
+        if (before[4] < 0) {
+            System.out.println("native memory not measured, run with -XX:NativeMemoryTracking=summary");
+        }
+        System.out.printf("after %d sessions: heap %d KB, native %d KB, rss %d KB, screens %d, windows %d, threads %d%n",
+                WARMUP_SESSIONS, before[0] / 1024, before[4] / 1024, before[5] / 1024, before[1], before[2], before[3]);
+        System.out.printf("after %d sessions: heap %d KB, native %d KB, rss %d KB, screens %d, windows %d, threads %d%n",
+                sessions, after[0] / 1024, after[4] / 1024, after[5] / 1024, after[1], after[2], after[3]);
+        boolean grew = after[0] > before[0] + HEAP_TOLERANCE_BYTES || after[1] > before[1] || after[2] > before[2]
+                || after[3] > before[3] || (before[4] >= 0 && after[4] > before[4] + NATIVE_TOLERANCE_BYTES);
+        System.exit(grew ? 1 : 0);
+    }
+
+    // Plays one session from the ready screen back to the main screen.
+    private static void playSession(File folder) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            ReadyWindow readyWindow = ReadyWindow.getInstance();
+            readyWindow.setSelectedFolder(folder);
+            AppShell.getInstance().showScreen(readyWindow);
+            click(readyWindow, "YES");
+        });
+        boolean[] finished = new boolean[1];
+        while (!finished[0]) {
+            boolean[] waiting = new boolean[1];
+            SwingUtilities.invokeAndWait(() -> {
+                DeckSession session = QuestionWindow.getInstance().getSession();
+                if (session.isFinished()) {
+                    finished[0] = true;
+                } else if (session.getCurrentAnswer() == null) {
+                    waiting[0] = true;
+                } else {
+                    QuestionWindow.getInstance().submitAnswer(session.getCurrentAnswer());
+                }
+            });
+            if (waiting[0]) {
+                Thread.sleep(1);
+            }
+        }
+        SwingUtilities.invokeAndWait(() -> click(AppShell.getInstance().getCurrentScreen(), "HOME"));
+    }
+
+    // Clicks the button with the given text somewhere inside a container; false if there is none.
+    private static boolean click(Container container, String text) {
+        for (Component component : container.getComponents()) {
+            if (component instanceof AbstractButton && text.equals(((AbstractButton) component).getText())) {
+                ((AbstractButton) component).doClick();
+                return true;
+            }
+            if (component instanceof Container && click((Container) component, text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Used heap after a full GC, screens in the shell, top-level windows, live threads, native memory
+    // and resident set size.
+    private static long[] measure() throws Exception {
+        long[] result = new long[6];
+        SwingUtilities.invokeAndWait(() -> {
+            result[1] = AppShell.getInstance().getScreenCount();
+            result[2] = Frame.getFrames().length;
+        });
+        // Let journals and scans that were closed in the background finish.
+        Thread.sleep(500);
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        result[0] = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        result[3] = Thread.activeCount();
+        result[4] = nativeMemory();
+        result[5] = residentSetSize();
+        return result;
+    }
+
+    // Memory committed by the JVM outside the Java heap in bytes, -1 without Native Memory Tracking.
+    private static long nativeMemory() throws Exception {
+        String summary = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                new Object[] { new String[] { "summary" } }, new String[] { String[].class.getName() });
+        Matcher total = TOTAL_COMMITTED.matcher(summary);
+        Matcher heap = HEAP_COMMITTED.matcher(summary);
+        if (!total.find() || !heap.find()) {
+            return -1;
+        }
+        return (Long.parseLong(total.group(1)) - Long.parseLong(heap.group(1))) * 1024;
+    }
+
+    // Resident set size of the process in bytes, -1 where /proc is not available.
+    private static long residentSetSize() throws IOException {
+        if (!Files.isReadable(PROCESS_STATUS)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(PROCESS_STATUS)) {
+            if (line.startsWith("VmRSS:")) {
+                // "VmRSS:     123456 kB"
+                return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+            }
+        }
+        return -1;
+    }
+}
@@ -2,7 +2,9 @@
  * The GUIDemonstartion class serves as the entry point for the GUI demonstration application.
  * <p>
  * This class initializes the look and feel of the user interface to match the system's look and feel.
- * Once initialized, it launches the main application window.
+ * Once initialized, it launches the application window showing the main screen.
+ * Started with "--server &lt;decks directory&gt; [port]" it runs the quiz server instead of the window, and
+ * with "--grade &lt;deck&gt; &lt;submissions&gt; [output directory]" it grades collected answer sheets.
  * </p>
  * 
  * @author Stefan Mitric
@@ -11,8 +13,14 @@
  */
 package ch.csbe.flashcardgame;
 
+import java.io.IOException;
+import java.util.Arrays;
+import javax.swing.JFrame;
 import javax.swing.UIManager; 
 import javax.swing.UnsupportedLookAndFeelException; 
+import ch.csbe.flashcardgame.grading.BulkGrader;
+import ch.csbe.flashcardgame.server.QuizServer;
+import ch.csbe.flashcardgame.ui.AppShell;
 import ch.csbe.flashcardgame.ui.MainWindow;
 
 public class GUIDemonstartion { 
@@ -25,9 +33,24 @@ public class GUIDemonstartion {
      * After setting the look and feel, it initializes and displays the main application window.
      * </p>
      * 
-     * @param args Command line arguments (not used in this application).
+     * @param args Command line arguments; "--server" followed by the server arguments starts the quiz server,
+     *             "--grade" followed by the grader arguments grades answer sheets.
+     * @throws IOException If the quiz server cannot be started or the answer sheets cannot be graded.
+     * @throws InterruptedException If grading is interrupted.
      */
-    public static void main(String[] args) { 
+    public static void main(String[] args) throws IOException, InterruptedException { 
+        
+        // Server mode: serve the decks over HTTP instead of showing the window.
+        if (args.length > 0 && args[0].equals("--server")) {
+            QuizServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
+        // Grading mode: grade collected answer sheets without showing the window.
+        if (args.length > 0 && args[0].equals("--grade")) {
+            BulkGrader.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         
         // Attempt to set the system's look and feel for the application.
         try { 
@@ -39,10 +62,11 @@ public class GUIDemonstartion {
             event.printStackTrace(); 
         } 
 
-        // Create or retrieve the main application window instance.
-        MainWindow mainWindow = MainWindow.getInstance(); 
+        // Create the single application window; the screens are created when they are first shown.
+        JFrame frame = AppShell.createFrame();
+        AppShell.getInstance().showScreen(MainWindow.getInstance());
         
-        // Make the main application window visible to the user.
-        mainWindow.setVisible(true); 
+        // Make the application window visible to the user.
+        frame.setVisible(true); 
     } 
 }
@@ -0,0 +1,201 @@
+/**
+ * The AnswerRule class holds the rule that turns a card file name into the expected answer.
+ * <p>
+ * The answer of a card is its file name in lower case without the extension, so a file named
+ * "Paris.txt" expects the answer "paris". Entered answers are trimmed and compared ignoring case.
+ * </p>
+ * <p>
+ * Small typos can be forgiven: an answer is also accepted if it is within a few edits of the expected
+ * one, counting an inserted, removed or replaced character or two swapped neighbours as one edit
+ * (Damerau-Levenshtein distance). The number of edits is set with -Dflashcardgame.typos (default 1,
+ * 0 to only accept exact answers) and is limited to a quarter of the answer's length, so short answers
+ * like "rom" still have to be exact.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class AnswerRule {
+    // Edits forgiven in an answer, configurable with -Dflashcardgame.typos=<edits>.
+    public static final int TYPOS = Math.max(0, Integer.getInteger("flashcardgame.typos", 1));
+
+    /**
+     * The AnswerRule class only provides static helpers.
+     */
+
+    private AnswerRule() {
+    }
+
+    /**
+     * Derives the expected answer from a card file name.
+     *
+     * @param fileName The file name of the card, including its extension.
+     * @return The lower-cased file name without extension.
+     */
+
+    public static String fromFileName(String fileName) {
+        String lowerCase = fileName.toLowerCase();
+        // Get the file name without extension
+        int pos = lowerCase.lastIndexOf(".");
+        return pos > 0 ? lowerCase.substring(0, pos) : lowerCase;
+    }
+
+    /**
+     * Checks an entered answer against the expected one.
+     *
+     * @param entered The text the user typed.
+     * @param expected The expected answer of the card.
+     * @return True if the trimmed input equals the expected answer ignoring case.
+     */
+
+    public static boolean matches(String entered, String expected) {
+        return entered != null && expected != null && entered.trim().equalsIgnoreCase(expected);
+    }
+
+    /**
+     * Checks an entered answer against the expected one, forgiving small typos.
+     *
+     * @param entered The text the user typed.
+     * @param expected The expected answer of the card.
+     * @param typos The number of edits forgiven, see {@link #allowedTypos(int, int)}.
+     * @return True if the trimmed input equals the expected answer ignoring case, or is close enough to it.
+     */
+
+    public static boolean matches(String entered, String expected, int typos) {
+        if (entered == null || expected == null) {
+            return false;
+        }
+        String trimmed = entered.trim();
+        if (trimmed.equalsIgnoreCase(expected)) {
+            return true;
+        }
+        int allowed = allowedTypos(expected.length(), typos);
+        return allowed > 0 && distance(trimmed, 0, trimmed.length(), expected, allowed) <= allowed;
+    }
+
+    /**
+     * @param answerLength The length of the expected answer.
+     * @param typos The number of edits configured.
+     * @return The number of edits forgiven in an answer of that length, at most a quarter of its length.
+     */
+
+    public static int allowedTypos(int answerLength, int typos) {
+        return Math.min(typos, answerLength / 4);
+    }
+
+    /**
+     * Computes the Damerau-Levenshtein distance (optimal string alignment) of two texts ignoring case,
+     * i.e. the number of inserted, removed or replaced characters and swapped neighbours. The
+     * computation stops as soon as the distance exceeds the given maximum.
+     *
+     * @param text The text holding the first string.
+     * @param start The start of the first string in the text.
+     * @param end The end of the first string in the text (exclusive).
+     * @param other The second string.
+     * @param max The largest distance of interest.
+     * @return The distance, or max + 1 if it is larger than max.
+     */
+
+    public static int distance(CharSequence text, int start, int end, CharSequence other, int max) {
+        int length = end - start;
+        int otherLength = other.length();
+        if (Math.abs(length - otherLength) > max) {
+            return max + 1;
+        }
+        // Three rows of the distance matrix: the current one and the two before it. Only the band of
+        // cells within max of the diagonal is computed; the cells bordering it are set to max + 1.
+        int[] twoAbove = new int[otherLength + 2];
+        int[] above = new int[otherLength + 2];
+        int[] row = new int[otherLength + 2];
+        for (int j = 0; j <= otherLength; j++) {
+            above[j] = Math.min(j, max + 1);
+        }
+        above[otherLength + 1] = max + 1;
+        for (int i = 1; i <= length; i++) {
+            char current = AnswerTrie.fold(text.charAt(start + i - 1));
+            int low = Math.max(1, i - max);
+            int high = Math.min(otherLength, i + max);
+            row[low - 1] = low == 1 ? Math.min(i, max + 1) : max + 1;
+            row[high + 1] = max + 1;
+            int rowMin = row[low - 1];
+            for (int j = low; j <= high; j++) {
+                char otherCurrent = AnswerTrie.fold(other.charAt(j - 1));
+                int value = Math.min(Math.min(above[j], row[j - 1]) + 1, above[j - 1] + (current == otherCurrent ? 0 : 1));
+                if (i > 1 && j > 1 && current == AnswerTrie.fold(other.charAt(j - 2))
+                        && AnswerTrie.fold(text.charAt(start + i - 2)) == otherCurrent) {
+                    value = Math.min(value, twoAbove[j - 2] + 1);
+                }
+                row[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] oldest = twoAbove;
+            twoAbove = above;
+            above = row;
+            row = oldest;
+        }
+        return Math.min(above[otherLength], max + 1);
+    }
+
+    /**
+     * Checks an entered answer against an expected answer stored as UTF-8 bytes, e.g. in a
+     * {@link CardArena} or a {@link CompiledDeck}, with the same result as {@link #matches(String, String)}.
+     * ASCII answers are compared in place without creating a string; answers with other characters are
+     * decoded first.
+     *
+     * @param entered The text the user typed.
+     * @param expected The buffer holding the expected answer, or the file name without extension, in any case.
+     * @param offset The position of the answer in the buffer.
+     * @param length The length of the answer in bytes.
+     * @return True if the trimmed input equals the expected answer ignoring case.
+     */
+
+    public static boolean matches(String entered, ByteBuffer expected, int offset, int length) {
+        if (entered == null) {
+            return false;
+        }
+        // Trim the same characters as String.trim().
+        int start = 0;
+        int end = entered.length();
+        while (start < end && entered.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && entered.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            byte value = expected.get(offset + i);
+            if (value < 0) {
+                ascii = false;
+            } else if (end - start == length && !sameIgnoringCase(entered.charAt(start + i), (char) value)) {
+                return false;
+            }
+        }
+        if (ascii) {
+            return end - start == length;
+        }
+        byte[] bytes = new byte[length];
+        expected.get(offset, bytes);
+        return matches(entered, new String(bytes, StandardCharsets.UTF_8).toLowerCase());
+    }
+
+    // Compares two characters ignoring case, like String.equalsIgnoreCase.
+    private static boolean sameIgnoringCase(char first, char second) {
+        if (first == second) {
+            return true;
+        }
+        char upperFirst = Character.toUpperCase(first);
+        char upperSecond = Character.toUpperCase(second);
+        return upperFirst == upperSecond || Character.toLowerCase(upperFirst) == Character.toLowerCase(upperSecond);
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * The AnswerTrie class indexes the answers of a deck by prefix, so typed text can be checked against
+ * all answers while it is typed.
+ * <p>
+ * The answers are case-folded the way {@link AnswerRule} compares them and stored in a trie of
+ * primitive arrays: per node its character, first child, next sibling and one card whose answer runs
+ * through the node. Looking up a prefix walks one node per character and allocates nothing, so it can
+ * run on every keystroke. A node costs 14 bytes; answers sharing a prefix share its nodes. Once
+ * built, the nodes are laid out again so the children of a node are next to each other and followed
+ * by their subtrees, which keeps a walk over the trie within a few cache lines.
+ * </p>
+ * <p>
+ * The trie also finds the answer nearest to a wrong input ({@link #findNearest}). It walks the trie
+ * and computes one row of the Damerau-Levenshtein matrix per node, shared by all answers below that
+ * node. It leaves out every branch whose row already exceeds the distance searched for, and searches
+ * with 0, 1, 2... edits until an answer is found, so only the few paths close to the input are
+ * visited instead of comparing against every answer.
+ * </p>
+ * <p>
+ * The trie is built once the deck is scanned ({@link Deck#getAnswerIndex()}); cards added to the
+ * folder afterwards are not part of it.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+public final class AnswerTrie {
+    // Node capacity of a new trie.
+    private static final int INITIAL_NODES = 256;
+    // The root node, the empty prefix.
+    private static final int ROOT = 0;
+
+    // Case-folded character leading to every node.
+    private char[] labels;
+    // First child and next sibling of every node, -1 for none.
+    private int[] firstChild;
+    private int[] nextSibling;
+    // A card whose answer runs through the node; stored as -index - 2 where an answer ends at the node.
+    private int[] examples;
+    private int nodeCount = 1;
+    // Length of the longest answer.
+    private int depth = 0;
+
+    /**
+     * Private constructor, tries are built with {@link #build(CardSource, BooleanSupplier)}.
+     *
+     * @param capacity The number of nodes the trie can hold before it grows.
+     */
+
+    private AnswerTrie(int capacity) {
+        labels = new char[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        examples = new int[capacity];
+        firstChild[ROOT] = -1;
+        nextSibling[ROOT] = -1;
+        examples[ROOT] = -1;
+    }
+
+    /**
+     * Builds the trie of all answers of a deck; removed cards are left out.
+     *
+     * @param cards The cards of the deck.
+     * @param cancelled Tells whether the trie is no longer needed, e.g. because the deck was closed.
+     * @return The trie.
+     * @throws CancellationException If the build was cancelled.
+     */
+
+    public static AnswerTrie build(CardSource cards, BooleanSupplier cancelled) {
+        AnswerTrie trie = new AnswerTrie(INITIAL_NODES);
+        for (int index = 0; index < cards.size(); index++) {
+            if ((index & 1023) == 0 && cancelled.getAsBoolean()) {
+                throw new CancellationException("answer index cancelled");
+            }
+            if (!cards.isRemoved(index)) {
+                trie.add(cards.getAnswer(index), index);
+            }
+        }
+        // Nodes were numbered in insertion order, so siblings are spread over the arrays; lay them
+        // out again so a walk reads the arrays front to back.
+        AnswerTrie compact = new AnswerTrie(trie.nodeCount);
+        compact.examples[ROOT] = trie.examples[ROOT];
+        compact.depth = trie.depth;
+        trie.copyChildren(ROOT, compact, ROOT);
+        return compact;
+    }
+
+    /**
+     * Folds a character for comparisons that ignore case, consistent with String.equalsIgnoreCase.
+     *
+     * @param c The character.
+     * @return The folded character.
+     */
+
+    public static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Looks up the node of a prefix, ignoring case.
+     *
+     * @param text The text holding the prefix.
+     * @param start The start of the prefix in the text.
+     * @param end The end of the prefix in the text (exclusive).
+     * @return The node of the prefix, or -1 if no answer starts with it.
+     */
+
+    public int find(CharSequence text, int start, int end) {
+        int node = ROOT;
+        for (int i = start; i < end && node >= 0; i++) {
+            node = child(node, fold(text.charAt(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Finds the answer nearest to a text by Damerau-Levenshtein distance, ignoring case, see
+     * {@link AnswerRule#distance(CharSequence, int, int, CharSequence, int)}. Of several answers at
+     * the same distance, any one is returned.
+     *
+     * @param text The text holding the input.
+     * @param start The start of the input in the text.
+     * @param end The end of the input in the text (exclusive).
+     * @param maxDistance The largest distance of interest.
+     * @param excluded A node whose answer is not returned, e.g. the node of the current card's answer, or -1.
+     * @return The node where the nearest answer ends, or -1 if no other answer is within maxDistance.
+     */
+
+    public int findNearest(CharSequence text, int start, int end, int maxDistance, int excluded) {
+        char[] input = new char[end - start];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = fold(text.charAt(start + i));
+        }
+        // One row of the distance matrix per depth of the walk; the root row is the distance to the empty prefix.
+        int[][] rows = new int[depth + 1][input.length + 1];
+        for (int j = 0; j <= input.length; j++) {
+            rows[0][j] = j;
+        }
+        // The node of the nearest answer so far and its distance. Searching with a growing distance
+        // keeps the walk narrow: a near answer is found before the wide searches are needed.
+        int[] best = { -1, 0 };
+        for (int distance = 0; distance <= maxDistance && best[0] < 0; distance++) {
+            best[1] = distance + 1;
+            if (isAnswer(ROOT) && ROOT != excluded && input.length <= distance) {
+                best[0] = ROOT;
+                best[1] = input.length;
+            }
+            if (input.length - distance <= depth) {
+                search(ROOT, 0, input, rows, excluded, best);
+            }
+        }
+        return best[0];
+    }
+
+    /**
+     * @param answer A text, e.g. an entered answer after trimming.
+     * @return True if the text is the whole answer of a card, ignoring case.
+     */
+
+    public boolean containsAnswer(CharSequence answer) {
+        int node = find(answer, 0, answer.length());
+        return node >= 0 && isAnswer(node);
+    }
+
+    /**
+     * @param node A node returned by {@link #find(CharSequence, int, int)}.
+     * @return True if an answer ends at the node, i.e. the prefix is a whole answer.
+     */
+
+    public boolean isAnswer(int node) {
+        return examples[node] < -1;
+    }
+
+    /**
+     * @param node A node returned by {@link #find(CharSequence, int, int)}.
+     * @return The index of a card whose answer starts with the prefix of the node, or -1 for an empty trie.
+     */
+
+    public int getExample(int node) {
+        int example = examples[node];
+        return example < -1 ? -example - 2 : example;
+    }
+
+    /**
+     * @return The number of nodes, including the root.
+     */
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Visits the children of a node, computing their rows from the node's row, and descends into the
+    // children that can still lead to an answer nearer than the best one; the minimum of a row never
+    // decreases further down. Only the cells within best - 1 of the diagonal are computed, the cells
+    // bordering them are set to best.
+    private void search(int parent, int level, char[] input, int[][] rows, int excluded, int[] best) {
+        int[] twoAbove = level > 0 ? rows[level - 1] : null;
+        int[] above = rows[level];
+        int[] row = rows[level + 1];
+        int i = level + 1;
+        char parentLabel = labels[parent];
+        for (int child = firstChild[parent]; child >= 0; child = nextSibling[child]) {
+            char label = labels[child];
+            int bound = best[1];
+            int low = Math.max(1, i - bound + 1);
+            int high = Math.min(input.length, i + bound - 1);
+            if (low > high + 1) {
+                return;
+            }
+            row[low - 1] = low == 1 ? Math.min(i, bound) : bound;
+            if (high < input.length) {
+                row[high + 1] = bound;
+            }
+            int rowMin = row[low - 1];
+            for (int j = low; j <= high; j++) {
+                int value = Math.min(Math.min(above[j], row[j - 1]) + 1, above[j - 1] + (input[j - 1] == label ? 0 : 1));
+                if (twoAbove != null && j > 1 && input[j - 1] == parentLabel && input[j - 2] == label) {
+                    value = Math.min(value, twoAbove[j - 2] + 1);
+                }
+                row[j] = Math.min(value, bound);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (isAnswer(child) && child != excluded && high == input.length && row[input.length] < best[1]) {
+                best[0] = child;
+                best[1] = row[input.length];
+            }
+            if (rowMin < best[1] && firstChild[child] >= 0) {
+                search(child, level + 1, input, rows, excluded, best);
+            }
+        }
+    }
+
+    // Copies the children of a node into a compact trie, next to each other, and then their subtrees.
+    private void copyChildren(int node, AnswerTrie target, int targetNode) {
+        int first = target.nodeCount;
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            int copy = target.nodeCount++;
+            target.labels[copy] = labels[child];
+            target.examples[copy] = examples[child];
+            target.firstChild[copy] = -1;
+            target.nextSibling[copy] = nextSibling[child] >= 0 ? copy + 1 : -1;
+        }
+        target.firstChild[targetNode] = target.nodeCount > first ? first : -1;
+        int copy = first;
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            copyChildren(child, target, copy++);
+        }
+    }
+
+    // Inserts the answer of a card.
+    private void add(String answer, int index) {
+        depth = Math.max(depth, answer.length());
+        int node = ROOT;
+        if (examples[ROOT] == -1) {
+            examples[ROOT] = index;
+        }
+        for (int i = 0; i < answer.length(); i++) {
+            char label = fold(answer.charAt(i));
+            int next = child(node, label);
+            if (next < 0) {
+                next = addChild(node, label, index);
+            }
+            node = next;
+        }
+        if (examples[node] >= -1) {
+            // The answer ends here; the first card with exactly this answer becomes the example.
+            examples[node] = -index - 2;
+        }
+    }
+
+    // Finds the child of a node with the given character, -1 if there is none.
+    private int child(int node, char label) {
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    // Appends a new child node in front of the node's children.
+    private int addChild(int parent, char label, int example) {
+        if (nodeCount == labels.length) {
+            int capacity = Math.addExact(nodeCount, nodeCount >> 1);
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            examples = Arrays.copyOf(examples, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = -1;
+        nextSibling[node] = firstChild[parent];
+        firstChild[parent] = node;
+        examples[node] = example;
+        return node;
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * The CacheFiles class decides where the game keeps files it derives from deck folders.
+ * <p>
+ * All derived files live below the directory given by the system property "flashcardgame.cacheDir",
+ * or ".flashcardgame" in the user's home directory. Every deck folder gets its own file name made of
+ * the folder name and a hash of its absolute path.
+ * </p>
+ * <p>
+ * The files of every kind are bounded like the deck indexes ({@link DeckIndexCache#evict()}): at most
+ * {@link #MAX_ENTRIES} files are kept, optionally up to a total size and age, and the least recently
+ * used ones are deleted beyond that. A file counts as used when it was written or marked with
+ * {@link #markUsed(Path)}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public final class CacheFiles {
+    // Files kept per kind of derived data, configurable with -Dflashcardgame.cache.maxEntries=N.
+    public static final int MAX_ENTRIES = Integer.getInteger("flashcardgame.cache.maxEntries", 32);
+
+    /**
+     * The CacheFiles class only provides static helpers.
+     */
+
+    private CacheFiles() {
+    }
+
+    /**
+     * @return The base directory for files the game derives from deck folders.
+     */
+
+    public static Path directory() {
+        String configured = System.getProperty("flashcardgame.cacheDir");
+        return configured != null ? Paths.get(configured) : Paths.get(System.getProperty("user.home"), ".flashcardgame");
+    }
+
+    /**
+     * Returns the file that holds derived data of a deck folder.
+     *
+     * @param folder The deck folder.
+     * @param kind The sub-directory for this kind of data, e.g. "decks".
+     * @param extension The file extension including the dot.
+     * @return The path of the derived file.
+     */
+
+    public static Path fileFor(File folder, String kind, String extension) {
+        String absolute = folder.getAbsolutePath();
+        String name = folder.getName().replaceAll("[^A-Za-z0-9_-]", "_");
+        return directory().resolve(kind).resolve(name + "-" + Integer.toHexString(absolute.hashCode()) + extension);
+    }
+
+    /**
+     * Marks a derived file as used now, so it is evicted last. A missing file is ignored.
+     *
+     * @param file The derived file.
+     */
+
+    public static void markUsed(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException event) {
+            // Not written yet; it counts as used once it is.
+        }
+    }
+
+    /**
+     * Deletes the derived files of one kind that are older than the given age, then the least recently
+     * used ones until at most {@link #MAX_ENTRIES} are left and they fit into the given size. The most
+     * recently used file is always kept. Temporary files being written are not touched.
+     *
+     * @param kind The sub-directory of this kind of data, e.g. "decks".
+     * @param extension The file extension including the dot.
+     * @param maxBytes The total size the files may take, or Long.MAX_VALUE.
+     * @param maxAgeDays Files unused for longer are deleted, 0 to keep them regardless of age.
+     * @return The number of deleted files.
+     * @throws IOException If the directory cannot be listed.
+     */
+
+    public static int evict(String kind, String extension, long maxBytes, int maxAgeDays) throws IOException {
+        Path directory = directory().resolve(kind);
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long oldest = maxAgeDays > 0 ? System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays) : Long.MIN_VALUE;
+        List<Path> kept = new ArrayList<>();
+        int deleted = 0;
+        // Derived files are named folder-hash, temporary files have no dash.
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-*" + extension)) {
+            for (Path file : files) {
+                if (lastUsed(file) < oldest) {
+                    deleted += delete(file);
+                } else {
+                    kept.add(file);
+                }
+            }
+        }
+        kept.sort(Comparator.comparingLong(CacheFiles::lastUsed).reversed());
+        long bytes = 0;
+        for (int i = 0; i < kept.size(); i++) {
+            bytes += size(kept.get(i));
+            if (i > 0 && (i >= MAX_ENTRIES || bytes > maxBytes)) {
+                deleted += delete(kept.get(i));
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Applies {@link #evict(String, String, long, int)} on a background thread.
+     *
+     * @param kind The sub-directory of this kind of data.
+     * @param extension The file extension including the dot.
+     * @param maxBytes The total size the files may take, or Long.MAX_VALUE.
+     * @param maxAgeDays Files unused for longer are deleted, 0 to keep them regardless of age.
+     */
+
+    public static void evictInBackground(String kind, String extension, long maxBytes, int maxAgeDays) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                evict(kind, extension, maxBytes, maxAgeDays);
+            } catch (IOException event) {
+                event.printStackTrace();
+            }
+        });
+    }
+
+    // Deletes a derived file; a file that is still open elsewhere may not be deletable and is kept.
+    private static int delete(Path file) {
+        try {
+            return Files.deleteIfExists(file) ? 1 : 0;
+        } catch (IOException event) {
+            return 0;
+        }
+    }
+
+    // Last use of a derived file, which is its modification time.
+    private static long lastUsed(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException event) {
+            return 0;
+        }
+    }
+
+    // Size of a derived file, 0 if it is gone.
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException event) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * The CardArena class stores the card files of a deck packed into a few arrays, for decks of a
+ * million cards and more.
+ * <p>
+ * A {@link File} per card costs its object, its path string and the byte array of the path, and every
+ * card repeats the path of its directory. The arena instead keeps every directory once, the UTF-8
+ * file names of all cards one after the other in a single byte buffer, and per card only the int
+ * offset of its name and the int id of its directory. The answer key is not stored: it is the name up
+ * to the last dot, and answers are compared directly against these bytes ({@link #matchesAnswer}).
+ * </p>
+ * <p>
+ * A card costs the UTF-8 bytes of its file name plus 8 bytes, e.g. about 25 bytes for "capital1234.txt"
+ * instead of about 130 bytes as a File; the arrays grow by half when full. With the system property
+ * "flashcardgame.arena.offHeap" the names are kept in direct memory outside the heap (then a card costs
+ * 8 bytes of heap), which needs -XX:MaxDirectMemorySize to be large enough. Looking up a card by its
+ * file ({@link #indexOf}) builds a hash table on first use, which adds 8 bytes per card.
+ * </p>
+ * <p>
+ * The arena is not thread-safe; the card sources using it synchronize their access.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class CardArena {
+    // Keep the names outside the heap, configurable with -Dflashcardgame.arena.offHeap=true.
+    public static final boolean OFF_HEAP = Boolean.getBoolean("flashcardgame.arena.offHeap");
+    // Capacity of a new arena, in cards and in name bytes.
+    private static final int INITIAL_CARDS = 64;
+    private static final int INITIAL_BYTES = 1024;
+
+    // Whether the names are kept in direct memory.
+    private final boolean offHeap;
+    // Directories of the cards, each stored once, and the id of every directory.
+    private final List<String> directories = new ArrayList<>();
+    private final Map<String, Integer> directoryIds = new HashMap<>();
+    // UTF-8 file names of all cards, one after the other; the first namesUsed bytes are used.
+    private ByteBuffer names;
+    private int namesUsed = 0;
+    // Start of every card's name; the name ends where the next one starts (offsets[count] = namesUsed).
+    private int[] offsets = new int[INITIAL_CARDS + 1];
+    // Directory id of every card.
+    private int[] directoryOf = new int[INITIAL_CARDS];
+    private int count = 0;
+    // Open addressing table for indexOf: card index + 1, 0 for an empty slot; null until first used.
+    private int[] table;
+
+    /**
+     * Creates an empty arena, on or off the heap as configured.
+     */
+
+    public CardArena() {
+        this(OFF_HEAP);
+    }
+
+    /**
+     * Creates an empty arena.
+     *
+     * @param offHeap True to keep the names in direct memory outside the heap.
+     */
+
+    public CardArena(boolean offHeap) {
+        this.offHeap = offHeap;
+        this.names = allocate(INITIAL_BYTES);
+    }
+
+    /**
+     * Appends a card file.
+     *
+     * @param file The card file.
+     * @return The index of the card.
+     */
+
+    public int add(File file) {
+        String parent = file.getParent();
+        String directory = parent != null ? parent : "";
+        Integer id = directoryIds.get(directory);
+        if (id == null) {
+            id = directories.size();
+            directories.add(directory);
+            directoryIds.put(directory, id);
+        }
+        byte[] name = file.getName().getBytes(StandardCharsets.UTF_8);
+        if (count == directoryOf.length) {
+            int capacity = Math.addExact(count, (count >> 1) + 1);
+            directoryOf = Arrays.copyOf(directoryOf, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+        }
+        if (names.capacity() - namesUsed < name.length) {
+            ByteBuffer grown = allocate(Math.max(Math.addExact(namesUsed, name.length), Math.addExact(names.capacity(), names.capacity() >> 1)));
+            grown.put(0, names, 0, namesUsed);
+            names = grown;
+        }
+        names.put(namesUsed, name);
+        namesUsed += name.length;
+        directoryOf[count] = id;
+        offsets[count + 1] = namesUsed;
+        int index = count++;
+        if (table != null) {
+            if (count * 2 > table.length) {
+                rehash(table.length * 2);
+            } else {
+                insert(index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return The number of cards.
+     */
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The file name of the card, including its extension.
+     */
+
+    public String getName(int index) {
+        checkIndex(index);
+        byte[] name = new byte[offsets[index + 1] - offsets[index]];
+        names.get(offsets[index], name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The expected answer of the card as defined by {@link AnswerRule}.
+     */
+
+    public String getAnswer(int index) {
+        return AnswerRule.fromFileName(getName(index));
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The card file.
+     */
+
+    public File getFile(int index) {
+        String directory = directories.get(directoryOf[index]);
+        return directory.isEmpty() ? new File(getName(index)) : new File(directory, getName(index));
+    }
+
+    /**
+     * Computes the path of a card file relative to its deck, see {@link CardSource#getPath(int)}.
+     *
+     * @param root The deck folder or archive, or null if unknown.
+     * @param file The card file.
+     * @return The path below the root with "/" between folders, or the file name if the file is not
+     *         below the root.
+     */
+
+    static String relativePath(File root, File file) {
+        if (root == null) {
+            return file.getName();
+        }
+        String rootPath = root.getAbsolutePath();
+        String path = file.getAbsolutePath();
+        if (path.length() > rootPath.length() && path.startsWith(rootPath) && path.charAt(rootPath.length()) == File.separatorChar) {
+            return path.substring(rootPath.length() + 1).replace(File.separatorChar, '/');
+        }
+        return file.getName();
+    }
+
+    /**
+     * Checks an entered answer against a card without creating its answer, see {@link AnswerRule}.
+     *
+     * @param index The index of the card.
+     * @param entered The text the user typed.
+     * @return True if the answer is correct.
+     */
+
+    public boolean matchesAnswer(int index, String entered) {
+        checkIndex(index);
+        int start = offsets[index];
+        int end = offsets[index + 1];
+        // The answer is the name up to its last dot; a dot byte is never part of a multi-byte character.
+        for (int pos = end - 1; pos > start; pos--) {
+            if (names.get(pos) == '.') {
+                end = pos;
+                break;
+            }
+        }
+        return AnswerRule.matches(entered, names, start, end - start);
+    }
+
+    /**
+     * Finds a card by its file, which must be given the way it was added (e.g. absolute).
+     *
+     * @param file The card file.
+     * @return The index of the card, or -1 if the arena has no such card.
+     */
+
+    public int indexOf(File file) {
+        String parent = file.getParent();
+        Integer id = directoryIds.get(parent != null ? parent : "");
+        if (id == null) {
+            return -1;
+        }
+        if (table == null) {
+            rehash(Integer.highestOneBit(Math.max(16, count * 2)) * 2);
+        }
+        byte[] name = file.getName().getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        for (int slot = hash(id, name) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (directoryOf[index] == id && sameName(index, name)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The bytes held by the arena (names and arrays with their spare capacity), without the
+     *         directories.
+     */
+
+    public long getMemoryBytes() {
+        return names.capacity() + 4L * (offsets.length + directoryOf.length) + (table != null ? 4L * table.length : 0);
+    }
+
+    // Allocates a name buffer on or off the heap.
+    private ByteBuffer allocate(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    // Checks a card index.
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Card " + index + " of " + count);
+        }
+    }
+
+    // Rebuilds the lookup table with the given power of two size.
+    private void rehash(int size) {
+        table = new int[size];
+        for (int index = 0; index < count; index++) {
+            insert(index);
+        }
+    }
+
+    // Enters a card into the lookup table.
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int hash = directoryOf[index];
+        for (int pos = offsets[index]; pos < offsets[index + 1]; pos++) {
+            hash = 31 * hash + names.get(pos);
+        }
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    // Hash of a directory id and a name, the same as computed by insert().
+    private static int hash(int directory, byte[] name) {
+        int hash = directory;
+        for (byte value : name) {
+            hash = 31 * hash + value;
+        }
+        return mix(hash);
+    }
+
+    // Spreads the bits of a hash over the table.
+    private static int mix(int hash) {
+        hash *= 0x9e3779b1;
+        return hash ^ (hash >>> 16);
+    }
+
+    // Compares the stored name of a card with the given UTF-8 bytes.
+    private boolean sameName(int index, byte[] name) {
+        int start = offsets[index];
+        if (offsets[index + 1] - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (names.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * The CardCheck class inspects the bytes of a card while they are read for the duplicate check, so a
+ * deck is validated without reading its cards a second time.
+ * <p>
+ * It counts the bytes, decodes text cards strictly with the card charset ({@link CardText#CHARSET})
+ * and follows their tags, and compares the first bytes of image cards with the PNG, JPEG and GIF
+ * signatures. The decoder and buffers are kept per thread and reused. Tags are checked the way a
+ * reader would expect them: void elements such as "br" need no end tag and the end tag of elements
+ * such as "p" or "li" may be left out, but every other element must be closed in order.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+final class CardCheck extends FilterInputStream {
+    // Elements without an end tag, and elements whose end tag may be left out.
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img", "input",
+            "link", "meta", "param", "source", "track", "wbr");
+    private static final Set<String> OPTIONAL_END = Set.of("p", "li", "dt", "dd", "tr", "td", "th", "option", "thead",
+            "tbody", "tfoot", "colgroup", "html", "head", "body");
+    // Longest tag name and deepest nesting that are followed.
+    private static final int MAX_NAME = 16;
+    private static final int MAX_DEPTH = 256;
+    // Size of the decoding buffers.
+    private static final int BUFFER_SIZE = 8192;
+    // Decoder and buffers of every checking thread.
+    private static final ThreadLocal<Decoding> DECODING = ThreadLocal.withInitial(Decoding::new);
+    // States of the tag scanner: in text, after "<", in a tag name, in the attributes, in "<!...>".
+    private static final int TEXT = 0;
+    private static final int OPEN = 1;
+    private static final int NAME = 2;
+    private static final int ATTRIBUTES = 3;
+    private static final int DECLARATION = 4;
+
+    // Format of the card, null if unknown.
+    private final CardFormat format;
+    // Decoder and buffers of the current thread.
+    private final Decoding decoding;
+    // Bytes read so far.
+    private long count = 0;
+    // Problems found so far, as bits of CardProblem.
+    private int problems = 0;
+    // First bytes of an image card.
+    private final byte[] header = new byte[4];
+    // Buffer for single byte reads.
+    private final byte[] single = new byte[1];
+    // Tag scanner: state, whether the tag is an end tag, the quote of an attribute value, and whether
+    // the last character of a tag was a slash.
+    private int state = TEXT;
+    private boolean closing;
+    private char quote;
+    private boolean slash;
+    // Set once a text card shows anything but whitespace.
+    private boolean visible = false;
+
+    /**
+     * @param content The content of the card; closed with this stream.
+     * @param format The format of the card.
+     */
+
+    CardCheck(InputStream content, CardFormat format) {
+        super(content);
+        this.format = format;
+        this.decoding = format == CardFormat.TEXT ? DECODING.get().reset() : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value >= 0) {
+            single[0] = (byte) value;
+            inspect(single, 0, 1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            inspect(buffer, offset, read);
+        }
+        return read;
+    }
+
+    /**
+     * @return The number of bytes read so far.
+     */
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Finishes the check once the whole card has been read.
+     *
+     * @return The problems found, as bits of {@link CardProblem}.
+     */
+
+    int finish() {
+        if (format == CardFormat.IMAGE) {
+            return count == 0 ? CardProblem.EMPTY.bit() : isImageSignature() ? problems : problems | CardProblem.UNDECODABLE.bit();
+        }
+        if (format != CardFormat.TEXT) {
+            return count == 0 ? CardProblem.EMPTY.bit() : problems;
+        }
+        decoding.bytes.flip();
+        decode(true);
+        decoding.decoder.flush(decoding.chars);
+        scanDecoded();
+        if (state == OPEN) {
+            // A "<" at the very end is text.
+            visible = true;
+        } else if (state != TEXT) {
+            problems |= CardProblem.MALFORMED_HTML.bit();
+        }
+        for (String element : decoding.open) {
+            if (!OPTIONAL_END.contains(element)) {
+                problems |= CardProblem.MALFORMED_HTML.bit();
+            }
+        }
+        return visible ? problems : problems | CardProblem.EMPTY.bit();
+    }
+
+    // Inspects bytes that were read.
+    private void inspect(byte[] buffer, int offset, int length) {
+        for (int i = 0; i < length && count + i < header.length; i++) {
+            header[(int) count + i] = buffer[offset + i];
+        }
+        count += length;
+        if (decoding == null) {
+            return;
+        }
+        ByteBuffer bytes = decoding.bytes;
+        while (length > 0) {
+            int part = Math.min(length, bytes.remaining());
+            bytes.put(buffer, offset, part);
+            offset += part;
+            length -= part;
+            bytes.flip();
+            decode(false);
+            bytes.compact();
+        }
+    }
+
+    // Decodes the buffered bytes; a character split over two reads stays in the buffer.
+    private void decode(boolean end) {
+        ByteBuffer bytes = decoding.bytes;
+        while (true) {
+            CoderResult result = decoding.decoder.decode(bytes, decoding.chars, end);
+            scanDecoded();
+            if (result.isError()) {
+                problems |= CardProblem.UNDECODABLE.bit();
+                bytes.position(bytes.position() + result.length());
+            } else if (result.isUnderflow()) {
+                return;
+            }
+        }
+    }
+
+    // Scans the decoded characters and empties the character buffer.
+    private void scanDecoded() {
+        CharBuffer chars = decoding.chars;
+        char[] array = chars.array();
+        for (int i = 0; i < chars.position(); i++) {
+            scan(array[i]);
+        }
+        chars.clear();
+    }
+
+    // Advances the tag scanner by one character.
+    private void scan(char c) {
+        switch (state) {
+            case OPEN:
+                if (c == '/' || Character.isLetter(c)) {
+                    closing = c == '/';
+                    slash = false;
+                    decoding.name.setLength(0);
+                    if (!closing) {
+                        decoding.name.append(AnswerTrie.fold(c));
+                    }
+                    state = NAME;
+                } else if (c == '!' || c == '?') {
+                    state = DECLARATION;
+                } else {
+                    // A "<" that starts no tag is text.
+                    visible = true;
+                    state = TEXT;
+                    scan(c);
+                }
+                break;
+            case NAME:
+                if (Character.isLetterOrDigit(c)) {
+                    if (decoding.name.length() < MAX_NAME) {
+                        decoding.name.append(AnswerTrie.fold(c));
+                    }
+                } else if (c == '>') {
+                    endTag();
+                } else {
+                    state = ATTRIBUTES;
+                    slash = c == '/';
+                }
+                break;
+            case ATTRIBUTES:
+                if (quote != 0) {
+                    quote = c == quote ? 0 : quote;
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    endTag();
+                } else if (!Character.isWhitespace(c)) {
+                    slash = c == '/';
+                }
+                break;
+            case DECLARATION:
+                state = c == '>' ? TEXT : DECLARATION;
+                break;
+            default:
+                if (c == '<') {
+                    state = OPEN;
+                } else if (!Character.isWhitespace(c) && c != '\uFEFF') {
+                    visible = true;
+                }
+        }
+    }
+
+    // Handles a complete start or end tag.
+    private void endTag() {
+        state = TEXT;
+        String element = decoding.name.toString();
+        List<String> open = decoding.open;
+        if (!closing) {
+            if (!slash && !VOID_ELEMENTS.contains(element) && open.size() < MAX_DEPTH) {
+                open.add(element);
+            }
+            return;
+        }
+        int pos = open.lastIndexOf(element);
+        if (pos < 0) {
+            // An end tag of an element that is not open.
+            problems |= CardProblem.MALFORMED_HTML.bit();
+            return;
+        }
+        for (int i = open.size() - 1; i > pos; i--) {
+            if (!OPTIONAL_END.contains(open.remove(i))) {
+                problems |= CardProblem.MALFORMED_HTML.bit();
+            }
+        }
+        open.remove(pos);
+    }
+
+    // Compares the first bytes with the signatures of PNG, JPEG and GIF images.
+    private boolean isImageSignature() {
+        int first = header[0] & 0xFF;
+        return (first == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G')
+                || (first == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF)
+                || (first == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8');
+    }
+
+    /**
+     * The Decoding class holds the strict decoder and the buffers a thread checks text cards with.
+     */
+
+    private static class Decoding {
+        private final CharsetDecoder decoder = CardText.CHARSET.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // Bytes not decoded yet; a few more than a read, for a character split over two reads.
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE + 16);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        // Name of the current tag, and the elements that are open.
+        private final StringBuilder name = new StringBuilder();
+        private final List<String> open = new ArrayList<>();
+
+        // Prepares the decoder and buffers for the next card.
+        private Decoding reset() {
+            decoder.reset();
+            bytes.clear();
+            chars.clear();
+            open.clear();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * The CardFormat enum tells how the content of a card file is shown.
+ * <p>
+ * The format is decided by the extension alone, matched case-insensitively: ".txt" files are text
+ * cards, ".png", ".jpg", ".jpeg" and ".gif" files are image cards. For both the answer is the file
+ * name, see {@link AnswerRule}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+public enum CardFormat {
+    // Text or HTML content.
+    TEXT(".txt"),
+    // An image decoded with ImageIO; of an animated GIF only the first frame is shown.
+    IMAGE(".png", ".jpg", ".jpeg", ".gif");
+
+    // File extensions of the format, lower case and including the dot.
+    private final String[] extensions;
+
+    CardFormat(String... extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * @param fileName The file name of the card, including its extension.
+     * @return The format of the card, or null if the file is not a card.
+     */
+
+    public static CardFormat of(String fileName) {
+        String lowerCase = fileName.toLowerCase();
+        for (CardFormat format : values()) {
+            for (String extension : format.extensions) {
+                if (lowerCase.endsWith(extension)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param fileName The file name of the card, including its extension.
+     * @return True if the file is an image card.
+     */
+
+    public static boolean isImage(String fileName) {
+        return of(fileName) == IMAGE;
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * The CardPrefetcher class reads the upcoming cards of a deck ahead of time on a background thread.
+ * <p>
+ * The window asks for a card by its index with {@link #take(int)} and tells the prefetcher which cards
+ * the session shows next with {@link #prefetch(int[])}, see {@link
+ * ch.csbe.flashcardgame.session.DeckSession#getUpcomingCards(int)}. Those cards are read in the
+ * background, so that by the time the user has answered the current card the next one is usually
+ * decoded and ready to be shown, also when the scheduler jumps back to a card answered before. Only
+ * the cards listed last are held in memory, at most the configured lookahead depth.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.csbe.flashcardgame.metrics.CardReadEvent;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public class CardPrefetcher {
+    // Number of cards read ahead when nothing else is configured.
+    public static final int DEFAULT_LOOKAHEAD = 4;
+    // Shared background pool, daemon threads so they never keep the application alive.
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "card-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Time to read and decode a text card.
+    private static final Histogram READ_TIME = Metrics.histogram("card.read");
+
+    // The deck the cards are read from.
+    private final CardSource deck;
+    // How many cards after the requested one are read ahead.
+    private final int lookahead;
+    // Cards that are being read or are already decoded, keyed by their index.
+    private Map<Integer, CompletableFuture<String>> buffer = new HashMap<>();
+    // Set once the prefetcher is closed; no more reads are scheduled afterwards.
+    private boolean closed = false;
+
+    // Metrics: cards that were ready in time, cards the UI had to wait for, and the total wait time.
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Creates a prefetcher for the given deck; nothing is read until cards are asked for.
+     *
+     * @param deck The deck the cards are read from.
+     * @param lookahead How many cards are read ahead, at least 1.
+     */
+
+    public CardPrefetcher(CardSource deck, int lookahead) {
+        this.deck = deck;
+        this.lookahead = Math.max(1, lookahead);
+    }
+
+    /**
+     * Returns the content of the card at the given index.
+     * <p>
+     * If the card is already decoded the returned future is completed, otherwise the call counts as a
+     * cache miss and the caller has to wait for the future to complete.
+     * </p>
+     *
+     * @param index The index of the card to show.
+     * @return A future holding the decoded card content.
+     */
+
+    public synchronized CompletableFuture<String> take(int index) {
+        CompletableFuture<String> content = buffer.remove(index);
+        if (content == null) {
+            // The card was not expected next, read it directly.
+            content = read(index);
+        }
+
+        if (content.isDone()) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            long start = System.nanoTime();
+            content.whenComplete((text, error) -> waitNanos.addAndGet(System.nanoTime() - start));
+        }
+        return content;
+    }
+
+    /**
+     * Reads the given cards ahead, usually the cards the session shows next. Cards read ahead before
+     * that are not among them are released; cards beyond the lookahead depth are ignored.
+     *
+     * @param indices The indices of the cards, in the order they are expected.
+     */
+
+    public synchronized void prefetch(int[] indices) {
+        if (closed) {
+            return;
+        }
+        Map<Integer, CompletableFuture<String>> expected = new HashMap<>();
+        for (int i = 0; i < indices.length && expected.size() < lookahead; i++) {
+            int index = indices[i];
+            if (index >= 0 && index < deck.size() && !expected.containsKey(index)) {
+                CompletableFuture<String> content = buffer.remove(index);
+                expected.put(index, content != null ? content : read(index));
+            }
+        }
+        for (CompletableFuture<String> content : buffer.values()) {
+            content.cancel(false);
+        }
+        buffer = expected;
+    }
+
+    /**
+     * Returns the content of a card that is read ahead, without taking it and without counting a hit or miss.
+     *
+     * @param index The index of the card.
+     * @return A future holding the card content, or null if the card is not read ahead.
+     */
+
+    public synchronized CompletableFuture<String> peek(int index) {
+        return buffer.get(index);
+    }
+
+    /**
+     * Reads a buffered card again, e.g. because its file was edited.
+     *
+     * @param index The index of the card.
+     */
+
+    public synchronized void invalidate(int index) {
+        CompletableFuture<String> stale = buffer.remove(index);
+        if (stale != null) {
+            stale.cancel(false);
+            if (!closed) {
+                buffer.put(index, read(index));
+            }
+        }
+    }
+
+    /**
+     * Stops reading ahead and releases all buffered cards.
+     */
+
+    public synchronized void close() {
+        closed = true;
+        for (CompletableFuture<String> content : buffer.values()) {
+            content.cancel(false);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return The configured lookahead depth.
+     */
+
+    public int getLookahead() {
+        return lookahead;
+    }
+
+    /**
+     * @return How many cards were already decoded when they were requested.
+     */
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return How many cards the UI had to wait for.
+     */
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The share of requests that had to wait, between 0 and 1.
+     */
+
+    public double getMissRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) misses.get() / total;
+    }
+
+    /**
+     * @return The total time in milliseconds the UI spent waiting on cache misses.
+     */
+
+    public long getTotalWaitMillis() {
+        return waitNanos.get() / 1_000_000;
+    }
+
+    // Starts reading a single card on the background pool. Image cards are not read as text; their
+    // placeholder is completed at once and the window decodes the image itself.
+    private CompletableFuture<String> read(int index) {
+        if (CardFormat.isImage(deck.getName(index))) {
+            return CompletableFuture.completedFuture("");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            long start = Metrics.start();
+            CardReadEvent read = new CardReadEvent();
+            read.begin();
+            long size = -1;
+            try {
+                size = deck.getContentLength(index);
+                // Very large cards are shown page by page; only their first page is read ahead.
+                if (size > CardText.PAGE_BYTES) {
+                    return CardText.readPage(deck, index, 0);
+                }
+                return deck.readContent(index);
+            } catch (IOException event) {
+                read.failed = true;
+                throw new UncheckedIOException(event);
+            } finally {
+                READ_TIME.recordSince(start);
+                read.end();
+                if (read.shouldCommit()) {
+                    read.index = index;
+                    read.card = deck.getName(index);
+                    read.format = CardFormat.TEXT.name();
+                    read.size = size;
+                    read.paged = size > CardText.PAGE_BYTES;
+                    read.commit();
+                }
+            }
+        }, EXECUTOR);
+    }
+}
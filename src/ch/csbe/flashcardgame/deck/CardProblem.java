@@ -0,0 +1,54 @@
+/**
+ * The CardProblem enum lists what can be wrong with a card of a deck, see {@link DeckValidation}.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+public enum CardProblem {
+    // The card could not be read.
+    UNREADABLE("unreadable", "cannot be read"),
+    // The card has no content; a text card only whitespace or tags.
+    EMPTY("empty", "is empty"),
+    // A text card has bytes that are not valid in the card charset, or an image card is no PNG, JPEG or GIF image.
+    UNDECODABLE("undecodable", "cannot be decoded"),
+    // A text card has tags that are cut off, not closed or closed without being opened.
+    MALFORMED_HTML("with malformed HTML", "has malformed HTML"),
+    // The file name is only an extension, e.g. ".txt", so the extension is taken as the answer.
+    NO_NAME("without a name", "has no name before its extension"),
+    // Another card with different content expects the same answer.
+    ANSWER_COLLISION("sharing an answer", "expects the same answer as another card");
+
+    // Names the problem after a number of cards, and describes it after the name of a card.
+    private final String label;
+    private final String description;
+
+    CardProblem(String label, String description) {
+        this.label = label;
+        this.description = description;
+    }
+
+    /**
+     * @return A short label of the problem, e.g. "empty", to follow a number of cards.
+     */
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return The description of the problem, e.g. "is empty", to follow the name of a card.
+     */
+
+    public String getDescription() {
+        return description;
+    }
+
+    // The bit of the problem in a set of problems stored as an int.
+    int bit() {
+        return 1 << ordinal();
+    }
+}
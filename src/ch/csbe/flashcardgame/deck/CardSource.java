@@ -0,0 +1,167 @@
+/**
+ * The CardSource interface gives indexed access to the cards of a deck.
+ * <p>
+ * A deck can be a folder of loose card files or a compiled single-file deck; the windows only see
+ * this interface and do not care where the card content comes from.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public interface CardSource extends Closeable {
+
+    /**
+     * @return The number of cards in the deck.
+     */
+
+    int size();
+
+    /**
+     * @param index The index of the card.
+     * @return The file name of the card, including its extension.
+     */
+
+    String getName(int index);
+
+    /**
+     * The path tells cards with the same file name in different sub-folders apart, so it is what a
+     * card is remembered by across sessions. The default implementation returns the file name.
+     *
+     * @param index The index of the card.
+     * @return The path of the card relative to the deck folder or archive, with "/" between folders.
+     */
+
+    default String getPath(int index) {
+        return getName(index);
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The expected answer of the card as defined by {@link AnswerRule}.
+     */
+
+    String getAnswer(int index);
+
+    /**
+     * Checks an entered answer against a card. The default implementation compares with
+     * {@link #getAnswer(int)}; decks that keep their names packed compare without creating the answer.
+     *
+     * @param index The index of the card.
+     * @param entered The text the user typed.
+     * @return True if the answer is correct as defined by {@link AnswerRule}.
+     */
+
+    default boolean matchesAnswer(int index, String entered) {
+        return AnswerRule.matches(entered, getAnswer(index));
+    }
+
+    /**
+     * Checks an entered answer against a card, forgiving small typos. The exact comparison of
+     * {@link #matchesAnswer(int, String)} runs first; the answer is only created for a wrong answer.
+     *
+     * @param index The index of the card.
+     * @param entered The text the user typed.
+     * @param typos The number of edits forgiven, see {@link AnswerRule#matches(String, String, int)}.
+     * @return True if the answer is correct or close enough.
+     */
+
+    default boolean matchesAnswer(int index, String entered, int typos) {
+        return matchesAnswer(index, entered, typos, null);
+    }
+
+    /**
+     * Checks an entered answer against a card, forgiving small typos unless the input is exactly the
+     * answer of another card: "bali" names the card "Bali.txt" and is no typo of "Mali.txt".
+     *
+     * @param index The index of the card.
+     * @param entered The text the user typed.
+     * @param typos The number of edits forgiven, see {@link AnswerRule#matches(String, String, int)}.
+     * @param answers The answers of the deck, or null if they are not known yet.
+     * @return True if the answer is correct or close enough.
+     */
+
+    default boolean matchesAnswer(int index, String entered, int typos, AnswerTrie answers) {
+        if (matchesAnswer(index, entered)) {
+            return true;
+        }
+        if (typos == 0 || entered == null || (answers != null && answers.containsAnswer(entered.trim()))) {
+            return false;
+        }
+        return AnswerRule.matches(entered, getAnswer(index), typos);
+    }
+
+    /**
+     * Reads and decodes the content of a card, see {@link CardText}.
+     *
+     * @param index The index of the card.
+     * @return The text content of the card.
+     * @throws IOException If the card cannot be read.
+     */
+
+    String readContent(int index) throws IOException;
+
+    /**
+     * Opens the raw bytes of a card, e.g. to decode an image card. The caller closes the stream.
+     * The default implementation returns the text content encoded as UTF-8.
+     *
+     * @param index The index of the card.
+     * @return A stream of the card file's bytes.
+     * @throws IOException If the card cannot be opened.
+     */
+
+    default InputStream openContent(int index) throws IOException {
+        return new ByteArrayInputStream(readContent(index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The size of the card's content in bytes. The default implementation counts the bytes of
+     *         {@link #openContent(int)}.
+     * @throws IOException If the card cannot be read.
+     */
+
+    default long getContentLength(int index) throws IOException {
+        try (InputStream content = openContent(index)) {
+            return CardText.count(content);
+        }
+    }
+
+    /**
+     * @return False while cards may still be appended to the deck, e.g. during a folder scan.
+     *         The default implementation returns true.
+     */
+
+    default boolean isComplete() {
+        return true;
+    }
+
+    /**
+     * Removed cards keep their index, so sessions that already showed them stay consistent, but they
+     * are not shown anymore.
+     *
+     * @param index The index of the card.
+     * @return True if the card was removed from the deck. The default implementation returns false.
+     */
+
+    default boolean isRemoved(int index) {
+        return false;
+    }
+
+    /**
+     * Releases resources held by the deck. The default implementation does nothing.
+     */
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * The CardText class decodes the text of cards with an explicit charset and splits very large cards
+ * into pages.
+ * <p>
+ * Cards are decoded as UTF-8 (system property "flashcardgame.charset", which must be an ASCII-compatible
+ * charset such as UTF-8, ISO-8859-1 or windows-1252), so a deck reads the same on every platform. Bytes
+ * that are not valid in the charset become U+FFFD, and a byte order mark is dropped. The bytes are
+ * streamed through a decoder and buffers that every thread keeps and reuses, so reading a card never
+ * holds the whole file as a byte array next to its text.
+ * </p>
+ * <p>
+ * Cards larger than {@link #PAGE_BYTES} (system property "flashcardgame.pageBytes", 64 KB by default)
+ * are shown page by page and only the visible page is read and decoded, so the memory a card takes does
+ * not depend on its file size. Page k starts near byte k * PAGE_BYTES: after the first whitespace within
+ * {@link #BOUNDARY_SLACK} bytes, otherwise at the next character. The boundaries only depend on the
+ * bytes around them, so every page can be read on its own without reading the pages before it. Markup
+ * that spans a page boundary is not repaired.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class CardText {
+    // Charset of text cards, configurable with -Dflashcardgame.charset=NAME.
+    public static final Charset CHARSET = Charset.forName(System.getProperty("flashcardgame.charset", "UTF-8"));
+    // Cards larger than this are shown page by page, configurable with -Dflashcardgame.pageBytes=N.
+    public static final int PAGE_BYTES = Math.max(1024, Integer.getInteger("flashcardgame.pageBytes", 64 * 1024));
+    // How far a page boundary may move forward to end a page at whitespace.
+    public static final int BOUNDARY_SLACK = 256;
+    // Size of the reused byte and char buffers.
+    private static final int BUFFER_SIZE = 8192;
+    // Longest encoded character, so a boundary can always move past a split character.
+    private static final int MAX_CHAR_BYTES = 4;
+
+    // Single background thread for reading pages, a daemon so it never keeps the application alive.
+    private static final ExecutorService PAGE_READER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "card-page-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The decoder and buffers of every thread.
+    private static final ThreadLocal<Decoding> DECODING = ThreadLocal.withInitial(Decoding::new);
+
+    /**
+     * The CardText class only provides static helpers.
+     */
+
+    private CardText() {
+    }
+
+    /**
+     * Reads and decodes a whole text card file.
+     *
+     * @param file The card file.
+     * @return The text of the card.
+     * @throws IOException If the file cannot be read.
+     */
+
+    public static String read(Path file) throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            return decode(content, Files.size(file));
+        }
+    }
+
+    /**
+     * Decodes a whole stream of card bytes.
+     *
+     * @param content The encoded text; it is not closed.
+     * @param expectedBytes The number of bytes if known, used to size the result, or -1.
+     * @return The text.
+     * @throws IOException If the stream cannot be read.
+     */
+
+    public static String decode(InputStream content, long expectedBytes) throws IOException {
+        Decoding decoding = DECODING.get();
+        CharsetDecoder decoder = decoding.decoder.reset();
+        ByteBuffer bytes = decoding.bytes;
+        CharBuffer chars = decoding.chars;
+        StringBuilder text = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, expectedBytes)));
+        bytes.clear();
+        chars.clear();
+        boolean end = false;
+        while (!end) {
+            int read = content.read(bytes.array(), bytes.position(), bytes.remaining());
+            if (read < 0) {
+                end = true;
+            } else {
+                bytes.position(bytes.position() + read);
+            }
+            bytes.flip();
+            drain(decoder, bytes, chars, text, end);
+            bytes.compact();
+        }
+        flush(decoder, chars, text);
+        return stripByteOrderMark(text);
+    }
+
+    /**
+     * @param contentLength The size of a card in bytes.
+     * @return The number of pages the card is shown on, 1 for cards up to {@link #PAGE_BYTES}.
+     */
+
+    public static int pageCount(long contentLength) {
+        return (int) Math.max(1, (contentLength + PAGE_BYTES - 1) / PAGE_BYTES);
+    }
+
+    /**
+     * Reads and decodes a single page of a card. Only the bytes of that page (and a few around it) are read.
+     *
+     * @param deck The deck of the card.
+     * @param index The index of the card.
+     * @param page The page, starting at 0.
+     * @return The text of the page.
+     * @throws IOException If the card cannot be read.
+     */
+
+    public static String readPage(CardSource deck, int index, int page) throws IOException {
+        Decoding decoding = DECODING.get();
+        byte[] window = decoding.page;
+        // One byte before the page is read as well, a boundary depends on the byte in front of it.
+        long base = page == 0 ? 0 : (long) page * PAGE_BYTES - 1;
+        int length = 0;
+        try (InputStream content = deck.openContent(index)) {
+            skip(content, base);
+            int read;
+            while (length < window.length && (read = content.read(window, length, window.length - length)) >= 0) {
+                length += read;
+            }
+        }
+        int start = page == 0 ? 0 : boundary(window, 1, length);
+        int end = boundary(window, (int) ((long) (page + 1) * PAGE_BYTES - base), length);
+        CharsetDecoder decoder = decoding.decoder.reset();
+        decoding.chars.clear();
+        StringBuilder text = new StringBuilder(Math.max(0, end - start));
+        drain(decoder, ByteBuffer.wrap(window, start, Math.max(0, end - start)), decoding.chars, text, true);
+        flush(decoder, decoding.chars, text);
+        return page == 0 ? stripByteOrderMark(text) : text.toString();
+    }
+
+    /**
+     * Reads a page of a card on the page reader thread.
+     *
+     * @param deck The deck of the card.
+     * @param index The index of the card.
+     * @param page The page, starting at 0.
+     * @return A future holding the text of the page.
+     */
+
+    public static CompletableFuture<String> readPageAsync(CardSource deck, int index, int page) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return readPage(deck, index, page);
+            } catch (IOException event) {
+                throw new UncheckedIOException(event);
+            }
+        }, PAGE_READER);
+    }
+
+    /**
+     * Finds the number of pages of a card on the page reader thread.
+     *
+     * @param deck The deck of the card.
+     * @param index The index of the card.
+     * @return A future holding the number of pages.
+     */
+
+    public static CompletableFuture<Integer> pageCountAsync(CardSource deck, int index) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return pageCount(deck.getContentLength(index));
+            } catch (IOException event) {
+                throw new UncheckedIOException(event);
+            }
+        }, PAGE_READER);
+    }
+
+    /**
+     * Counts the bytes of a stream without keeping them.
+     *
+     * @param content The stream; it is not closed.
+     * @return The number of bytes.
+     * @throws IOException If the stream cannot be read.
+     */
+
+    static long count(InputStream content) throws IOException {
+        return content.transferTo(OutputStream.nullOutputStream());
+    }
+
+    // Decodes the available bytes into the text; on the last call the remaining bytes are decoded too.
+    private static void drain(CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, StringBuilder text, boolean end) {
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, end);
+            chars.flip();
+            text.append(chars);
+            chars.clear();
+        } while (result.isOverflow());
+    }
+
+    // Writes out what the decoder still holds after the last bytes.
+    private static void flush(CharsetDecoder decoder, CharBuffer chars, StringBuilder text) {
+        CoderResult result;
+        do {
+            result = decoder.flush(chars);
+            chars.flip();
+            text.append(chars);
+            chars.clear();
+        } while (result.isOverflow());
+    }
+
+    // The first position at or after the given one that follows whitespace (within the slack), otherwise
+    // the first position that starts a character.
+    private static int boundary(byte[] bytes, int position, int length) {
+        if (position >= length) {
+            return length;
+        }
+        int limit = Math.min(length, position + BOUNDARY_SLACK);
+        for (int i = Math.max(1, position); i < limit; i++) {
+            if (isWhitespace(bytes[i - 1]) && !isContinuation(bytes[i])) {
+                return i;
+            }
+        }
+        int i = position;
+        while (i < length && i < position + MAX_CHAR_BYTES && isContinuation(bytes[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    // ASCII whitespace, the same byte in every ASCII-compatible charset.
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    // A UTF-8 continuation byte (10xxxxxx), which never starts a character.
+    private static boolean isContinuation(byte value) {
+        return (value & 0xC0) == 0x80;
+    }
+
+    // Skips bytes; streams that cannot seek read and discard them into a small buffer.
+    private static void skip(InputStream content, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = content.skip(remaining);
+            if (skipped <= 0) {
+                if (content.read() < 0) {
+                    return;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    // Returns the text without a leading byte order mark.
+    private static String stripByteOrderMark(StringBuilder text) {
+        return text.length() > 0 && text.charAt(0) == '\uFEFF' ? text.substring(1) : text.toString();
+    }
+
+    /**
+     * The Decoding class holds the decoder and buffers one thread reuses for every card.
+     */
+
+    private static class Decoding {
+        private final CharsetDecoder decoder = CHARSET.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        // A page, the byte in front of it and enough bytes behind it to find its end.
+        private final byte[] page = new byte[1 + PAGE_BYTES + BOUNDARY_SLACK + MAX_CHAR_BYTES];
+    }
+}
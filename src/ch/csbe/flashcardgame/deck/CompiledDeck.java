@@ -0,0 +1,420 @@
+/**
+ * The CompiledDeck class packs a deck folder into a single file and reads cards from it by index.
+ * <p>
+ * The file is opened through a {@link MappedByteBuffer}, so fetching a card is a plain memory access
+ * without opening, reading or closing a file. The layout is:
+ * </p>
+ * <pre>
+ * header   int magic, int version, long fingerprint, int cardCount
+ * index    cardCount entries of long bodyOffset, int bodyLength, int pathOffset,
+ *          short pathLength, short answerLength
+ * strings  UTF-8 path relative to the deck folder followed directly by the UTF-8 answer key, per card
+ * bodies   UTF-8 card content, or the unchanged file bytes of an image card, per card
+ * </pre>
+ * <p>
+ * The fingerprint is computed from the paths, sizes and modification times of the card files, so a
+ * compiled deck can be recognised as outdated when the folder changes.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class CompiledDeck implements CardSource {
+    // Identifies a compiled deck file ("FCDK").
+    public static final int MAGIC = 0x46434443;
+    // Version of the file layout, increased whenever the layout changes.
+    public static final int VERSION = 2;
+    // File extension of compiled decks.
+    public static final String EXTENSION = ".deck";
+    // Total size of the compiled decks kept in the cache, configurable with -Dflashcardgame.cache.maxDeckBytes=N.
+    public static final long MAX_CACHED_BYTES = Long.getLong("flashcardgame.cache.maxDeckBytes", 1L << 30);
+
+    // Sizes of the header and of a single index entry in bytes.
+    private static final int HEADER_SIZE = 20;
+    private static final int ENTRY_SIZE = 20;
+
+    // Single background thread for rebuilding outdated compiled decks.
+    private static final ExecutorService COMPILER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deck-compiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The mapped deck file.
+    private final MappedByteBuffer buffer;
+    // Fingerprint of the folder the deck was compiled from.
+    private final long fingerprint;
+    // Number of cards in the deck.
+    private final int cardCount;
+
+    /**
+     * Private constructor, compiled decks are opened with {@link #open(Path)}.
+     */
+
+    private CompiledDeck(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled deck");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported compiled deck version " + buffer.getInt(4));
+        }
+        this.fingerprint = buffer.getLong(8);
+        this.cardCount = buffer.getInt(16);
+        if (cardCount < 0 || HEADER_SIZE + (long) cardCount * ENTRY_SIZE > buffer.capacity()) {
+            throw new IOException("Corrupt compiled deck index");
+        }
+    }
+
+    /**
+     * Opens a compiled deck file by mapping it into memory.
+     *
+     * @param deckFile The compiled deck file.
+     * @return The opened deck.
+     * @throws IOException If the file cannot be read or is not a valid compiled deck.
+     */
+
+    public static CompiledDeck open(Path deckFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(deckFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Compiled deck larger than 2 GB: " + deckFile);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new CompiledDeck(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Opens the compiled deck of a folder if it exists and still matches the given files.
+     *
+     * @param folder The deck folder.
+     * @param files The card files currently in the folder.
+     * @return The compiled deck, or null if it is missing or outdated.
+     */
+
+    public static CompiledDeck openIfCurrent(File folder, File[] files) {
+        CompiledDeck deck = openExisting(folder);
+        return deck != null && deck.isCurrent(files) ? deck : null;
+    }
+
+    /**
+     * Opens the compiled deck of a folder without checking whether it is still up to date.
+     *
+     * @param folder The deck folder.
+     * @return The compiled deck, or null if there is none or it cannot be read.
+     */
+
+    public static CompiledDeck openExisting(File folder) {
+        Path deckFile = defaultLocation(folder);
+        if (!Files.isRegularFile(deckFile)) {
+            return null;
+        }
+        try {
+            CompiledDeck deck = open(deckFile);
+            CacheFiles.markUsed(deckFile);
+            return deck;
+        } catch (IOException event) {
+            // An unreadable compiled deck is simply rebuilt.
+            event.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * @param files The card files currently in the folder.
+     * @return True if the deck was compiled from exactly these files in their current state.
+     */
+
+    public boolean isCurrent(File[] files) {
+        return fingerprint == fingerprint(files);
+    }
+
+    /**
+     * Rebuilds the compiled deck of a folder on a background thread. Afterwards the least recently
+     * used compiled decks are deleted beyond {@link CacheFiles#MAX_ENTRIES} or {@link #MAX_CACHED_BYTES},
+     * see {@link CacheFiles#evict(String, String, long, int)}.
+     *
+     * @param folder The deck folder.
+     * @param files The card files in the order they should be stored.
+     */
+
+    public static void compileInBackground(File folder, File[] files) {
+        File[] snapshot = files.clone();
+        COMPILER.execute(() -> {
+            try {
+                compile(folder, snapshot, defaultLocation(folder));
+                CacheFiles.evict("decks", EXTENSION, MAX_CACHED_BYTES, DeckIndexCache.MAX_AGE_DAYS);
+            } catch (IOException event) {
+                event.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Packs the given card files into a single compiled deck file whose cards are only known by their
+     * file names, see {@link #compile(File, File[], Path)}.
+     *
+     * @param files The card files in the order they should be stored.
+     * @param target The compiled deck file to write.
+     * @throws IOException If a card cannot be read or the deck cannot be written.
+     */
+
+    public static void compile(File[] files, Path target) throws IOException {
+        compile(null, files, target);
+    }
+
+    /**
+     * Packs the given card files into a single compiled deck file.
+     * The file is written to a temporary file first and then moved into place, so readers never see
+     * a half-written deck.
+     *
+     * @param folder The deck folder the card paths are stored relative to, or null to store file paths.
+     * @param files The card files in the order they should be stored.
+     * @param target The compiled deck file to write.
+     * @throws IOException If a card cannot be read or the deck cannot be written.
+     */
+
+    public static void compile(File folder, File[] files, Path target) throws IOException {
+        int count = files.length;
+        byte[][] paths = new byte[count][];
+        byte[][] answers = new byte[count][];
+        long stringsSize = 0;
+        for (int i = 0; i < count; i++) {
+            paths[i] = CardArena.relativePath(folder, files[i]).getBytes(StandardCharsets.UTF_8);
+            answers[i] = AnswerRule.fromFileName(files[i].getName()).getBytes(StandardCharsets.UTF_8);
+            if (paths[i].length > Short.MAX_VALUE || answers[i].length > Short.MAX_VALUE) {
+                throw new IOException("Card path too long: " + files[i]);
+            }
+            stringsSize += paths[i].length + answers[i].length;
+        }
+        long stringsStart = HEADER_SIZE + (long) count * ENTRY_SIZE;
+        long bodiesStart = stringsStart + stringsSize;
+        if (bodiesStart > Integer.MAX_VALUE) {
+            throw new IOException("Deck too large to compile into a single file");
+        }
+        // Offsets and lengths of the bodies, known once each body is written.
+        long[] bodyOffsets = new long[count];
+        int[] bodyLengths = new int[count];
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "compile", EXTENSION);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            // The bodies are streamed one card at a time behind the space left for the index and the
+            // strings, so only one card is held in memory.
+            long bodyOffset = bodiesStart;
+            channel.position(bodiesStart);
+            for (int i = 0; i < count; i++) {
+                // Decode text like the folder path does, then store the body as UTF-8. Images are stored as they are.
+                byte[] body = CardFormat.isImage(files[i].getName()) ? Files.readAllBytes(files[i].toPath())
+                        : CardText.read(files[i].toPath()).getBytes(StandardCharsets.UTF_8);
+                if (bodyOffset + body.length > Integer.MAX_VALUE) {
+                    throw new IOException("Deck too large to compile into a single file");
+                }
+                bodyOffsets[i] = bodyOffset;
+                bodyLengths[i] = body.length;
+                writeFully(channel, ByteBuffer.wrap(body));
+                bodyOffset += body.length;
+            }
+
+            ByteBuffer head = ByteBuffer.allocate((int) bodiesStart);
+            head.putInt(MAGIC).putInt(VERSION).putLong(fingerprint(files)).putInt(count);
+            long pathOffset = stringsStart;
+            for (int i = 0; i < count; i++) {
+                head.putLong(bodyOffsets[i]).putInt(bodyLengths[i]).putInt((int) pathOffset)
+                        .putShort((short) paths[i].length).putShort((short) answers[i].length);
+                pathOffset += paths[i].length + answers[i].length;
+            }
+            for (int i = 0; i < count; i++) {
+                head.put(paths[i]).put(answers[i]);
+            }
+            head.flip();
+            channel.position(0);
+            writeFully(channel, head);
+        } catch (IOException event) {
+            Files.deleteIfExists(temp);
+            throw event;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Computes the fingerprint of a set of card files from their paths, sizes and modification times.
+     * The result does not depend on the order of the files.
+     *
+     * @param files The card files.
+     * @return A 64-bit fingerprint.
+     */
+
+    public static long fingerprint(File[] files) {
+        File[] sorted = files.clone();
+        Arrays.sort(sorted, Comparator.comparing(File::getPath));
+        long hash = 0xcbf29ce484222325L;
+        for (File file : sorted) {
+            hash = mix(hash, file.getPath().hashCode());
+            hash = mix(hash, file.length());
+            hash = mix(hash, file.lastModified());
+        }
+        return mix(hash, sorted.length);
+    }
+
+    /**
+     * Returns where the compiled deck of a folder is kept, see {@link CacheFiles}.
+     *
+     * @param folder The deck folder.
+     * @return The path of the compiled deck file.
+     */
+
+    public static Path defaultLocation(File folder) {
+        return CacheFiles.fileFor(folder, "decks", EXTENSION);
+    }
+
+    /**
+     * @return The fingerprint of the folder this deck was compiled from.
+     */
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    @Override
+    public int size() {
+        return cardCount;
+    }
+
+    @Override
+    public String getName(int index) {
+        String path = getPath(index);
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getPath(int index) {
+        int entry = entryPosition(index);
+        return string(buffer.getInt(entry + 12), buffer.getShort(entry + 16));
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        int entry = entryPosition(index);
+        return string(buffer.getInt(entry + 12) + buffer.getShort(entry + 16), buffer.getShort(entry + 18));
+    }
+
+    @Override
+    public boolean matchesAnswer(int index, String entered) {
+        int entry = entryPosition(index);
+        // Compared against the mapped answer bytes; absolute reads keep this safe for concurrent readers.
+        return AnswerRule.matches(entered, buffer, buffer.getInt(entry + 12) + buffer.getShort(entry + 16), buffer.getShort(entry + 18));
+    }
+
+    @Override
+    public String readContent(int index) {
+        int entry = entryPosition(index);
+        return string((int) buffer.getLong(entry), buffer.getInt(entry + 8));
+    }
+
+    @Override
+    public long getContentLength(int index) {
+        return buffer.getInt(entryPosition(index) + 8);
+    }
+
+    @Override
+    public InputStream openContent(int index) {
+        int entry = entryPosition(index);
+        // A view of the mapped body; reading it copies nothing up front and leaves the shared position alone.
+        return new BodyStream(buffer.slice((int) buffer.getLong(entry), buffer.getInt(entry + 8)));
+    }
+
+    // Position of the index entry of a card.
+    private int entryPosition(int index) {
+        if (index < 0 || index >= cardCount) {
+            throw new IndexOutOfBoundsException("Card " + index + " of " + cardCount);
+        }
+        return HEADER_SIZE + index * ENTRY_SIZE;
+    }
+
+    // Decodes a UTF-8 string from the mapped file. Absolute reads keep this safe for concurrent readers.
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Writes the whole buffer, a channel may write less than requested.
+    private static void writeFully(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    // Mixes a value into a running hash (FNV-1a style over the 8 bytes of the value).
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The BodyStream class reads the body of a card from its slice of the mapped file.
+     */
+
+    private static class BodyStream extends InputStream {
+        // The body of the card, with its own position.
+        private final ByteBuffer body;
+
+        private BodyStream(ByteBuffer body) {
+            this.body = body;
+        }
+
+        @Override
+        public int read() {
+            return body.hasRemaining() ? body.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!body.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, body.remaining());
+            body.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, body.remaining()));
+            body.position(body.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return body.remaining();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * The ContentHash class computes a fast, non-cryptographic 64-bit hash of card content.
+ * <p>
+ * The hash is FNV-1a over the raw bytes. It is only used to recognise changed or identical card
+ * bodies, not for any security purpose.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class ContentHash {
+    // FNV-1a 64-bit parameters.
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * The ContentHash class only provides static helpers.
+     */
+
+    private ContentHash() {
+    }
+
+    /**
+     * @param bytes The content to hash.
+     * @return The 64-bit hash of the content.
+     */
+
+    public static long of(byte[] bytes) {
+        long hash = OFFSET_BASIS;
+        for (byte value : bytes) {
+            hash ^= value & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a stream without keeping its bytes; the result equals {@link #of(byte[])} of the same bytes.
+     *
+     * @param content The content to hash; it is not closed.
+     * @param buffer A buffer to read into, reused by the caller.
+     * @return The 64-bit hash of the content.
+     * @throws IOException If the stream cannot be read.
+     */
+
+    public static long of(InputStream content, byte[] buffer) throws IOException {
+        long hash = OFFSET_BASIS;
+        int read;
+        while ((read = content.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                hash ^= buffer[i] & 0xff;
+                hash *= PRIME;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Reads a file and hashes its content.
+     *
+     * @param file The file to hash.
+     * @return The 64-bit hash of the file content.
+     * @throws IOException If the file cannot be read.
+     */
+
+    public static long of(Path file) throws IOException {
+        return of(Files.readAllBytes(file));
+    }
+}
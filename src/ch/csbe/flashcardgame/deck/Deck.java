@@ -0,0 +1,425 @@
+/**
+ * The Deck class is a deck folder that has been opened for playing.
+ * <p>
+ * Opening a deck takes the cards from the cached {@link DeckIndex} if it is still fresh, or starts a
+ * parallel {@link DeckScanner} otherwise. If a compiled deck exists and matches the files of the fresh
+ * index, the card content is read from it; otherwise the loose files are played. The cache files are
+ * checked on the scanner's pool, so the deck is returned at once and its cards show up like scanned ones.
+ * Once the card list is known, the index and the compiled deck are refreshed in the background.
+ * </p>
+ * <p>
+ * After the scan the folder is watched by a {@link DeckWatcher} (unless the system property
+ * "flashcardgame.watch" is false): cards created, edited or deleted while the deck is played show up in
+ * its {@link LiveCardSource}, and the cached index is refreshed after every batch of changes.
+ * </p>
+ * <p>
+ * A ZIP archive can be opened like a folder. Its cards are listed from the archive's central directory
+ * and read from the archive on demand by a {@link ZipCardSource}; there is nothing to scan, index,
+ * compile or watch.
+ * </p>
+ * <p>
+ * Cards whose content repeats another card are found by {@link #findDuplicates()} and skipped by the
+ * sessions that play {@link #getDistinctCards()}.
+ * </p>
+ * <p>
+ * The same single read of all cards checks them for problems. {@link #validate()} adds the files that
+ * are not cards and writes a report to the cache folder, so a broken deck shows up before it is played.
+ * </p>
+ * <p>
+ * A deck holds no per-player state. Any number of {@code DeckSession}s can play the same deck at the
+ * same time; the card sources are safe for concurrent readers.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+import ch.csbe.flashcardgame.metrics.ScanEvent;
+
+public class Deck {
+    // Watch opened decks for changes, configurable with -Dflashcardgame.watch=false.
+    private static final boolean WATCH = !"false".equals(System.getProperty("flashcardgame.watch"));
+    // Skip cards that repeat another card, configurable with -Dflashcardgame.dedupe=false.
+    private static final boolean DEDUPE = !"false".equals(System.getProperty("flashcardgame.dedupe"));
+    // Time from opening a deck until all its cards are listed.
+    private static final Histogram SCAN_TIME = Metrics.histogram("deck.scan");
+    // Time to read all cards of a deck, find the duplicates and check the cards.
+    private static final Histogram DUPLICATES_TIME = Metrics.histogram("deck.duplicates");
+    // Time to build the prefix index of the answers.
+    private static final Histogram ANSWER_INDEX_TIME = Metrics.histogram("deck.answerIndex");
+
+    // The deck folder or archive.
+    private final File folder;
+    // The cards of a deck archive, or null for a folder.
+    private final ZipCardSource archive;
+    // The cards read by sessions: the compiled deck or the files found by the scanner, plus live changes.
+    private final LiveCardSource cards;
+    // Text files found so far by the scan of the folder.
+    private final ScannedCardSource scannedFiles;
+    // The running (or finished) scan of the folder.
+    private final DeckScanner scanner;
+    // Watches the folder once the scan has finished, null before and after closing.
+    private DeckWatcher watcher;
+    private boolean closed = false;
+    // The read of all cards that finds duplicates and problems, started on first use.
+    private CompletableFuture<DuplicateReport> checkedCards;
+    // The duplicates of the deck, empty if the duplicate check is turned off.
+    private CompletableFuture<Optional<DuplicateReport>> duplicates;
+    // The validation of the deck, started on first use.
+    private CompletableFuture<DeckValidation> validation;
+    // The prefix index of the answers, built on first use.
+    private CompletableFuture<AnswerTrie> answerIndex;
+    // Listeners for scan progress and live changes.
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<DeckWatcher.Listener> cardListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor, decks are opened with {@link #open(File)}.
+     */
+
+    private Deck(File folder, ZipCardSource archive, LiveCardSource cards, ScannedCardSource scannedFiles, DeckScanner scanner) {
+        this.folder = folder;
+        this.archive = archive;
+        this.cards = cards;
+        this.scannedFiles = scannedFiles;
+        this.scanner = scanner;
+        scannedFiles.addChangeListener(this::fireChanged);
+    }
+
+    /**
+     * Opens a deck folder or archive. The call returns immediately; a folder may still be scanned afterwards.
+     *
+     * @param folder The deck folder, or a ZIP archive of it.
+     * @return The opened deck.
+     */
+
+    public static Deck open(File folder) {
+        if (ZipCardSource.isArchive(folder)) {
+            return openArchive(folder);
+        }
+        long start = Metrics.start();
+        ScanEvent scan = new ScanEvent();
+        scan.begin();
+        ScannedCardSource scanned = new ScannedCardSource(folder);
+        LiveCardSource cards = new LiveCardSource(scanned, folder);
+        // The compiled deck the cards are read from, if it matches the fresh index.
+        CompiledDeck[] compiled = new CompiledDeck[1];
+        DeckScanner scanner = DeckScanner.open(folder, scanned, () -> {
+            DeckIndex freshIndex = DeckIndexCache.loadIfFresh(folder);
+            // Without a fresh index the files are only known after the scan, so an outdated compiled deck
+            // cannot be told apart; the loose files are played then and the compiled deck is checked afterwards.
+            compiled[0] = freshIndex != null ? CompiledDeck.openIfCurrent(folder, freshIndex.getFiles()) : null;
+            if (compiled[0] != null) {
+                // The indexed cards are not handed over yet, so no card was listed from the files.
+                cards.setBase(compiled[0]);
+            }
+            return freshIndex;
+        });
+        Deck deck = new Deck(folder, null, cards, scanned, scanner);
+        // Async, so a scan that is already done does not refresh the cache on the caller's thread.
+        scanner.getCompletion().thenAcceptAsync(files -> {
+            DeckIndex cachedIndex = scanner.getIndex();
+            SCAN_TIME.recordSince(start);
+            scan.end();
+            if (scan.shouldCommit()) {
+                scan.folder = folder.getPath();
+                scan.cards = files.length;
+                scan.directories = scanner.getDirectoriesScanned();
+                scan.fromIndex = cachedIndex != null;
+                scan.cancelled = scanner.isCancelled();
+                scan.commit();
+            }
+            if (scanner.isCancelled()) {
+                // An interrupted scan is incomplete and must not end up in the cache.
+                return;
+            }
+            // Only cards whose size or modification time changed are read again.
+            DeckIndexCache.refreshInBackground(folder, cachedIndex != null ? cachedIndex : DeckIndexCache.load(folder),
+                    files, scanner.getDirectories());
+            CompiledDeck existing = compiled[0] != null ? compiled[0] : CompiledDeck.openExisting(folder);
+            if (files.length > 0 && (existing == null || !existing.isCurrent(files))) {
+                CompiledDeck.compileInBackground(folder, files);
+            }
+            if (WATCH) {
+                deck.startWatching(files);
+            }
+        });
+        return deck;
+    }
+
+    /**
+     * Opens a deck archive. Only its central directory is read; an archive that cannot be opened is an empty deck.
+     *
+     * @param file The deck archive.
+     * @return The opened deck.
+     */
+
+    private static Deck openArchive(File file) {
+        long start = Metrics.start();
+        ScanEvent scan = new ScanEvent();
+        scan.begin();
+        ZipCardSource archive = null;
+        try {
+            archive = ZipCardSource.open(file);
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+        ScannedCardSource listed = new ScannedCardSource(file);
+        DeckScanner scanner = DeckScanner.completed(archive != null ? archive.toFiles() : new File[0], listed);
+        SCAN_TIME.recordSince(start);
+        scan.end();
+        if (scan.shouldCommit()) {
+            scan.folder = file.getPath();
+            scan.cards = scanner.getCardCount();
+            scan.archive = true;
+            scan.commit();
+        }
+        return new Deck(file, archive, new LiveCardSource(archive != null ? archive : listed, file), listed, scanner);
+    }
+
+    /**
+     * Stops scanning and watching the folder, e.g. because the user picked another deck. An archive is
+     * closed; its cards cannot be read afterwards.
+     */
+
+    public void close() {
+        scanner.cancel();
+        synchronized (this) {
+            closed = true;
+            if (watcher != null) {
+                watcher.close();
+                watcher = null;
+            }
+        }
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException event) {
+                event.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Registers a listener that is called (on a background thread) whenever the scan found new cards
+     * or finished.
+     *
+     * @param listener The listener to call.
+     */
+
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener that is called (on the watcher thread) with the indices of cards that were
+     * edited or removed while the deck is played. New cards are announced to the change listeners.
+     *
+     * @param listener The listener to call.
+     */
+
+    public void addCardListener(DeckWatcher.Listener listener) {
+        cardListeners.add(listener);
+    }
+
+    /**
+     * Unregisters listeners added with {@link #addChangeListener(Runnable)} and
+     * {@link #addCardListener(DeckWatcher.Listener)}, e.g. once the session playing the deck ends.
+     *
+     * @param changeListener The change listener to remove, or null.
+     * @param cardListener The card listener to remove, or null.
+     */
+
+    public void removeListeners(Runnable changeListener, DeckWatcher.Listener cardListener) {
+        changeListeners.remove(changeListener);
+        cardListeners.remove(cardListener);
+    }
+
+    /**
+     * @return The deck folder or archive.
+     */
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return The cards of the deck, shared by all sessions.
+     */
+
+    public LiveCardSource getCards() {
+        return cards;
+    }
+
+    /**
+     * Finds the cards that repeat another card once the deck is scanned, hashing all cards in parallel.
+     * The check runs once per deck and is shared with {@link #validate()}; later calls return the same future.
+     *
+     * @return A future holding the duplicates of the deck. With -Dflashcardgame.dedupe=false the check is
+     *         turned off and the future holds an empty Optional at once.
+     */
+
+    public synchronized CompletableFuture<Optional<DuplicateReport>> findDuplicates() {
+        if (duplicates == null) {
+            duplicates = DEDUPE
+                    ? checkCards().thenApply(Optional::of)
+                    : CompletableFuture.completedFuture(Optional.empty());
+        }
+        return duplicates;
+    }
+
+    /**
+     * Validates the deck once it is scanned: every card is read in parallel and checked for problems, the
+     * files that are not cards are listed, and the findings are written to {@link #getReportFile()}. The
+     * validation runs once per deck; later calls return the same future.
+     *
+     * @return A future holding the validation of the deck.
+     */
+
+    public synchronized CompletableFuture<DeckValidation> validate() {
+        if (validation == null) {
+            validation = checkCards().thenApplyAsync(report -> {
+                List<String> skipped = archive != null ? archive.getSkippedEntries()
+                        : folder.isDirectory() ? DeckValidation.findSkippedFiles(folder) : List.of();
+                DeckValidation result = new DeckValidation(folder, cards, report, skipped);
+                if (!scanner.isCancelled()) {
+                    try {
+                        result.writeReport(getReportFile());
+                        CacheFiles.evict("reports", ".txt", Long.MAX_VALUE, DeckIndexCache.MAX_AGE_DAYS);
+                    } catch (IOException event) {
+                        event.printStackTrace();
+                    }
+                }
+                return result;
+            });
+        }
+        return validation;
+    }
+
+    /**
+     * @return The file the validation report of this deck is written to.
+     */
+
+    public Path getReportFile() {
+        return CacheFiles.fileFor(folder, "reports", ".txt");
+    }
+
+    /**
+     * Indexes the answers of all cards by prefix once the deck is scanned, for feedback while an answer
+     * is typed. The index is built once per deck; later calls return the same future.
+     *
+     * @return A future holding the answer index of the deck.
+     */
+
+    public synchronized CompletableFuture<AnswerTrie> getAnswerIndex() {
+        if (answerIndex == null) {
+            answerIndex = scanner.getCompletion().thenApplyAsync(files -> {
+                long start = Metrics.start();
+                // Closing the deck cancels its scan and stops the build as well.
+                AnswerTrie trie = AnswerTrie.build(cards, scanner::isCancelled);
+                ANSWER_INDEX_TIME.recordSince(start);
+                return trie;
+            });
+        }
+        return answerIndex;
+    }
+
+    /**
+     * @return The cards of the deck for a session: cards that repeat another card are skipped once the
+     *         duplicate check has finished. With the check turned off all cards are played.
+     */
+
+    public CardSource getDistinctCards() {
+        return DEDUPE ? new DistinctCardSource(cards, checkCards()) : cards;
+    }
+
+    /**
+     * @return The card files found so far in the folder, including live changes. The cards of an archive
+     *         are named by paths below the archive, see {@link ZipCardSource#toFiles()}.
+     */
+
+    public File[] getFiles() {
+        File[] live = cards.getFiles();
+        return live != null ? live : scannedFiles.toArray();
+    }
+
+    /**
+     * @return The number of cards found so far, without removed cards.
+     */
+
+    public int getCardCount() {
+        return cards.isTracking() ? cards.getCardCount() : scanner.getCardCount();
+    }
+
+    /**
+     * @return The scan of the folder, which exposes its progress and the total card count.
+     */
+
+    public DeckScanner getScanner() {
+        return scanner;
+    }
+
+    // Reads all cards once the deck is scanned, for the duplicates and the problems of each card.
+    private synchronized CompletableFuture<DuplicateReport> checkCards() {
+        if (checkedCards == null) {
+            checkedCards = scanner.getCompletion().thenApplyAsync(files -> {
+                long start = Metrics.start();
+                // Closing the deck cancels its scan and stops the check as well.
+                DuplicateReport report = DuplicateReport.find(cards, scanner::isCancelled);
+                DUPLICATES_TIME.recordSince(start);
+                return report;
+            });
+        }
+        return checkedCards;
+    }
+
+    // Starts tracking and watching the folder after the scan has finished.
+    private synchronized void startWatching(File[] files) {
+        if (closed) {
+            return;
+        }
+        cards.track(files);
+        try {
+            watcher = DeckWatcher.start(folder, cards, scanner.getDirectories(), this::onDeckChanged);
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+
+    // Called on the watcher thread after a batch of changes was applied.
+    private void onDeckChanged(int[] changed) {
+        DeckWatcher current;
+        synchronized (this) {
+            current = watcher;
+        }
+        if (current == null) {
+            return;
+        }
+        for (DeckWatcher.Listener listener : cardListeners) {
+            listener.deckChanged(changed);
+        }
+        fireChanged();
+        // The index only reads the cards whose size or modification time changed.
+        DeckIndexCache.refreshInBackground(folder, DeckIndexCache.load(folder), cards.getFiles(), current.getDirectories());
+    }
+
+    // Calls all registered change listeners.
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * The DeckIndex class is the result of scanning a deck folder, in a form that can be stored on disk.
+ * <p>
+ * It records every directory of the deck with its modification time, and every card with its
+ * relative path, answer key, size, modification time and content hash. As long as no directory
+ * modification time has changed, no card was added, removed or renamed, so the index can replace a
+ * full rescan of the folder.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DeckIndex {
+    // Identifies a deck index file ("FCIX").
+    private static final int MAGIC = 0x46434958;
+    // Version of the file layout, increased whenever the layout changes. Version 2 also lists image
+    // cards, so indexes of version 1 would hide them even though the folder did not change.
+    private static final int VERSION = 2;
+
+    // Absolute path of the deck folder.
+    private final File folder;
+    // Directories of the deck (relative paths, "" is the folder itself) with their modification times.
+    private final List<String> directories;
+    private final long[] directoryModified;
+    // The cards of the deck.
+    private final List<Entry> entries;
+
+    /**
+     * Creates an index.
+     *
+     * @param folder The deck folder.
+     * @param directories Relative paths of all directories of the deck.
+     * @param directoryModified Modification times of the directories, in the same order.
+     * @param entries The cards of the deck.
+     */
+
+    public DeckIndex(File folder, List<String> directories, long[] directoryModified, List<Entry> entries) {
+        this.folder = folder.getAbsoluteFile();
+        this.directories = Collections.unmodifiableList(new ArrayList<>(directories));
+        this.directoryModified = directoryModified.clone();
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Checks whether the set of cards can still be trusted: every recorded directory must still exist
+     * with an unchanged modification time. Only one stat per directory is needed, none per card.
+     *
+     * @return True if no card has been added, removed or renamed since the index was written.
+     */
+
+    public boolean isFresh() {
+        for (int i = 0; i < directories.size(); i++) {
+            File directory = resolve(directories.get(i));
+            if (!directory.isDirectory() || directory.lastModified() != directoryModified[i]) {
+                return false;
+            }
+        }
+        return !directories.isEmpty();
+    }
+
+    /**
+     * @return The card files of the deck, in index order.
+     */
+
+    public File[] getFiles() {
+        File[] files = new File[entries.size()];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = resolve(entries.get(i).getPath());
+        }
+        return files;
+    }
+
+    /**
+     * @return The deck folder.
+     */
+
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * @return The relative paths of all directories of the deck.
+     */
+
+    public List<String> getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @param index The position of the directory in {@link #getDirectories()}.
+     * @return The recorded modification time of the directory.
+     */
+
+    public long getDirectoryModified(int index) {
+        return directoryModified[index];
+    }
+
+    /**
+     * @return The cards of the deck.
+     */
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Resolves a path relative to the deck folder.
+     *
+     * @param relativePath The relative path as stored in the index.
+     * @return The file.
+     */
+
+    public File resolve(String relativePath) {
+        return relativePath.isEmpty() ? folder : new File(folder, relativePath);
+    }
+
+    /**
+     * Writes the index in its binary layout.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(folder.getPath());
+        out.writeInt(directories.size());
+        for (int i = 0; i < directories.size(); i++) {
+            out.writeUTF(directories.get(i));
+            out.writeLong(directoryModified[i]);
+        }
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            out.writeUTF(entry.getPath());
+            out.writeUTF(entry.getAnswer());
+            out.writeLong(entry.getSize());
+            out.writeLong(entry.getLastModified());
+            out.writeLong(entry.getContentHash());
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #write(DataOutputStream)}.
+     *
+     * @param in The stream to read from.
+     * @return The index.
+     * @throws IOException If reading fails or the data is not a deck index.
+     */
+
+    public static DeckIndex read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a deck index of version " + VERSION);
+        }
+        File folder = new File(in.readUTF());
+        int directoryCount = in.readInt();
+        List<String> directories = new ArrayList<>(directoryCount);
+        long[] directoryModified = new long[directoryCount];
+        for (int i = 0; i < directoryCount; i++) {
+            directories.add(in.readUTF());
+            directoryModified[i] = in.readLong();
+        }
+        int entryCount = in.readInt();
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(new Entry(in.readUTF(), in.readUTF(), in.readLong(), in.readLong(), in.readLong()));
+        }
+        return new DeckIndex(folder, directories, directoryModified, entries);
+    }
+
+    /**
+     * The Entry class describes a single card of the index.
+     */
+
+    public static class Entry {
+        private final String path;
+        private final String answer;
+        private final long size;
+        private final long lastModified;
+        private final long contentHash;
+
+        /**
+         * @param path The path of the card relative to the deck folder.
+         * @param answer The answer key derived from the file name.
+         * @param size The file size in bytes.
+         * @param lastModified The modification time of the file.
+         * @param contentHash The {@link ContentHash} of the file content.
+         */
+
+        public Entry(String path, String answer, long size, long lastModified, long contentHash) {
+            this.path = path;
+            this.answer = answer;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getAnswer() {
+            return answer;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getContentHash() {
+            return contentHash;
+        }
+    }
+}
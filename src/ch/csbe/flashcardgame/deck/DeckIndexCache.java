@@ -0,0 +1,273 @@
+/**
+ * The DeckIndexCache class keeps a {@link DeckIndex} on disk for every deck folder that was played.
+ * <p>
+ * On a warm start the index is read in a single sequential read and, if no directory of the deck has
+ * changed, replaces the scan of the folder entirely. After every session the index is refreshed in the
+ * background: cards whose size and modification time are unchanged keep their stored content hash,
+ * only changed cards are read and hashed again.
+ * </p>
+ * <p>
+ * Index files that have not been used for {@link #MAX_AGE_DAYS} days, or that belong to a deck folder
+ * that no longer exists, are deleted. At most {@link #MAX_INDEXES} index files are kept; beyond that the
+ * least recently used ones are deleted.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class DeckIndexCache {
+    // File extension of index files.
+    public static final String EXTENSION = ".idx";
+    // Maximum number of index files kept.
+    public static final int MAX_INDEXES = Integer.getInteger("flashcardgame.indexCache.maxEntries", 32);
+    // Index files unused for longer than this are deleted.
+    public static final int MAX_AGE_DAYS = 30;
+
+    // Single background thread for refreshing and saving indexes.
+    private static final ExecutorService INDEXER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deck-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The DeckIndexCache class only provides static helpers.
+     */
+
+    private DeckIndexCache() {
+    }
+
+    /**
+     * Returns where the index of a deck folder is kept.
+     *
+     * @param folder The deck folder.
+     * @return The path of the index file.
+     */
+
+    public static Path location(File folder) {
+        return CacheFiles.fileFor(folder, "index", EXTENSION);
+    }
+
+    /**
+     * Loads the stored index of a folder if it can still replace a scan of the folder.
+     *
+     * @param folder The deck folder.
+     * @return The index, or null if there is none or the folder has changed.
+     */
+
+    public static DeckIndex loadIfFresh(File folder) {
+        DeckIndex index = load(folder);
+        return index != null && index.isFresh() ? index : null;
+    }
+
+    /**
+     * Loads the stored index of a folder without checking whether it is still fresh.
+     * Loading an index counts as a use for the eviction policy.
+     *
+     * @param folder The deck folder.
+     * @return The index, or null if there is none or it cannot be read.
+     */
+
+    public static DeckIndex load(File folder) {
+        Path file = location(folder);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            // One sequential read, the index is parsed from memory.
+            byte[] bytes = Files.readAllBytes(file);
+            DeckIndex index = DeckIndex.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+            if (!index.getFolder().equals(folder.getAbsoluteFile())) {
+                // Two folders whose paths share a hash, the index belongs to the other one.
+                return null;
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return index;
+        } catch (IOException event) {
+            // An unreadable index is simply rebuilt.
+            event.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Writes an index to disk and applies the eviction policy afterwards.
+     *
+     * @param index The index to save.
+     * @throws IOException If the index cannot be written.
+     */
+
+    public static void save(DeckIndex index) throws IOException {
+        Path target = location(index.getFolder());
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "index", EXTENSION);
+        try (OutputStream file = Files.newOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            index.write(out);
+        } catch (IOException event) {
+            Files.deleteIfExists(temp);
+            throw event;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        evict();
+    }
+
+    /**
+     * Builds a new index for the given cards. Cards that are unchanged compared to the previous index
+     * keep their content hash; all other cards are read and hashed.
+     *
+     * @param folder The deck folder.
+     * @param previous The previous index of the folder, or null.
+     * @param files The card files of the deck.
+     * @param directories All directories of the deck, including the folder itself, with the
+     *            modification time they had when they were listed.
+     * @return The new index.
+     * @throws IOException If a card or directory cannot be read.
+     */
+
+    public static DeckIndex refresh(File folder, DeckIndex previous, File[] files, Map<File, Long> directories) throws IOException {
+        Path root = folder.getAbsoluteFile().toPath();
+        Map<String, DeckIndex.Entry> known = new HashMap<>();
+        if (previous != null) {
+            for (DeckIndex.Entry entry : previous.getEntries()) {
+                known.put(entry.getPath(), entry);
+            }
+        }
+
+        List<String> directoryPaths = new ArrayList<>(directories.size());
+        long[] directoryModified = new long[directories.size()];
+        for (Map.Entry<File, Long> directory : directories.entrySet()) {
+            directoryModified[directoryPaths.size()] = directory.getValue();
+            directoryPaths.add(root.relativize(directory.getKey().getAbsoluteFile().toPath()).toString());
+        }
+
+        List<DeckIndex.Entry> entries = new ArrayList<>(files.length);
+        for (File file : files) {
+            Path path = file.getAbsoluteFile().toPath();
+            String relativePath = root.relativize(path).toString();
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException event) {
+                // Deleted since the list was taken; the watcher reports it with the next batch.
+                continue;
+            }
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            DeckIndex.Entry entry = known.get(relativePath);
+            if (entry == null || entry.getSize() != size || entry.getLastModified() != lastModified) {
+                // New or changed card: revalidate its content.
+                entry = new DeckIndex.Entry(relativePath, AnswerRule.fromFileName(file.getName()), size, lastModified, ContentHash.of(path));
+            }
+            entries.add(entry);
+        }
+        return new DeckIndex(folder, directoryPaths, directoryModified, entries);
+    }
+
+    /**
+     * Refreshes and saves the index of a folder on a background thread.
+     *
+     * @param folder The deck folder.
+     * @param previous The previous index of the folder, or null.
+     * @param files The card files of the deck.
+     * @param directories All directories of the deck with their modification times.
+     * @return A future completed with the saved index.
+     */
+
+    public static CompletableFuture<DeckIndex> refreshInBackground(File folder, DeckIndex previous, File[] files, Map<File, Long> directories) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                DeckIndex index = refresh(folder, previous, files, directories);
+                save(index);
+                return index;
+            } catch (IOException event) {
+                event.printStackTrace();
+                return null;
+            }
+        }, INDEXER);
+    }
+
+    /**
+     * Deletes index files that are older than {@link #MAX_AGE_DAYS} days or whose deck folder no longer
+     * exists, then deletes the least recently used ones until at most {@link #MAX_INDEXES} are left.
+     *
+     * @return The number of deleted index files.
+     * @throws IOException If the cache directory cannot be listed.
+     */
+
+    public static int evict() throws IOException {
+        Path directory = CacheFiles.directory().resolve("index");
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+        List<Path> kept = new ArrayList<>();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < oldest || !folderExists(file)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                } else {
+                    kept.add(file);
+                }
+            }
+        }
+        if (kept.size() > MAX_INDEXES) {
+            kept.sort(Comparator.comparingLong(DeckIndexCache::lastUsed).reversed());
+            for (Path file : kept.subList(MAX_INDEXES, kept.size())) {
+                Files.deleteIfExists(file);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // Checks whether the deck folder recorded in an index file still exists.
+    private static boolean folderExists(Path indexFile) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            in.readInt();
+            in.readInt();
+            return new File(in.readUTF()).isDirectory();
+        } catch (IOException event) {
+            return false;
+        }
+    }
+
+    // Last use of an index file, which is its modification time.
+    private static long lastUsed(Path indexFile) {
+        try {
+            return Files.getLastModifiedTime(indexFile).toMillis();
+        } catch (IOException event) {
+            return 0;
+        }
+    }
+}
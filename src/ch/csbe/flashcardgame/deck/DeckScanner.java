@@ -0,0 +1,342 @@
+/**
+ * The DeckScanner class walks a deck folder and all its sub-folders in parallel.
+ * <p>
+ * Every directory is scanned by its own fork/join task, so large trees of nested folders are spread
+ * over all cores by work stealing. Card files are streamed into a {@link ScannedCardSource} in small
+ * batches while the scan is still running, so the first card can be shown long before the whole tree
+ * has been visited. Progress can be observed through the counters of this class.
+ * </p>
+ * <p>
+ * If a fresh {@link DeckIndex} of the folder is available, {@link #fromIndex(DeckIndex, ScannedCardSource)}
+ * hands over the indexed cards at once instead of walking the folder again. {@link #open(File,
+ * ScannedCardSource, Supplier)} looks for that index on the pool as well, so the caller never waits
+ * for the disk.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class DeckScanner {
+    // Text cards, matched case-insensitively by extension.
+    public static final Predicate<Path> TEXT_CARDS = path -> CardFormat.of(path.getFileName().toString()) == CardFormat.TEXT;
+    // Default filter: text and image cards, see {@link CardFormat}.
+    public static final Predicate<Path> CARDS = path -> CardFormat.of(path.getFileName().toString()) != null;
+    // Number of cards collected by a task before they are handed to the deck.
+    private static final int BATCH_SIZE = 256;
+
+    // The deck the discovered cards are appended to.
+    private final ScannedCardSource target;
+    // Decides which files are cards.
+    private final Predicate<Path> filter;
+    // Completed once the scan has finished. The cards stay packed in the target and are only listed
+    // as files for the callers that ask, so a large deck is not held twice.
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    // All directories that were read, including the deck folder itself, with the modification time
+    // observed before they were listed.
+    private final Map<File, Long> directories = new ConcurrentHashMap<>();
+    // Progress counters.
+    private final AtomicInteger directoriesFound = new AtomicInteger();
+    private final AtomicInteger directoriesScanned = new AtomicInteger();
+    // Set to stop a scan that is no longer needed.
+    private volatile boolean cancelled = false;
+    // The fresh index the cards were taken from, null if the folder was walked.
+    private volatile DeckIndex index;
+
+    /**
+     * Private constructor, scans are started with {@link #scan(File, ScannedCardSource, Predicate)}.
+     */
+
+    private DeckScanner(ScannedCardSource target, Predicate<Path> filter) {
+        this.target = target;
+        this.filter = filter;
+    }
+
+    /**
+     * Starts scanning a folder recursively for text and image cards on the common fork/join pool.
+     *
+     * @param folder The deck folder.
+     * @param target The deck the discovered cards are appended to.
+     * @return The running scan.
+     */
+
+    public static DeckScanner scan(File folder, ScannedCardSource target) {
+        return scan(folder, target, CARDS);
+    }
+
+    /**
+     * Starts scanning a folder recursively on the common fork/join pool.
+     *
+     * @param folder The deck folder.
+     * @param target The deck the discovered cards are appended to.
+     * @param filter Decides which files are cards.
+     * @return The running scan.
+     */
+
+    public static DeckScanner scan(File folder, ScannedCardSource target, Predicate<Path> filter) {
+        DeckScanner scanner = new DeckScanner(target, filter);
+        scanner.directoriesFound.incrementAndGet();
+        ForkJoinPool.commonPool().execute(() -> scanner.walk(folder));
+        return scanner;
+    }
+
+    /**
+     * Starts opening a folder on the common fork/join pool: the cards of a fresh index are handed
+     * over if there is one, otherwise the folder is scanned recursively for text and image cards.
+     *
+     * @param folder The deck folder.
+     * @param target The deck the cards are appended to.
+     * @param freshIndex Loads the fresh index of the folder, or returns null; called on the pool.
+     * @return The running scan.
+     */
+
+    public static DeckScanner open(File folder, ScannedCardSource target, Supplier<DeckIndex> freshIndex) {
+        DeckScanner scanner = new DeckScanner(target, CARDS);
+        scanner.directoriesFound.incrementAndGet();
+        ForkJoinPool.commonPool().execute(() -> {
+            DeckIndex index = null;
+            try {
+                index = scanner.cancelled ? null : freshIndex.get();
+            } catch (RuntimeException event) {
+                // Without the index the folder is scanned.
+                event.printStackTrace();
+            }
+            if (index != null) {
+                scanner.fill(index);
+            } else {
+                scanner.walk(folder);
+            }
+        });
+        return scanner;
+    }
+
+    /**
+     * Creates an already finished scan from a fresh index, without touching the folder.
+     *
+     * @param index The index of the deck folder.
+     * @param target The deck the indexed cards are appended to.
+     * @return The finished scan.
+     */
+
+    public static DeckScanner fromIndex(DeckIndex index, ScannedCardSource target) {
+        DeckScanner scanner = new DeckScanner(target, CARDS);
+        scanner.fill(index);
+        return scanner;
+    }
+
+    /**
+     * Creates an already finished scan from a complete list of cards, e.g. the entries of a deck archive.
+     *
+     * @param files The cards.
+     * @param target The deck the cards are appended to.
+     * @return The finished scan.
+     */
+
+    public static DeckScanner completed(File[] files, ScannedCardSource target) {
+        DeckScanner scanner = new DeckScanner(target, CARDS);
+        target.addAll(Arrays.asList(files));
+        target.complete();
+        scanner.completion.complete(null);
+        return scanner;
+    }
+
+    /**
+     * @return The fresh index the cards were taken from, or null if the folder was scanned (or is
+     *         still being opened).
+     */
+
+    public DeckIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Stops the scan. Directories that are already being read are finished, no new ones are started.
+     */
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return True if the scan was stopped before it had visited the whole folder.
+     */
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return True once the scan has finished.
+     */
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * @return A future completed with all discovered card files once the scan has finished.
+     */
+
+    public CompletableFuture<File[]> getCompletion() {
+        return completion.thenApply(done -> target.toArray());
+    }
+
+    /**
+     * Blocks until the scan has finished.
+     *
+     * @return All discovered card files.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+
+    public File[] awaitCompletion() throws InterruptedException {
+        try {
+            completion.get();
+            return target.toArray();
+        } catch (ExecutionException event) {
+            throw new IllegalStateException(event.getCause());
+        }
+    }
+
+    /**
+     * @return All directories read so far, including the deck folder itself, with the modification
+     *         time they had when they were listed.
+     */
+
+    public Map<File, Long> getDirectories() {
+        return new HashMap<>(directories);
+    }
+
+    /**
+     * @return The number of cards discovered so far.
+     */
+
+    public int getCardCount() {
+        return target.size();
+    }
+
+    /**
+     * @return The number of directories discovered so far, including the deck folder itself.
+     */
+
+    public int getDirectoriesFound() {
+        return directoriesFound.get();
+    }
+
+    /**
+     * @return The number of directories that have been read completely.
+     */
+
+    public int getDirectoriesScanned() {
+        return directoriesScanned.get();
+    }
+
+    /**
+     * @return The share of discovered directories that have been read, between 0 and 1.
+     */
+
+    public double getProgress() {
+        if (isDone()) {
+            return 1;
+        }
+        return (double) directoriesScanned.get() / Math.max(1, directoriesFound.get());
+    }
+
+    // Hands over the cards of a fresh index and finishes the scan.
+    private void fill(DeckIndex freshIndex) {
+        for (int i = 0; i < freshIndex.getDirectories().size(); i++) {
+            directories.put(freshIndex.resolve(freshIndex.getDirectories().get(i)), freshIndex.getDirectoryModified(i));
+        }
+        directoriesFound.set(directories.size());
+        directoriesScanned.set(directories.size());
+        index = freshIndex;
+        target.addAll(Arrays.asList(freshIndex.getFiles()));
+        target.complete();
+        completion.complete(null);
+    }
+
+    // Walks the folder on the current fork/join worker and finishes the scan.
+    private void walk(File folder) {
+        try {
+            new ScanTask(this, folder.toPath()).invoke();
+        } finally {
+            target.complete();
+            completion.complete(null);
+        }
+    }
+
+    /**
+     * The ScanTask class reads a single directory and forks a sub-task for every sub-directory.
+     */
+
+    private static class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        // The scan this task belongs to.
+        private final transient DeckScanner scanner;
+        // The directory read by this task.
+        private final transient Path directory;
+
+        ScanTask(DeckScanner scanner, Path directory) {
+            this.scanner = scanner;
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            List<ScanTask> subTasks = new ArrayList<>();
+            List<File> batch = new ArrayList<>();
+            // Taken before listing, so a file added during the scan makes the recorded time outdated.
+            scanner.directories.put(directory.toFile(), directory.toFile().lastModified());
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (scanner.cancelled) {
+                        break;
+                    }
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        // Other workers can steal the sub-directory while this one keeps reading.
+                        ScanTask subTask = new ScanTask(scanner, entry);
+                        scanner.directoriesFound.incrementAndGet();
+                        subTask.fork();
+                        subTasks.add(subTask);
+                    } else if (scanner.filter.test(entry)) {
+                        batch.add(entry.toFile());
+                        // Hand over the very first card at once so it can be shown immediately.
+                        if (batch.size() >= BATCH_SIZE || scanner.target.size() == 0) {
+                            scanner.target.addAll(batch);
+                            batch.clear();
+                        }
+                    }
+                }
+            } catch (IOException event) {
+                event.printStackTrace();
+            }
+            scanner.target.addAll(batch);
+            scanner.directoriesScanned.incrementAndGet();
+            for (ScanTask subTask : subTasks) {
+                subTask.join();
+            }
+        }
+    }
+}
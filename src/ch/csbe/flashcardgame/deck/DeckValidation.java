@@ -0,0 +1,208 @@
+/**
+ * The DeckValidation class is the check of a deck that runs when the folder is chosen, so broken cards
+ * show up before the session instead of in the middle of it.
+ * <p>
+ * Every card is read once, in parallel on all cores, by the duplicate check ({@link DuplicateReport}),
+ * which also finds the {@link CardProblem}s of each card: read errors, bytes that cannot be decoded,
+ * empty cards, malformed HTML, names without an answer and answers several cards expect. The validation
+ * adds the files of the folder that are not part of the deck because they have no card extension, and
+ * writes all findings to a text report ({@link #writeReport(Path)}).
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class DeckValidation {
+    // The deck folder or archive.
+    private final File folder;
+    // The cards of the deck and the result of reading them.
+    private final CardSource cards;
+    private final DuplicateReport report;
+    // Files of the folder that are not cards because of their extension, relative to the folder.
+    private final List<String> skippedFiles;
+    // Number of cards with each problem, and with any problem.
+    private final int[] problemCounts = new int[CardProblem.values().length];
+    private int cardsWithProblems = 0;
+
+    /**
+     * @param folder The deck folder or archive.
+     * @param cards The cards of the deck.
+     * @param report The result of reading all cards, see {@link DuplicateReport#find(CardSource)}.
+     * @param skippedFiles Files of the folder that are not cards, see {@link #findSkippedFiles(File)}.
+     */
+
+    public DeckValidation(File folder, CardSource cards, DuplicateReport report, List<String> skippedFiles) {
+        this.folder = folder;
+        this.cards = cards;
+        this.report = report;
+        this.skippedFiles = Collections.unmodifiableList(new ArrayList<>(skippedFiles));
+        for (int index = 0; index < report.getCardCount(); index++) {
+            if (report.hasProblems(index)) {
+                cardsWithProblems++;
+                for (CardProblem problem : report.getProblems(index)) {
+                    problemCounts[problem.ordinal()]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the files of a folder and its sub-folders that are not cards because they have no or an
+     * unknown extension; hidden files are left out. Folders that cannot be read are skipped.
+     *
+     * @param folder The deck folder.
+     * @return The paths of the files relative to the folder, sorted.
+     */
+
+    public static List<String> findSkippedFiles(File folder) {
+        Path root = folder.toPath();
+        List<String> skipped = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    String name = file.getFileName().toString();
+                    if (attributes.isRegularFile() && !name.startsWith(".") && CardFormat.of(name) == null) {
+                        skipped.add(root.relativize(file).toString());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException event) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+        Collections.sort(skipped);
+        return skipped;
+    }
+
+    /**
+     * @return The number of cards that were checked.
+     */
+
+    public int getCardCount() {
+        return report.getCardCount();
+    }
+
+    /**
+     * @return The number of cards with at least one problem.
+     */
+
+    public int getCardsWithProblems() {
+        return cardsWithProblems;
+    }
+
+    /**
+     * @param problem A kind of problem.
+     * @return The number of cards with that problem.
+     */
+
+    public int getProblemCount(CardProblem problem) {
+        return problemCounts[problem.ordinal()];
+    }
+
+    /**
+     * @return Files of the folder that are not cards because of their extension, relative to the folder.
+     */
+
+    public List<String> getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    /**
+     * @return The result of reading all cards, with the repeated cards and answer collisions.
+     */
+
+    public DuplicateReport getDuplicates() {
+        return report;
+    }
+
+    /**
+     * @return True if no card has a problem and no file was skipped.
+     */
+
+    public boolean isClean() {
+        return cardsWithProblems == 0 && skippedFiles.isEmpty();
+    }
+
+    /**
+     * Writes the findings as a text report, replacing the file atomically.
+     *
+     * @param file The report file; its folder is created if needed.
+     * @throws IOException If the report cannot be written.
+     */
+
+    public void writeReport(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "report", ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write("Deck " + folder.getAbsolutePath());
+            out.newLine();
+            out.write(getCardCount() + " cards checked, " + cardsWithProblems + " with problems, "
+                    + report.getRedundantCount() + " repeated, " + skippedFiles.size() + " files skipped.");
+            out.newLine();
+            if (cardsWithProblems > problemCounts[CardProblem.ANSWER_COLLISION.ordinal()]) {
+                out.newLine();
+                out.write("Cards with problems:");
+                out.newLine();
+            }
+            // One line per card and problem, grouped by problem; collisions are listed by answer below.
+            for (CardProblem problem : CardProblem.values()) {
+                for (int index = 0; index < report.getCardCount() && problem != CardProblem.ANSWER_COLLISION; index++) {
+                    if (report.hasProblem(index, problem)) {
+                        String error = report.getError(index);
+                        out.write("  " + cards.getName(index) + " " + problem.getDescription()
+                                + (problem == CardProblem.UNREADABLE && error != null ? ": " + error : ""));
+                        out.newLine();
+                    }
+                }
+            }
+            Map<String, List<String>> collisions = report.getAnswerCollisions();
+            if (!collisions.isEmpty()) {
+                out.newLine();
+                out.write(collisions.size() + " answers are expected by several different cards:");
+                out.newLine();
+                for (Map.Entry<String, List<String>> collision : collisions.entrySet()) {
+                    out.write("  " + collision.getKey() + ": " + String.join(", ", collision.getValue()));
+                    out.newLine();
+                }
+            }
+            if (!skippedFiles.isEmpty()) {
+                out.newLine();
+                out.write(skippedFiles.size() + " files are not part of the deck, they have no card extension (.txt, .png, .jpg, .jpeg, .gif):");
+                out.newLine();
+                for (String skipped : skippedFiles) {
+                    out.write("  " + skipped);
+                    out.newLine();
+                }
+            }
+        } catch (IOException event) {
+            Files.deleteIfExists(temp);
+            throw event;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,306 @@
+/**
+ * The DeckWatcher class watches a deck folder and its sub-folders for cards that are created, edited or
+ * deleted while the deck is played.
+ * <p>
+ * Events are not applied one by one. After the first event the watcher waits until the folder has
+ * been quiet for {@link #DEBOUNCE_MILLIS} (at most {@link #MAX_DELAY_MILLIS}), coalesces all events
+ * per file and then checks each touched file once: if it still exists it is new or edited, otherwise
+ * it was deleted. Copying 50,000 files into the folder therefore results in a few batches instead of
+ * 50,000 updates. If the operating system drops events, the folder is compared with the deck instead.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class DeckWatcher implements Closeable {
+    // Quiet time after the last event before a batch is applied.
+    public static final long DEBOUNCE_MILLIS = 200;
+    // Longest time a batch is held back while events keep coming.
+    public static final long MAX_DELAY_MILLIS = 1000;
+    // Tolerance for file systems that store modification times coarsely.
+    private static final long MODIFIED_SLACK_MILLIS = 2000;
+
+    // The deck that is kept up to date.
+    private final LiveCardSource cards;
+    // The deck folder.
+    private final Path root;
+    // Which files are cards.
+    private final Predicate<Path> filter;
+    // Called after every applied batch.
+    private final Listener listener;
+    private final WatchService service;
+    // Watched directories by their key, and the modification time of every directory.
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private final Map<File, Long> directories = new LinkedHashMap<>();
+    // The thread waiting for events.
+    private final Thread thread;
+    private volatile boolean closed = false;
+    // Time the previous batch was applied.
+    private long lastApplied = System.currentTimeMillis();
+
+    /**
+     * The Listener interface is informed about applied batches, on the watcher thread.
+     */
+
+    public interface Listener {
+
+        /**
+         * @param changed The indices of existing cards that were edited or removed. Appended cards
+         *            are not included; they show up in the deck's size.
+         */
+
+        void deckChanged(int[] changed);
+    }
+
+    private DeckWatcher(File folder, LiveCardSource cards, Predicate<Path> filter, Listener listener) throws IOException {
+        this.cards = cards;
+        this.root = folder.getAbsoluteFile().toPath();
+        this.filter = filter;
+        this.listener = listener;
+        this.service = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::run, "deck-watcher-" + folder.getName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching a deck folder. The deck must already track changes.
+     *
+     * @param folder The deck folder.
+     * @param cards The deck that is kept up to date.
+     * @param directories The directories of the folder found by the scan, with their modification times.
+     * @param listener Called after every applied batch.
+     * @return The running watcher.
+     * @throws IOException If the folder cannot be watched.
+     */
+
+    public static DeckWatcher start(File folder, LiveCardSource cards, Map<File, Long> directories, Listener listener) throws IOException {
+        DeckWatcher watcher = new DeckWatcher(folder, cards, DeckScanner.CARDS, listener);
+        try {
+            synchronized (watcher) {
+                watcher.register(watcher.root);
+                for (Map.Entry<File, Long> directory : directories.entrySet()) {
+                    watcher.register(directory.getKey().getAbsoluteFile().toPath());
+                    watcher.directories.put(directory.getKey().getAbsoluteFile(), directory.getValue());
+                }
+            }
+        } catch (IOException event) {
+            watcher.close();
+            throw event;
+        }
+        watcher.thread.start();
+        return watcher;
+    }
+
+    /**
+     * @return A copy of the watched directories with their modification times, as needed by the {@link DeckIndex}.
+     */
+
+    public synchronized Map<File, Long> getDirectories() {
+        return new LinkedHashMap<>(directories);
+    }
+
+    /**
+     * Stops watching the folder.
+     */
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            service.close();
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+
+    // Waits for events and applies them in coalesced batches.
+    private void run() {
+        try {
+            while (!closed) {
+                Set<Path> touched = new HashSet<>();
+                boolean overflow = collect(service.take(), touched);
+                long deadline = System.currentTimeMillis() + MAX_DELAY_MILLIS;
+                WatchKey key;
+                while (System.currentTimeMillis() < deadline
+                        && (key = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, touched);
+                }
+                try {
+                    apply(touched, overflow);
+                } catch (RuntimeException event) {
+                    // Keep watching, the next batch may well succeed.
+                    event.printStackTrace();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException event) {
+            // The watcher was closed.
+        }
+    }
+
+    // Collects the touched card files of a key; new directories are watched and their cards collected.
+    // Returns true if events were lost.
+    private boolean collect(WatchKey key, Set<Path> touched) {
+        boolean overflow = false;
+        Path directory;
+        synchronized (this) {
+            directory = keys.get(key);
+        }
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    watchTree(path, touched);
+                } catch (IOException error) {
+                    error.printStackTrace();
+                    overflow = true;
+                }
+            } else if (filter.test(path)) {
+                touched.add(path);
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && isWatched(path)) {
+                // A directory was moved away as a whole; its cards have no events of their own.
+                overflow = true;
+            }
+        }
+        if (!key.reset() && directory != null) {
+            // The directory is gone; its cards are reported as deleted by their own events.
+            synchronized (this) {
+                keys.remove(key);
+                directories.remove(directory.toFile());
+            }
+        }
+        return overflow;
+    }
+
+    // Watches a new directory tree and collects the cards that were copied into it before it was watched.
+    private void watchTree(Path start, Set<Path> touched) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                synchronized (DeckWatcher.this) {
+                    register(dir);
+                    directories.put(dir.toFile(), attributes.lastModifiedTime().toMillis());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (filter.test(file)) {
+                    touched.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Checks every touched file once and applies the batch to the deck.
+    private void apply(Set<Path> touched, boolean overflow) {
+        if (overflow) {
+            reconcile(touched);
+        }
+        List<File> present = new ArrayList<>();
+        List<File> deleted = new ArrayList<>();
+        for (Path path : touched) {
+            (Files.isRegularFile(path) ? present : deleted).add(path.toFile());
+        }
+        updateDirectoryTimes(touched);
+        lastApplied = System.currentTimeMillis();
+        if (present.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        listener.deckChanged(cards.apply(present, deleted));
+    }
+
+    // Events were lost: touch every card that is new, recently modified or no longer in the folder.
+    private void reconcile(Set<Path> touched) {
+        long since = lastApplied - MODIFIED_SLACK_MILLIS;
+        Set<File> inFolder = new HashSet<>();
+        try {
+            watchTree(root, new HashSet<>());
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (filter.test(file)) {
+                        inFolder.add(file.toFile());
+                        if (!cards.contains(file.toFile()) || attributes.lastModifiedTime().toMillis() >= since) {
+                            touched.add(file);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+        File[] known = cards.getFiles();
+        if (known != null) {
+            for (File file : known) {
+                if (!inFolder.contains(file)) {
+                    touched.add(file.toPath());
+                }
+            }
+        }
+    }
+
+    // Records the new modification times of the directories holding touched files.
+    private synchronized void updateDirectoryTimes(Collection<Path> touched) {
+        Set<Path> parents = new HashSet<>();
+        for (Path path : touched) {
+            parents.add(path.getParent());
+        }
+        for (Path parent : parents) {
+            File directory = parent.toFile();
+            long modified = directory.lastModified();
+            if (modified != 0) {
+                directories.put(directory, modified);
+            } else {
+                directories.remove(directory);
+            }
+        }
+    }
+
+    // True if the path is a directory found by the scan or watched later.
+    private synchronized boolean isWatched(Path path) {
+        return directories.containsKey(path.toFile());
+    }
+
+    // Watches a single directory.
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        keys.put(key, directory);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * The DistinctCardSource class shows the cards of a deck without the cards that repeat another one.
+ * <p>
+ * The cards keep their indices; a redundant card (see {@link DuplicateReport}) is reported as removed,
+ * so the schedulers skip it like a deleted file. Until the duplicates are known every card is shown, so
+ * a session can start while the deck is still being checked.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+public class DistinctCardSource implements CardSource {
+    // The cards of the deck.
+    private final CardSource base;
+    // The duplicates of the deck, once they are known.
+    private final CompletableFuture<DuplicateReport> duplicates;
+
+    /**
+     * @param base The cards of the deck.
+     * @param duplicates The duplicates of the deck; a failed check hides no cards.
+     */
+
+    public DistinctCardSource(CardSource base, CompletableFuture<DuplicateReport> duplicates) {
+        this.base = base;
+        this.duplicates = duplicates;
+    }
+
+    @Override
+    public int size() {
+        return base.size();
+    }
+
+    @Override
+    public String getName(int index) {
+        return base.getName(index);
+    }
+
+    @Override
+    public String getPath(int index) {
+        return base.getPath(index);
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        return base.getAnswer(index);
+    }
+
+    @Override
+    public boolean matchesAnswer(int index, String entered) {
+        return base.matchesAnswer(index, entered);
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        return base.readContent(index);
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        return base.openContent(index);
+    }
+
+    @Override
+    public long getContentLength(int index) throws IOException {
+        return base.getContentLength(index);
+    }
+
+    @Override
+    public boolean isComplete() {
+        return base.isComplete();
+    }
+
+    @Override
+    public boolean isRemoved(int index) {
+        if (base.isRemoved(index)) {
+            return true;
+        }
+        if (!duplicates.isDone() || duplicates.isCompletedExceptionally()) {
+            return false;
+        }
+        return duplicates.join().isRedundant(index);
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * The DuplicateReport class lists the cards of a deck that repeat another card, and the answers that
+ * several different cards expect.
+ * <p>
+ * Every card is read once and hashed ({@link ContentHash}) in parallel on all cores, streaming, so no
+ * card is held in memory. Cards with the same hash and size are compared byte by byte; a card whose
+ * content equals an earlier card's is redundant and is skipped when the deck is played, see
+ * {@link DistinctCardSource}. Different cards whose answers are equal after the {@link AnswerRule}
+ * (e.g. "Paris.txt" and "france/paris.png") cannot be told apart by the learner and are reported as
+ * answer collisions.
+ * </p>
+ * <p>
+ * While a card is read for its hash, it is also checked for problems that would only show up when the
+ * card is played, see {@link CardCheck} and {@link CardProblem}; {@link DeckValidation} reports them.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+public class DuplicateReport {
+    // Size of the buffers the cards are read through.
+    private static final int BUFFER_SIZE = 8192;
+    // Buffer of every hashing thread.
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    // Number of cards that were checked.
+    private final int cardCount;
+    // For every card that repeats an earlier one, the index of that earlier card; -1 otherwise.
+    private final int[] originals;
+    private final int redundantCount;
+    private final int duplicateGroupCount;
+    // Cards that could not be read and were not checked.
+    private final int unreadableCount;
+    // Answers expected by several different cards, with the names of these cards.
+    private final Map<String, List<String>> answerCollisions;
+    // Problems of every card, as bits of CardProblem, and the error of every unreadable card.
+    private final int[] problems;
+    private final String[] errors;
+
+    private DuplicateReport(int[] originals, int redundantCount, int duplicateGroupCount, int unreadableCount,
+            Map<String, List<String>> answerCollisions, int[] problems, String[] errors) {
+        this.cardCount = originals.length;
+        this.originals = originals;
+        this.redundantCount = redundantCount;
+        this.duplicateGroupCount = duplicateGroupCount;
+        this.unreadableCount = unreadableCount;
+        this.answerCollisions = answerCollisions;
+        this.problems = problems;
+        this.errors = errors;
+    }
+
+    /**
+     * Reads and hashes all cards of a deck in parallel and finds the duplicates.
+     *
+     * @param cards The cards of the deck.
+     * @return The report.
+     */
+
+    public static DuplicateReport find(CardSource cards) {
+        return find(cards, () -> false);
+    }
+
+    /**
+     * Reads and hashes all cards of a deck in parallel and finds the duplicates, unless it is cancelled.
+     *
+     * @param cards The cards of the deck.
+     * @param cancelled Tells whether the check is no longer needed, e.g. because the deck was closed.
+     * @return The report.
+     * @throws CancellationException If the check was cancelled.
+     */
+
+    public static DuplicateReport find(CardSource cards, BooleanSupplier cancelled) {
+        int size = cards.size();
+        long[] hashes = new long[size];
+        // Content length of every card; -1 if removed or unreadable.
+        long[] lengths = new long[size];
+        int[] problems = new int[size];
+        String[] errors = new String[size];
+        IntStream.range(0, size).parallel().forEach(index -> {
+            lengths[index] = -1;
+            if (cancelled.getAsBoolean() || cards.isRemoved(index)) {
+                return;
+            }
+            String name = cards.getName(index);
+            // A name that is only an extension, e.g. ".txt".
+            problems[index] = name.lastIndexOf('.') == 0 ? CardProblem.NO_NAME.bit() : 0;
+            try (CardCheck content = new CardCheck(cards.openContent(index), CardFormat.of(name))) {
+                hashes[index] = ContentHash.of(content, BUFFER.get());
+                lengths[index] = content.getCount();
+                problems[index] |= content.finish();
+            } catch (IOException event) {
+                // Kept for the report instead of printed, a broken deck would flood the console.
+                problems[index] |= CardProblem.UNREADABLE.bit();
+                errors[index] = String.valueOf(event);
+            }
+        });
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("duplicate check cancelled");
+        }
+
+        int[] originals = new int[size];
+        Arrays.fill(originals, -1);
+        int redundant = 0;
+        int unreadable = 0;
+        // The first card of every distinct content, by hash. Different contents with the same hash are
+        // kept apart, so a later copy of any of them is still found.
+        Map<Long, List<Integer>> firstByHash = new HashMap<>();
+        boolean[] repeated = new boolean[size];
+        for (int index = 0; index < size; index++) {
+            if (lengths[index] < 0) {
+                unreadable += cards.isRemoved(index) ? 0 : 1;
+                continue;
+            }
+            List<Integer> candidates = firstByHash.computeIfAbsent(hashes[index], hash -> new ArrayList<>(1));
+            try {
+                for (int first : candidates) {
+                    if (lengths[first] == lengths[index] && sameContent(cards, first, index)) {
+                        originals[index] = first;
+                        repeated[first] = true;
+                        redundant++;
+                        break;
+                    }
+                }
+            } catch (IOException event) {
+                // The card could not be read again, e.g. it was deleted meanwhile; reported like a card
+                // that could not be read at all.
+                problems[index] |= CardProblem.UNREADABLE.bit();
+                errors[index] = String.valueOf(event);
+                lengths[index] = -1;
+                unreadable++;
+                continue;
+            }
+            if (originals[index] < 0) {
+                candidates.add(index);
+            }
+        }
+        int groups = 0;
+        for (boolean group : repeated) {
+            groups += group ? 1 : 0;
+        }
+
+        // Answers of the distinct cards; a repeated card expects the same answer as its original anyway.
+        Map<String, List<Integer>> byAnswer = new LinkedHashMap<>();
+        for (int index = 0; index < size; index++) {
+            if (lengths[index] >= 0 && originals[index] < 0) {
+                byAnswer.computeIfAbsent(cards.getAnswer(index), answer -> new ArrayList<>(1)).add(index);
+            }
+        }
+        Map<String, List<String>> collisions = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> answer : byAnswer.entrySet()) {
+            if (answer.getValue().size() > 1) {
+                List<String> names = new ArrayList<>(answer.getValue().size());
+                for (int index : answer.getValue()) {
+                    names.add(cards.getName(index));
+                    problems[index] |= CardProblem.ANSWER_COLLISION.bit();
+                }
+                collisions.put(answer.getKey(), names);
+            }
+        }
+        return new DuplicateReport(originals, redundant, groups, unreadable, Collections.unmodifiableMap(collisions),
+                problems, errors);
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return True if the card repeats the content of an earlier card and should be skipped.
+     */
+
+    public boolean isRedundant(int index) {
+        return index < cardCount && originals[index] >= 0;
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return The index of the earlier card the card repeats, or -1.
+     */
+
+    public int getOriginal(int index) {
+        return index < cardCount ? originals[index] : -1;
+    }
+
+    /**
+     * @return The number of cards that were checked.
+     */
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * @return The number of cards that repeat an earlier card.
+     */
+
+    public int getRedundantCount() {
+        return redundantCount;
+    }
+
+    /**
+     * @return The number of distinct contents that appear on more than one card.
+     */
+
+    public int getDuplicateGroupCount() {
+        return duplicateGroupCount;
+    }
+
+    /**
+     * @return The number of cards that could not be read.
+     */
+
+    public int getUnreadableCount() {
+        return unreadableCount;
+    }
+
+    /**
+     * @return Answers expected by several different cards, with the names of these cards, in deck order.
+     */
+
+    public Map<String, List<String>> getAnswerCollisions() {
+        return answerCollisions;
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return The problems found with the card; none for removed cards.
+     */
+
+    public Set<CardProblem> getProblems(int index) {
+        Set<CardProblem> found = EnumSet.noneOf(CardProblem.class);
+        if (index < cardCount) {
+            for (CardProblem problem : CardProblem.values()) {
+                if (hasProblem(index, problem)) {
+                    found.add(problem);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return True if any problem was found with the card.
+     */
+
+    public boolean hasProblems(int index) {
+        return index < cardCount && problems[index] != 0;
+    }
+
+    /**
+     * @param index The index of a card.
+     * @param problem A kind of problem.
+     * @return True if the card has that problem.
+     */
+
+    public boolean hasProblem(int index, CardProblem problem) {
+        return index < cardCount && (problems[index] & problem.bit()) != 0;
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return The error the card could not be read with, or null.
+     */
+
+    public String getError(int index) {
+        return index < cardCount ? errors[index] : null;
+    }
+
+    // Compares the content of two cards byte by byte.
+    private static boolean sameContent(CardSource cards, int first, int second) throws IOException {
+        byte[] left = new byte[BUFFER_SIZE];
+        byte[] right = new byte[BUFFER_SIZE];
+        try (InputStream a = cards.openContent(first); InputStream b = cards.openContent(second)) {
+            while (true) {
+                int read = a.readNBytes(left, 0, BUFFER_SIZE);
+                if (read != b.readNBytes(right, 0, BUFFER_SIZE) || !Arrays.equals(left, 0, read, right, 0, read)) {
+                    return false;
+                }
+                if (read < BUFFER_SIZE) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * The FolderCardSource class reads cards directly from the loose card files of a deck folder.
+ * <p>
+ * Every card read opens and reads its own file. This is the fallback used while no compiled deck
+ * is available for the folder.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+public class FolderCardSource implements CardSource {
+    // Files of the deck in the order they are shown.
+    private final File[] files;
+
+    /**
+     * Creates a card source over the given files.
+     *
+     * @param files The card files, may be null for an empty deck.
+     */
+
+    public FolderCardSource(File[] files) {
+        this.files = files != null ? files : new File[0];
+    }
+
+    @Override
+    public int size() {
+        return files.length;
+    }
+
+    @Override
+    public String getName(int index) {
+        return files[index].getName();
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        return AnswerRule.fromFileName(files[index].getName());
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        return CardText.read(files[index].toPath());
+    }
+
+    @Override
+    public long getContentLength(int index) {
+        return files[index].length();
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        return Files.newInputStream(files[index].toPath());
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * The LiveCardSource class is a deck that follows changes made to its folder while it is played.
+ * <p>
+ * It reads through to the deck the folder was opened with (compiled or scanned) and keeps the changes
+ * reported by a {@link DeckWatcher} on top: new cards are appended, edited cards are read from their
+ * file again and deleted cards are marked as removed. Indices never change, so sessions that already
+ * answered a card keep a consistent score and history. The tracked card files are kept packed in a
+ * {@link CardArena}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LiveCardSource implements CardSource {
+    // The deck the folder was opened with.
+    private volatile CardSource base;
+    // The deck folder the card paths are relative to, null if unknown.
+    private final File root;
+    // Absolute card files of the deck by index, also looked up by file; null until changes are tracked.
+    private CardArena files;
+    // Cards whose file has to be read instead of the base deck: edited and appended cards.
+    private final BitSet readFromFile = new BitSet();
+    // Cards deleted from the folder.
+    private final BitSet removed = new BitSet();
+
+    /**
+     * Creates a deck whose new cards are only known by their file names.
+     *
+     * @param base The deck the folder was opened with.
+     */
+
+    public LiveCardSource(CardSource base) {
+        this(base, null);
+    }
+
+    /**
+     * @param base The deck the folder was opened with.
+     * @param root The deck folder, the paths of new cards are relative to it.
+     */
+
+    public LiveCardSource(CardSource base, File root) {
+        this.base = base;
+        this.root = root;
+    }
+
+    /**
+     * Reads the cards from another deck, e.g. a compiled deck found once the folder was opened. Must be
+     * called before the first card is listed, while the current base deck is still empty.
+     *
+     * @param compiled The deck with the same cards, in the order they will be listed.
+     */
+
+    public void setBase(CardSource compiled) {
+        if (base.size() > 0) {
+            throw new IllegalStateException("Cards are already listed");
+        }
+        base = compiled;
+    }
+
+    /**
+     * Starts tracking changes. Must be called once the base deck is complete.
+     * <p>
+     * The card files are mapped to the base deck directly if the base deck was scanned from them, and
+     * by their path relative to the deck folder otherwise, see {@link CardSource#getPath(int)}.
+     * </p>
+     *
+     * @param baseFiles The card files of the complete base deck.
+     */
+
+    public synchronized void track(File[] baseFiles) {
+        files = new CardArena();
+        if (base instanceof ScannedCardSource) {
+            for (File file : baseFiles) {
+                files.add(file.getAbsoluteFile());
+            }
+            return;
+        }
+        Map<String, ArrayDeque<File>> byPath = new HashMap<>();
+        for (File file : baseFiles) {
+            byPath.computeIfAbsent(CardArena.relativePath(root, file), path -> new ArrayDeque<>()).add(file);
+        }
+        for (int index = 0; index < base.size(); index++) {
+            // Without a root the paths are file names, and cards sharing one are matched in order.
+            ArrayDeque<File> candidates = byPath.get(base.getPath(index));
+            File file = candidates != null ? candidates.poll() : null;
+            if (file != null) {
+                files.add(file.getAbsoluteFile());
+            } else {
+                // The compiled deck is outdated and the card's file is gone; the bare name never matches a file.
+                files.add(new File(base.getName(index)));
+                removed.set(index);
+            }
+        }
+        // Files the compiled deck does not know yet are new cards.
+        for (ArrayDeque<File> remaining : byPath.values()) {
+            for (File file : remaining) {
+                append(file);
+            }
+        }
+    }
+
+    /**
+     * @return True once changes are tracked.
+     */
+
+    public synchronized boolean isTracking() {
+        return files != null;
+    }
+
+    /**
+     * Applies a batch of changes to the folder.
+     *
+     * @param present Card files that were created or edited.
+     * @param deleted Card files that were deleted.
+     * @return The indices of existing cards that were edited or removed; appended cards are not included.
+     */
+
+    public synchronized int[] apply(Collection<File> present, Collection<File> deleted) {
+        if (files == null) {
+            throw new IllegalStateException("Changes are not tracked yet");
+        }
+        BitSet changed = new BitSet();
+        for (File file : present) {
+            int index = files.indexOf(file.getAbsoluteFile());
+            if (index < 0) {
+                append(file);
+            } else {
+                readFromFile.set(index);
+                removed.clear(index);
+                changed.set(index);
+            }
+        }
+        for (File file : deleted) {
+            int index = files.indexOf(file.getAbsoluteFile());
+            if (index >= 0 && !removed.get(index)) {
+                removed.set(index);
+                changed.set(index);
+            }
+        }
+        return changed.stream().toArray();
+    }
+
+    /**
+     * @return The card files that are currently in the deck, or null if changes are not tracked yet.
+     */
+
+    public synchronized File[] getFiles() {
+        if (files == null) {
+            return null;
+        }
+        List<File> present = new ArrayList<>(files.size() - removed.cardinality());
+        for (int index = 0; index < files.size(); index++) {
+            if (!removed.get(index)) {
+                present.add(files.getFile(index));
+            }
+        }
+        return present.toArray(new File[0]);
+    }
+
+    /**
+     * @return The number of cards that are not removed.
+     */
+
+    public synchronized int getCardCount() {
+        return size() - removed.cardinality();
+    }
+
+    /**
+     * @param file A card file.
+     * @return True if the file is a tracked card, even a removed one.
+     */
+
+    public synchronized boolean contains(File file) {
+        return files != null && files.indexOf(file.getAbsoluteFile()) >= 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return files != null ? files.size() : base.size();
+    }
+
+    @Override
+    public synchronized String getName(int index) {
+        return index < base.size() ? base.getName(index) : files.getName(index);
+    }
+
+    @Override
+    public String getPath(int index) {
+        File file;
+        synchronized (this) {
+            if (index < base.size()) {
+                return base.getPath(index);
+            }
+            file = files.getFile(index);
+        }
+        return CardArena.relativePath(root, file);
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        return AnswerRule.fromFileName(getName(index));
+    }
+
+    @Override
+    public boolean matchesAnswer(int index, String entered) {
+        // An edited card keeps its file name and so its answer; only appended cards need the lock.
+        CardSource cards = base;
+        if (index < cards.size()) {
+            return cards.matchesAnswer(index, entered);
+        }
+        synchronized (this) {
+            return files.matchesAnswer(index, entered);
+        }
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        File file;
+        synchronized (this) {
+            file = readFromFile.get(index) ? files.getFile(index) : null;
+        }
+        if (file == null) {
+            return base.readContent(index);
+        }
+        return CardText.read(file.toPath());
+    }
+
+    @Override
+    public long getContentLength(int index) throws IOException {
+        File file;
+        synchronized (this) {
+            file = readFromFile.get(index) ? files.getFile(index) : null;
+        }
+        return file == null ? base.getContentLength(index) : file.length();
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        File file;
+        synchronized (this) {
+            file = readFromFile.get(index) ? files.getFile(index) : null;
+        }
+        return file == null ? base.openContent(index) : Files.newInputStream(file.toPath());
+    }
+
+    @Override
+    public boolean isComplete() {
+        return base.isComplete();
+    }
+
+    @Override
+    public synchronized boolean isRemoved(int index) {
+        return removed.get(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        base.close();
+    }
+
+    // Appends a new card read from its file.
+    private void append(File file) {
+        readFromFile.set(files.add(file.getAbsoluteFile()));
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * The MultiDeckSource class plays several decks as one, without copying their card lists.
+ * <p>
+ * The cards of the decks are numbered one after the other: the cards of the first deck come first,
+ * then those of the second, and so on. Only the first index of every deck is stored, and a card is
+ * found by a binary search over these offsets. The sizes of the decks are taken when the source is
+ * created, so the decks should be complete (scanned) by then; cards a deck gains afterwards are not
+ * part of this source. Reading is delegated to the decks, which stay owned by their callers.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class MultiDeckSource implements CardSource {
+    // The decks played together.
+    private final CardSource[] parts;
+    // Index of the first card of every deck; the last entry is the total number of cards.
+    private final int[] offsets;
+
+    /**
+     * @param parts The decks to play together, in order.
+     */
+
+    public MultiDeckSource(CardSource... parts) {
+        this.parts = parts.clone();
+        this.offsets = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = Math.addExact(offsets[i], parts[i].size());
+        }
+    }
+
+    /**
+     * @return The number of decks.
+     */
+
+    public int getPartCount() {
+        return parts.length;
+    }
+
+    /**
+     * @param part The number of a deck.
+     * @return The index of the deck's first card in this source.
+     */
+
+    public int getPartOffset(int part) {
+        return offsets[part];
+    }
+
+    /**
+     * @param part The number of a deck.
+     * @return The number of cards of the deck in this source.
+     */
+
+    public int getPartSize(int part) {
+        return offsets[part + 1] - offsets[part];
+    }
+
+    /**
+     * @param index The index of a card in this source.
+     * @return The number of the deck the card belongs to.
+     */
+
+    public int getPart(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + size());
+        }
+        // The last deck whose first card is at or before the index; empty decks are passed over.
+        int low = 0;
+        int high = parts.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int size() {
+        return offsets[parts.length];
+    }
+
+    @Override
+    public String getName(int index) {
+        int part = getPart(index);
+        return parts[part].getName(index - offsets[part]);
+    }
+
+    @Override
+    public String getPath(int index) {
+        int part = getPart(index);
+        return parts[part].getPath(index - offsets[part]);
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        int part = getPart(index);
+        return parts[part].getAnswer(index - offsets[part]);
+    }
+
+    @Override
+    public boolean matchesAnswer(int index, String entered) {
+        int part = getPart(index);
+        return parts[part].matchesAnswer(index - offsets[part], entered);
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        int part = getPart(index);
+        return parts[part].readContent(index - offsets[part]);
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        int part = getPart(index);
+        return parts[part].openContent(index - offsets[part]);
+    }
+
+    @Override
+    public long getContentLength(int index) throws IOException {
+        int part = getPart(index);
+        return parts[part].getContentLength(index - offsets[part]);
+    }
+
+    @Override
+    public boolean isRemoved(int index) {
+        int part = getPart(index);
+        return parts[part].isRemoved(index - offsets[part]);
+    }
+}
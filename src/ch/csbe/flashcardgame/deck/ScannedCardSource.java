@@ -0,0 +1,181 @@
+/**
+ * The ScannedCardSource class is a deck that grows while its folder is still being scanned.
+ * <p>
+ * The {@link DeckScanner} appends card files as it discovers them, and the window can already show
+ * the first cards while the rest of the folder is scanned. Listeners are informed whenever new cards
+ * were appended or the scan has finished. The card files are kept packed in a {@link CardArena}, so
+ * a deck of a million cards takes tens of megabytes instead of a File object per card.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ScannedCardSource implements CardSource {
+    // The deck folder or archive the card paths are relative to, null if unknown.
+    private final File root;
+    // Card files in the order they were discovered.
+    private final CardArena files = new CardArena();
+    // Listeners called after cards were appended or the scan completed.
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    // Set once the scan has finished and no more cards will be appended; from then on the files are
+    // only read, and reading this flag makes them visible without taking the lock.
+    private volatile boolean complete = false;
+
+    /**
+     * Creates an empty deck whose cards are only known by their file names.
+     */
+
+    public ScannedCardSource() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty deck.
+     *
+     * @param root The deck folder or archive, the card paths are relative to it.
+     */
+
+    public ScannedCardSource(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Appends newly discovered card files and informs the listeners.
+     *
+     * @param discovered The card files found by the scanner.
+     */
+
+    public void addAll(Collection<File> discovered) {
+        if (discovered.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (File file : discovered) {
+                files.add(file);
+            }
+        }
+        fireChanged();
+    }
+
+    /**
+     * Marks the scan as finished and informs the listeners.
+     */
+
+    public void complete() {
+        complete = true;
+        fireChanged();
+    }
+
+    /**
+     * @return True once the scan has finished.
+     */
+
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Registers a listener that is called (on the scanner thread) whenever cards were appended or the
+     * scan completed.
+     *
+     * @param listener The listener to call.
+     */
+
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return All card files discovered so far, created from the packed paths.
+     */
+
+    public synchronized File[] toArray() {
+        File[] result = new File[files.size()];
+        for (int index = 0; index < result.length; index++) {
+            result[index] = files.getFile(index);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        if (complete) {
+            return files.size();
+        }
+        synchronized (this) {
+            return files.size();
+        }
+    }
+
+    @Override
+    public synchronized String getName(int index) {
+        return files.getName(index);
+    }
+
+    @Override
+    public String getPath(int index) {
+        File file;
+        synchronized (this) {
+            file = files.getFile(index);
+        }
+        return CardArena.relativePath(root, file);
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        return AnswerRule.fromFileName(getName(index));
+    }
+
+    @Override
+    public boolean matchesAnswer(int index, String entered) {
+        if (complete) {
+            return files.matchesAnswer(index, entered);
+        }
+        synchronized (this) {
+            return files.matchesAnswer(index, entered);
+        }
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        File file;
+        synchronized (this) {
+            file = files.getFile(index);
+        }
+        return CardText.read(file.toPath());
+    }
+
+    @Override
+    public synchronized long getContentLength(int index) {
+        return files.getFile(index).length();
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        File file;
+        synchronized (this) {
+            file = files.getFile(index);
+        }
+        return Files.newInputStream(file.toPath());
+    }
+
+    // Calls all registered listeners.
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * The ZipCardSource class plays a deck straight from a ZIP archive, without extracting it.
+ * <p>
+ * Opening the archive reads only its central directory, the index at the end of every ZIP file, so
+ * the card list of an archive with thousands of entries is known at once. The content of a card is
+ * inflated from the archive when it is read, and only that card. Entries in sub-folders are cards as
+ * well, and the answer is derived from the entry's file name exactly like for loose files. The
+ * resource forks macOS adds to archives ("__MACOSX/", "._Paris.txt") are skipped.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.deck;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class ZipCardSource implements CardSource {
+    // File extension of deck archives.
+    public static final String EXTENSION = ".zip";
+
+    // The open archive; safe for concurrent readers.
+    private final ZipFile zip;
+    // Full entry names of the cards, in the order of the central directory.
+    private final String[] entries;
+    // Full names of the files in the archive that are not cards because of their extension.
+    private final List<String> skippedEntries;
+
+    private ZipCardSource(ZipFile zip, String[] entries, List<String> skippedEntries) {
+        this.zip = zip;
+        this.entries = entries;
+        this.skippedEntries = skippedEntries;
+    }
+
+    /**
+     * @param file A file or folder picked by the user.
+     * @return True if the file is a deck archive.
+     */
+
+    public static boolean isArchive(File file) {
+        return file.isFile() && file.getName().toLowerCase().endsWith(EXTENSION);
+    }
+
+    /**
+     * Opens an archive and lists its cards from the central directory.
+     *
+     * @param archive The deck archive.
+     * @return The cards of the archive.
+     * @throws IOException If the file is not a readable ZIP archive.
+     */
+
+    public static ZipCardSource open(File archive) throws IOException {
+        ZipFile zip = new ZipFile(archive);
+        List<String> cards = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        Enumeration<? extends ZipEntry> all = zip.entries();
+        while (all.hasMoreElements()) {
+            ZipEntry entry = all.nextElement();
+            String name = entry.getName();
+            String fileName = name.substring(name.lastIndexOf('/') + 1);
+            if (entry.isDirectory() || name.startsWith("__MACOSX/") || fileName.startsWith("._")) {
+                continue;
+            }
+            if (CardFormat.of(fileName) != null) {
+                cards.add(name);
+            } else if (!fileName.startsWith(".")) {
+                // Not a card, e.g. a file without extension; hidden files are left out.
+                skipped.add(name);
+            }
+        }
+        return new ZipCardSource(zip, cards.toArray(new String[0]), Collections.unmodifiableList(skipped));
+    }
+
+    /**
+     * @return The full names of the files in the archive that are not cards because of their extension.
+     */
+
+    public List<String> getSkippedEntries() {
+        return skippedEntries;
+    }
+
+    /**
+     * @return The cards as paths below the archive, e.g. "europe.zip/france/Paris.txt". These files do
+     *         not exist on disk; they only name the cards.
+     */
+
+    public File[] toFiles() {
+        File archive = new File(zip.getName());
+        File[] files = new File[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            files[i] = new File(archive, entries[i]);
+        }
+        return files;
+    }
+
+    @Override
+    public int size() {
+        return entries.length;
+    }
+
+    @Override
+    public String getName(int index) {
+        return entries[index].substring(entries[index].lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getPath(int index) {
+        return entries[index];
+    }
+
+    @Override
+    public String getAnswer(int index) {
+        return AnswerRule.fromFileName(getName(index));
+    }
+
+    @Override
+    public String readContent(int index) throws IOException {
+        try (InputStream content = openContent(index)) {
+            return CardText.decode(content, entry(index).getSize());
+        }
+    }
+
+    @Override
+    public long getContentLength(int index) throws IOException {
+        long size = entry(index).getSize();
+        return size >= 0 ? size : CardSource.super.getContentLength(index);
+    }
+
+    @Override
+    public InputStream openContent(int index) throws IOException {
+        return zip.getInputStream(entry(index));
+    }
+
+    // Looks up the entry of a card in the central directory.
+    private ZipEntry entry(int index) throws IOException {
+        ZipEntry entry = zip.getEntry(entries[index]);
+        if (entry == null) {
+            throw new FileNotFoundException(entries[index]);
+        }
+        return entry;
+    }
+
+    /**
+     * Closes the archive. Cards cannot be read afterwards.
+     */
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+}
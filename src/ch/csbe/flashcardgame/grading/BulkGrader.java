@@ -0,0 +1,354 @@
+/**
+ * The BulkGrader class grades collected answer sheets against a deck without the window.
+ * <p>
+ * Submissions are either one CSV file with the lines "student,card,answer", or a directory with one
+ * file per student (the file name without extension is the student) with the lines "card,answer". A
+ * card is named by its file name, e.g. "Paris.txt"; a header line is skipped. Answers are checked
+ * exactly, trimmed and ignoring case as by {@link AnswerRule#matches(String, String)}. Typos are only
+ * forgiven if enabled with -Dflashcardgame.grader.typos=&lt;edits&gt;, and never for an answer that is
+ * exactly another card's.
+ * Fields may be quoted ("Washington, D.C.") with "" for a quote, but may not span lines.
+ * </p>
+ * <p>
+ * The answers are graded in parallel on all cores and never held in memory: a CSV file is split into
+ * ranges of lines by the JDK's file spliterator, and a directory is graded file by file, every
+ * student's line being written as soon as their file is done. Memory therefore grows with the number
+ * of cards and students, not with the number of answers. The results are written to "students.csv"
+ * (answers, correct, wrong, unknown cards and score of every student) and "cards.csv" (attempts,
+ * correct answers and success rate of every card) in the output directory.
+ * </p>
+ * <pre>
+ * java ch.csbe.flashcardgame.GUIDemonstartion --grade &lt;deck&gt; &lt;submissions.csv | directory&gt; [output directory]
+ * </pre>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.grading;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.Deck;
+
+public class BulkGrader {
+    // Edits forgiven in an answer, configurable with -Dflashcardgame.grader.typos=<edits>; exact by default.
+    public static final int TYPOS = Math.max(0, Integer.getInteger("flashcardgame.grader.typos", 0));
+    // Header of the result files.
+    private static final String STUDENTS_HEADER = "student,answers,correct,wrong,unknown,score";
+    private static final String CARDS_HEADER = "card,answer,attempts,correct,rate";
+
+    // The deck the answers are graded against.
+    private final CardSource cards;
+    // Edits forgiven in an answer, and the answers of the deck to tell other cards' answers from typos.
+    private final int typos;
+    private final AnswerTrie answerIndex;
+    // Index of every card by its lower-cased file name; the first card wins if names repeat.
+    private final Map<String, Integer> cardsByName = new HashMap<>();
+    // Attempts and correct answers of every card.
+    private final AtomicLongArray attempts;
+    private final AtomicLongArray correct;
+    // Answers graded so far, and answers for cards the deck does not have.
+    private final AtomicLong answers = new AtomicLong();
+    private final AtomicLong unknownAnswers = new AtomicLong();
+
+    /**
+     * Creates a grader that checks answers exactly.
+     *
+     * @param cards The deck the answers are graded against.
+     */
+
+    public BulkGrader(CardSource cards) {
+        this(cards, 0);
+    }
+
+    /**
+     * @param cards The deck the answers are graded against.
+     * @param typos The number of edits forgiven, see {@link AnswerRule#matches(String, String, int)}; 0 to grade exactly.
+     */
+
+    public BulkGrader(CardSource cards, int typos) {
+        this.cards = cards;
+        this.typos = Math.max(0, typos);
+        this.answerIndex = this.typos > 0 ? AnswerTrie.build(cards, () -> false) : null;
+        this.attempts = new AtomicLongArray(cards.size());
+        this.correct = new AtomicLongArray(cards.size());
+        for (int index = cards.size() - 1; index >= 0; index--) {
+            if (!cards.isRemoved(index)) {
+                cardsByName.put(cards.getName(index).toLowerCase(), index);
+            }
+        }
+    }
+
+    /**
+     * Grades a CSV file with the lines "student,card,answer" and writes the result of every student.
+     *
+     * @param submissions The CSV file.
+     * @param studentsFile The file the students' results are written to.
+     * @throws IOException If a file cannot be read or written.
+     */
+
+    public void gradeCsv(Path submissions, Path studentsFile) throws IOException {
+        Map<String, StudentTally> students = new ConcurrentHashMap<>();
+        try (Stream<String> lines = Files.lines(submissions, StandardCharsets.UTF_8)) {
+            lines.parallel().forEach(line -> {
+                String[] fields = parseLine(line, 3);
+                if (fields != null && !fields[0].equalsIgnoreCase("student")) {
+                    students.computeIfAbsent(fields[0], StudentTally::new).add(grade(fields[1], fields[2]));
+                }
+            });
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(studentsFile, StandardCharsets.UTF_8)) {
+            out.write(STUDENTS_HEADER);
+            out.newLine();
+            for (StudentTally student : students.values()) {
+                student.write(out);
+            }
+        }
+    }
+
+    /**
+     * Grades a directory with one file of "card,answer" lines per student. Every student's result is
+     * written as soon as their file is graded, in no particular order.
+     *
+     * @param submissions The directory.
+     * @param studentsFile The file the students' results are written to.
+     * @throws IOException If a file cannot be read or written.
+     */
+
+    public void gradeDirectory(Path submissions, Path studentsFile) throws IOException {
+        List<Path> sheets = new ArrayList<>();
+        try (Stream<Path> files = Files.list(submissions)) {
+            files.filter(Files::isRegularFile).forEach(sheets::add);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(studentsFile, StandardCharsets.UTF_8)) {
+            out.write(STUDENTS_HEADER);
+            out.newLine();
+            sheets.parallelStream().forEach(sheet -> {
+                String name = sheet.getFileName().toString();
+                StudentTally student = new StudentTally(name.lastIndexOf('.') > 0 ? name.substring(0, name.lastIndexOf('.')) : name);
+                try (BufferedReader reader = Files.newBufferedReader(sheet, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = parseLine(line, 2);
+                        if (fields != null && !fields[0].equalsIgnoreCase("card")) {
+                            student.add(grade(fields[0], fields[1]));
+                        }
+                    }
+                    synchronized (out) {
+                        student.write(out);
+                    }
+                } catch (IOException event) {
+                    throw new UncheckedIOException(event);
+                }
+            });
+        } catch (UncheckedIOException event) {
+            throw event.getCause();
+        }
+    }
+
+    /**
+     * Writes the attempts and correct answers of every card, in deck order.
+     *
+     * @param cardsFile The file the cards' results are written to.
+     * @throws IOException If the file cannot be written.
+     */
+
+    public void writeCardStatistics(Path cardsFile) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(cardsFile, StandardCharsets.UTF_8)) {
+            out.write(CARDS_HEADER);
+            out.newLine();
+            for (int index = 0; index < cards.size(); index++) {
+                long tries = attempts.get(index);
+                long right = correct.get(index);
+                writeRow(out, cards.getName(index), cards.getAnswer(index), String.valueOf(tries), String.valueOf(right),
+                        tries == 0 ? "" : String.format(Locale.ROOT, "%.1f", 100.0 * right / tries));
+            }
+        }
+    }
+
+    /**
+     * @return The number of answers graded so far.
+     */
+
+    public long getAnswerCount() {
+        return answers.get();
+    }
+
+    /**
+     * @return The number of answers for cards the deck does not have.
+     */
+
+    public long getUnknownAnswerCount() {
+        return unknownAnswers.get();
+    }
+
+    /**
+     * Grades a deck's submissions from the command line.
+     *
+     * @param args The deck folder or archive, the submissions (CSV file or directory) and optionally
+     *             the output directory (the current directory by default).
+     * @throws IOException If a file cannot be read or written.
+     * @throws InterruptedException If the scan of the deck is interrupted.
+     */
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: --grade <deck folder or archive> <submissions.csv | directory> [output directory]");
+            return;
+        }
+        Path submissions = Paths.get(args[1]);
+        Path output = Paths.get(args.length > 2 ? args[2] : ".");
+        Files.createDirectories(output);
+        Deck deck = Deck.open(new File(args[0]));
+        try {
+            deck.getScanner().awaitCompletion();
+            long start = System.nanoTime();
+            BulkGrader grader = new BulkGrader(deck.getCards(), TYPOS);
+            if (Files.isDirectory(submissions)) {
+                grader.gradeDirectory(submissions, output.resolve("students.csv"));
+            } else {
+                grader.gradeCsv(submissions, output.resolve("students.csv"));
+            }
+            grader.writeCardStatistics(output.resolve("cards.csv"));
+            System.out.printf("Graded %d answers (%d for unknown cards) against %d cards in %d ms, results in %s%n",
+                    grader.getAnswerCount(), grader.getUnknownAnswerCount(), deck.getCards().size(),
+                    (System.nanoTime() - start) / 1_000_000, output.toAbsolutePath());
+        } finally {
+            deck.close();
+        }
+    }
+
+    // Grades one answer: 1 if correct, 0 if wrong, -1 if the deck has no such card.
+    private int grade(String cardName, String answer) {
+        answers.incrementAndGet();
+        Integer index = cardsByName.get(cardName.toLowerCase());
+        if (index == null) {
+            unknownAnswers.incrementAndGet();
+            return -1;
+        }
+        attempts.incrementAndGet(index);
+        if (cards.matchesAnswer(index, answer, typos, answerIndex)) {
+            correct.incrementAndGet(index);
+            return 1;
+        }
+        return 0;
+    }
+
+    // Splits a CSV line into the given number of fields, the last one taking the rest of the line;
+    // null for blank or short lines.
+    static String[] parseLine(String line, int count) {
+        if (line.isBlank()) {
+            return null;
+        }
+        String[] fields = new String[count];
+        int field = 0;
+        int pos = 0;
+        while (field < count) {
+            StringBuilder value = new StringBuilder();
+            if (pos < line.length() && line.charAt(pos) == '"') {
+                // Quoted field, "" is a quote.
+                pos++;
+                while (pos < line.length()) {
+                    char c = line.charAt(pos++);
+                    if (c == '"' && pos < line.length() && line.charAt(pos) == '"') {
+                        value.append('"');
+                        pos++;
+                    } else if (c == '"') {
+                        break;
+                    } else {
+                        value.append(c);
+                    }
+                }
+                int comma = line.indexOf(',', pos);
+                pos = comma < 0 || field == count - 1 ? line.length() : comma;
+            } else {
+                int comma = field == count - 1 ? -1 : line.indexOf(',', pos);
+                int end = comma < 0 ? line.length() : comma;
+                value.append(line, Math.min(pos, end), end);
+                pos = end;
+            }
+            fields[field++] = value.toString().trim();
+            if (pos >= line.length()) {
+                break;
+            }
+            // Skip the comma.
+            pos++;
+        }
+        return field == count ? fields : null;
+    }
+
+    // Writes one CSV row, quoting fields that contain commas, quotes or line breaks.
+    private static void writeRow(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i];
+            if (i > 0) {
+                out.write(',');
+            }
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(field);
+            }
+        }
+        out.write(System.lineSeparator());
+    }
+
+    /**
+     * The StudentTally class counts the answers of one student.
+     */
+
+    private static class StudentTally {
+        private final String name;
+        private final AtomicInteger answers = new AtomicInteger();
+        private final AtomicInteger correct = new AtomicInteger();
+        private final AtomicInteger unknown = new AtomicInteger();
+
+        private StudentTally(String name) {
+            this.name = name;
+        }
+
+        // Counts one graded answer, see {@link BulkGrader#grade(String, String)}.
+        private void add(int grade) {
+            answers.incrementAndGet();
+            if (grade > 0) {
+                correct.incrementAndGet();
+            } else if (grade < 0) {
+                unknown.incrementAndGet();
+            }
+        }
+
+        // Writes the student's row of the results.
+        private void write(Writer out) throws IOException {
+            int graded = answers.get() - unknown.get();
+            writeRow(out, name, String.valueOf(answers.get()), String.valueOf(correct.get()),
+                    String.valueOf(graded - correct.get()), String.valueOf(unknown.get()),
+                    graded == 0 ? "" : String.format(Locale.ROOT, "%.1f", 100.0 * correct.get() / graded));
+        }
+    }
+}
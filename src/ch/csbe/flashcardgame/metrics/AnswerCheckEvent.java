@@ -0,0 +1,30 @@
+/**
+ * The AnswerCheckEvent class is the flight recorder event of checking an answer.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("ch.csbe.flashcardgame.AnswerCheck")
+@Label("Answer Check")
+@Category("Flashcard Game")
+public class AnswerCheckEvent extends Event {
+    @Label("Index")
+    public int index;
+
+    @Label("Correct")
+    public boolean correct;
+
+    @Label("Response Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long responseMillis;
+}
@@ -0,0 +1,39 @@
+/**
+ * The CardReadEvent class is the flight recorder event of reading and decoding a single card.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ch.csbe.flashcardgame.CardRead")
+@Label("Card Read")
+@Category("Flashcard Game")
+public class CardReadEvent extends Event {
+    @Label("Index")
+    public int index;
+
+    @Label("Card")
+    public String card;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("Paged")
+    public boolean paged;
+
+    @Label("Failed")
+    public boolean failed;
+}
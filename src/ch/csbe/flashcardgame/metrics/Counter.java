@@ -0,0 +1,54 @@
+/**
+ * The Counter class counts events, e.g. correct answers, from any number of threads.
+ * Nothing is counted while {@link Metrics#ENABLED} is false.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter {
+    // Name of the counter in reports.
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Counters are created through {@link Metrics#counter(String)}.
+     *
+     * @param name The name of the counter.
+     */
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts one event.
+     */
+
+    public void increment() {
+        if (Metrics.ENABLED) {
+            value.increment();
+        }
+    }
+
+    /**
+     * @return The name of the counter.
+     */
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of counted events.
+     */
+
+    public long getValue() {
+        return value.sum();
+    }
+}
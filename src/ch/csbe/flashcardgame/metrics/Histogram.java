@@ -0,0 +1,150 @@
+/**
+ * The Histogram class records latencies and reports their percentiles.
+ * <p>
+ * Values are counted in logarithmic buckets, eight per power of two, so any value from a nanosecond
+ * to centuries is kept with at most 12.5% error in a fixed array of 496 counters. Recording is
+ * lock-free and allocation-free and can be done from any thread. {@link #recordSince(long)} records
+ * nothing while {@link Metrics#ENABLED} is false.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram {
+    // Buckets per power of two, as a number of bits.
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Name of the histogram in reports.
+    private final String name;
+    // Number of values per bucket.
+    private final AtomicLongArray buckets = new AtomicLongArray((64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Histograms are created through {@link Metrics#histogram(String)}.
+     *
+     * @param name The name of the histogram.
+     */
+
+    Histogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the time since a start taken with {@link Metrics#start()}. Nothing is recorded for the
+     * start 0 that is returned while metrics are off.
+     *
+     * @param startNanos The start time.
+     */
+
+    public void recordSince(long startNanos) {
+        if (Metrics.ENABLED && startNanos != 0) {
+            recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records a duration, whether metrics are on or not.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return The name of the histogram.
+     */
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The mean of the recorded values in nanoseconds, or 0 if none were recorded.
+     */
+
+    public long getMeanNanos() {
+        long values = count.sum();
+        return values == 0 ? 0 : total.sum() / values;
+    }
+
+    /**
+     * @return The largest recorded value in nanoseconds.
+     */
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 100, e.g. 99.
+     * @return The value below which the given share of values lies (upper bound of its bucket, at most
+     *         the maximum), or 0 if nothing was recorded.
+     */
+
+    public long getPercentileNanos(double percentile) {
+        long[] snapshot = new long[buckets.length()];
+        long values = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            values += snapshot[i];
+        }
+        if (values == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * values));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    // Values below eight have a bucket each; above, eight buckets share each power of two.
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // The largest value that falls into a bucket.
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
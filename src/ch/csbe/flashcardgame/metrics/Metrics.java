@@ -0,0 +1,125 @@
+/**
+ * The Metrics class is the in-process registry of the game's counters and latency histograms.
+ * <p>
+ * Metrics are off unless the game is started with -Dflashcardgame.metrics=true. The switch is a
+ * constant, so while it is off every {@link Counter#increment()} and {@link Histogram#recordSince(long)}
+ * is a check the JIT removes entirely. With metrics on, the registry can be dumped to a file with
+ * {@link #dump(Path)}, is written to "flashcardgame.metrics.file" when the game exits (if that property
+ * is set), and can be shown over the game with F12.
+ * </p>
+ * <p>
+ * The same hot paths also emit Java Flight Recorder events (category "Flashcard Game"), which cost
+ * nothing unless a recording is running, e.g. java -XX:StartFlightRecording=filename=game.jfr.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public final class Metrics {
+    // Collect metrics, configurable with -Dflashcardgame.metrics=true.
+    public static final boolean ENABLED = Boolean.getBoolean("flashcardgame.metrics");
+
+    // All counters and histograms by name, sorted for reports.
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+
+    static {
+        String file = System.getProperty("flashcardgame.metrics.file");
+        if (ENABLED && file != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Paths.get(file));
+                } catch (IOException event) {
+                    event.printStackTrace();
+                }
+            }, "metrics-dump"));
+        }
+    }
+
+    /**
+     * The Metrics class only provides static helpers.
+     */
+
+    private Metrics() {
+    }
+
+    /**
+     * @param name The name of the counter, e.g. "answers.correct".
+     * @return The counter with that name, created on first use.
+     */
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * @param name The name of the histogram, e.g. "card.read".
+     * @return The histogram with that name, created on first use.
+     */
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * @return The current time for {@link Histogram#recordSince(long)}, or 0 while metrics are off.
+     */
+
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @return A report of all counters and of all histograms that recorded values (count, p50, p99,
+     *         max and mean in milliseconds), one per line.
+     */
+
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (Counter counter : COUNTERS.values()) {
+            report.append(String.format("%-24s %d%n", counter.getName(), counter.getValue()));
+        }
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            if (histogram.getCount() > 0) {
+                report.append(String.format("%-24s n=%d p50=%.3f p99=%.3f max=%.3f mean=%.3f ms%n", histogram.getName(),
+                        histogram.getCount(), millis(histogram.getPercentileNanos(50)),
+                        millis(histogram.getPercentileNanos(99)), millis(histogram.getMaxNanos()),
+                        millis(histogram.getMeanNanos())));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file. The file is replaced at once, so readers never see half a report.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+
+    public static void dump(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "metrics", ".tmp");
+        Files.write(temp, report().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Converts nanoseconds to milliseconds.
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * The ScanEvent class is the flight recorder event of opening a deck: how long it took to list its
+ * cards and how many were found.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ch.csbe.flashcardgame.Scan")
+@Label("Deck Scan")
+@Category("Flashcard Game")
+@Description("Listing the cards of a deck folder or archive")
+public class ScanEvent extends Event {
+    @Label("Folder")
+    public String folder;
+
+    @Label("Cards")
+    public int cards;
+
+    @Label("Directories")
+    public int directories;
+
+    @Label("From Index")
+    @Description("The cards were taken from the cached deck index instead of walking the folder")
+    public boolean fromIndex;
+
+    @Label("Archive")
+    public boolean archive;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
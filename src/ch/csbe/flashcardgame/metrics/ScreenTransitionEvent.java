@@ -0,0 +1,25 @@
+/**
+ * The ScreenTransitionEvent class is the flight recorder event of switching from one screen to another.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ch.csbe.flashcardgame.ScreenTransition")
+@Label("Screen Transition")
+@Category("Flashcard Game")
+public class ScreenTransitionEvent extends Event {
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+}
@@ -0,0 +1,92 @@
+/**
+ * The Json class writes the small JSON objects the quiz server answers with.
+ * <p>
+ * Values are appended in order with {@link #field(String, Object)} and the object is closed with
+ * {@link #toString()}. Strings are escaped, numbers and booleans are written as they are.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.server;
+
+import java.util.Collection;
+
+public class Json {
+    // The object written so far, without the closing brace.
+    private final StringBuilder builder = new StringBuilder("{");
+
+    /**
+     * Appends a field to the object.
+     *
+     * @param name The field name.
+     * @param value A string, number, boolean, collection of strings or null.
+     * @return This object, for chaining.
+     */
+
+    public Json field(String name, Object value) {
+        if (builder.length() > 1) {
+            builder.append(',');
+        }
+        quote(name);
+        builder.append(':');
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            builder.append(value);
+        } else if (value instanceof Collection) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                quote(String.valueOf(element));
+                first = false;
+            }
+            builder.append(']');
+        } else {
+            quote(value.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString() + "}";
+    }
+
+    // Appends a quoted and escaped string.
+    private void quote(String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        builder.append(character);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -0,0 +1,435 @@
+/**
+ * The QuizServer class serves the flashcard game over HTTP/JSON so many learners can play at once.
+ * <p>
+ * Every sub-folder and ZIP archive in the decks directory is a deck, exactly like a folder or archive
+ * picked in the {@code MainWindow}. A deck is opened once and shared read-only by all sessions playing it; each
+ * learner gets an own {@link DeckSession}. The attempts of all learners on a deck go to one shared
+ * {@link ResultJournal}; sessions over several decks are not journaled. Every request is handled on its own virtual thread, and the
+ * server only listens on the loopback interface unless another host is configured.
+ * </p>
+ * <pre>
+ * GET  /decks                      list of deck names
+ * POST /sessions?deck=NAME         start a session   {"session":ID,"cards":N,"seed":S}
+ *      &amp;order=shuffle              optional: every card once in a random order
+ *      &amp;seed=S                     optional: replays the random order of an earlier session
+ * POST /sessions?deck=A,B          play several decks as one stream, each deck shuffled
+ *      &amp;weights=3,1                optional: share of every deck, 1 each by default
+ * POST /sessions/ID/next           next card         {"index":I,"content":TEXT} | {"index":I,"image":BASE64}
+ *                                                    | {"waiting":true} | {"done":true}
+ * POST /sessions/ID/answer         body is the answer {"correct":BOOLEAN}, at most 4 KiB
+ * POST /sessions/ID/finish         end the session   {"correct":N,"wrong":N,...}
+ * </pre>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ch.csbe.flashcardgame.deck.CardFormat;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.Deck;
+import ch.csbe.flashcardgame.deck.MultiDeckSource;
+import ch.csbe.flashcardgame.deck.ZipCardSource;
+import ch.csbe.flashcardgame.session.CardScheduler;
+import ch.csbe.flashcardgame.session.DeckSession;
+import ch.csbe.flashcardgame.session.InterleavedScheduler;
+import ch.csbe.flashcardgame.session.LinearScheduler;
+import ch.csbe.flashcardgame.session.ResultJournal;
+import ch.csbe.flashcardgame.session.ShuffledScheduler;
+import ch.csbe.flashcardgame.session.Score;
+
+public class QuizServer {
+    // Default port of the quiz server.
+    public static final int DEFAULT_PORT = 8320;
+    // Sessions without a request for this long are removed.
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    // Longest answer body that is accepted, in bytes.
+    private static final int MAX_ANSWER_BYTES = 4096;
+
+    // Directory whose sub-folders are the decks.
+    private final File decksDirectory;
+    // Decks opened so far, shared by all sessions.
+    private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+    // Result journals of the opened decks, shared by all sessions.
+    private final Map<String, ResultJournal> journals = new ConcurrentHashMap<>();
+    // Running sessions by their id.
+    private final Map<String, ServerSession> sessions = new ConcurrentHashMap<>();
+    // The HTTP server and its executors.
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a server bound to the loopback interface. Call {@link #start()} to accept requests.
+     *
+     * @param decksDirectory Directory whose sub-folders and ZIP archives are the decks.
+     * @param port The port to listen on, 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+
+    public QuizServer(File decksDirectory, int port) throws IOException {
+        this(decksDirectory, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Creates a server bound to the given address. Call {@link #start()} to accept requests.
+     *
+     * @param decksDirectory Directory whose sub-folders and ZIP archives are the decks.
+     * @param address The address to listen on.
+     * @throws IOException If the address cannot be bound.
+     */
+
+    public QuizServer(File decksDirectory, InetSocketAddress address) throws IOException {
+        this.decksDirectory = decksDirectory.getAbsoluteFile();
+        // A large backlog, classrooms tend to connect all at once.
+        this.server = HttpServer.create(address, 1024);
+        this.server.setExecutor(handlers);
+        this.server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts accepting requests and removing idle sessions.
+     */
+
+    public void start() {
+        server.start();
+        sweeper.scheduleAtFixedRate(this::removeIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the server and closes all decks and journals.
+     */
+
+    public void stop() {
+        server.stop(0);
+        sweeper.shutdownNow();
+        handlers.shutdownNow();
+        for (ServerSession session : sessions.values()) {
+            session.session.finish();
+        }
+        sessions.clear();
+        for (Deck deck : decks.values()) {
+            deck.close();
+        }
+        for (ResultJournal journal : journals.values()) {
+            journal.close();
+        }
+    }
+
+    /**
+     * @return The port the server listens on.
+     */
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return The number of running sessions.
+     */
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Starts the server from the command line.
+     *
+     * @param args The decks directory, optionally followed by the port.
+     * @throws IOException If the server cannot be started.
+     */
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: QuizServer <decks directory> [port]");
+            System.exit(1);
+        }
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        QuizServer quizServer = new QuizServer(new File(args[0]), port);
+        quizServer.start();
+        System.out.println("Quiz server listening on http://localhost:" + quizServer.getPort() + "/");
+    }
+
+    // Routes a request to the matching endpoint.
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            String method = exchange.getRequestMethod();
+            if (path.length == 1 && path[0].equals("decks") && method.equals("GET")) {
+                send(exchange, 200, new Json().field("decks", listDecks()));
+            } else if (path.length == 1 && path[0].equals("sessions") && method.equals("POST")) {
+                startSession(exchange);
+            } else if (path.length == 3 && path[0].equals("sessions") && method.equals("POST")) {
+                ServerSession session = sessions.get(path[1]);
+                if (session == null) {
+                    send(exchange, 404, new Json().field("error", "unknown session"));
+                    return;
+                }
+                session.lastAccess = System.currentTimeMillis();
+                switch (path[2]) {
+                    case "next":
+                        nextCard(exchange, session.session);
+                        break;
+                    case "answer":
+                        // One byte more than allowed is read to tell a full answer from a cut-off one.
+                        byte[] body = exchange.getRequestBody().readNBytes(MAX_ANSWER_BYTES + 1);
+                        if (body.length > MAX_ANSWER_BYTES) {
+                            send(exchange, 413, new Json().field("error", "answer too long"));
+                            return;
+                        }
+                        String answer = new String(body, StandardCharsets.UTF_8);
+                        send(exchange, 200, new Json().field("correct", session.session.submitAnswer(answer)));
+                        break;
+                    case "finish":
+                        sessions.remove(path[1]);
+                        session.session.finish();
+                        send(exchange, 200, score(session.session.getScore()));
+                        break;
+                    default:
+                        send(exchange, 404, new Json().field("error", "unknown action"));
+                }
+            } else {
+                send(exchange, 404, new Json().field("error", "not found"));
+            }
+        } catch (RuntimeException event) {
+            event.printStackTrace();
+            send(exchange, 500, new Json().field("error", String.valueOf(event.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Starts a session on the deck given by the "deck" query parameter. Several decks separated by commas
+    // are played as one stream, mixed by the "weights" parameter.
+    private void startSession(HttpExchange exchange) throws IOException {
+        String parameter = queryParameter(exchange, "deck");
+        String[] names = parameter != null ? parameter.split(",") : new String[0];
+        if (names.length == 0) {
+            send(exchange, 404, new Json().field("error", "unknown deck"));
+            return;
+        }
+        Deck[] opened = new Deck[names.length];
+        for (int i = 0; i < names.length; i++) {
+            File folder = findDeck(names[i]);
+            if (folder == null) {
+                send(exchange, 404, new Json().field("error", "unknown deck"));
+                return;
+            }
+            opened[i] = openDeck(names[i], folder);
+        }
+        String seedParameter = queryParameter(exchange, "seed");
+        int[] weights = parseWeights(queryParameter(exchange, "weights"), names.length);
+        if ((seedParameter != null && !seedParameter.matches("-?\\d{1,18}")) || weights == null) {
+            send(exchange, 400, new Json().field("error", "invalid seed or weights"));
+            return;
+        }
+        // The seed is sent back, so a shuffled session can be replayed.
+        long seed = seedParameter != null ? Long.parseLong(seedParameter) : ThreadLocalRandom.current().nextLong();
+        CardSource cards;
+        DeckSession session;
+        if (names.length == 1) {
+            cards = opened[0].getCards();
+            CardScheduler scheduler = "shuffle".equals(queryParameter(exchange, "order"))
+                    ? new ShuffledScheduler(cards, seed)
+                    : new LinearScheduler(cards);
+            // Null if the journal cannot be opened; the sessions are then played without one.
+            ResultJournal journal = journals.computeIfAbsent(names[0], key -> ResultJournal.forFolder(opened[0].getFolder()));
+            session = new DeckSession(cards, scheduler, journal);
+            opened[0].getAnswerIndex().thenAccept(session::setAnswerIndex);
+        } else {
+            // The decks are numbered one after the other, so their card lists must be complete.
+            CardSource[] parts = new CardSource[opened.length];
+            for (int i = 0; i < opened.length; i++) {
+                try {
+                    opened[i].getScanner().awaitCompletion();
+                } catch (InterruptedException event) {
+                    Thread.currentThread().interrupt();
+                    send(exchange, 503, new Json().field("error", "interrupted"));
+                    return;
+                }
+                parts[i] = opened[i].getCards();
+            }
+            MultiDeckSource mixed = new MultiDeckSource(parts);
+            cards = mixed;
+            // A journal belongs to one deck, so sessions over several decks are not journaled.
+            session = new DeckSession(mixed, new InterleavedScheduler(mixed, weights, seed), null);
+        }
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new ServerSession(session));
+        send(exchange, 200, new Json().field("session", id).field("cards", cards.size()).field("seed", seed));
+    }
+
+    // Reads one weight per deck from a comma separated list, 1 each if there is none; null if invalid.
+    private static int[] parseWeights(String parameter, int decks) {
+        int[] weights = new int[decks];
+        if (parameter == null) {
+            Arrays.fill(weights, 1);
+            return weights;
+        }
+        String[] values = parameter.split(",");
+        if (values.length != decks) {
+            return null;
+        }
+        for (int i = 0; i < decks; i++) {
+            if (!values[i].matches("\\d{1,6}")) {
+                return null;
+            }
+            weights[i] = Integer.parseInt(values[i]);
+        }
+        return weights;
+    }
+
+    // Moves a session to its next card and sends the card content.
+    private void nextCard(HttpExchange exchange, DeckSession session) throws IOException {
+        if (session.nextCard()) {
+            // Image cards are sent as their file bytes in Base64.
+            boolean image = CardFormat.isImage(session.getCurrentName());
+            String content;
+            try {
+                content = image ? Base64.getEncoder().encodeToString(session.readCurrentBytes()) : session.readCurrentContent();
+            } catch (IOException event) {
+                send(exchange, 500, new Json().field("error", "card cannot be read").field("index", session.getCurrentIndex()));
+                return;
+            }
+            send(exchange, 200, new Json().field("index", session.getCurrentIndex()).field(image ? "image" : "content", content));
+        } else if (session.isWaitingForCards()) {
+            send(exchange, 200, new Json().field("waiting", true));
+        } else {
+            send(exchange, 200, new Json().field("done", true));
+        }
+    }
+
+    // Names of all decks in the decks directory.
+    private List<String> listDecks() {
+        List<String> names = new ArrayList<>();
+        for (File folder : listDeckFiles()) {
+            names.add(folder.getName());
+        }
+        names.sort(null);
+        return names;
+    }
+
+    // Deck folders and archives in the decks directory; hidden ones are left out.
+    private List<File> listDeckFiles() {
+        File[] folders = decksDirectory.listFiles(file -> !file.getName().startsWith(".")
+                && (file.isDirectory() || ZipCardSource.isArchive(file)));
+        return folders != null ? Arrays.asList(folders) : List.of();
+    }
+
+    // Finds the deck with the given name among the decks listed, or null. The name is only compared,
+    // never resolved as a path, so "..", "." or "a/b" cannot reach outside the decks directory.
+    private File findDeck(String name) {
+        if (name.isEmpty() || name.startsWith(".") || name.indexOf('/') >= 0 || name.indexOf('\\') >= 0
+                || name.indexOf(File.separatorChar) >= 0) {
+            return null;
+        }
+        for (File folder : listDeckFiles()) {
+            if (folder.getName().equals(name)) {
+                return folder;
+            }
+        }
+        return null;
+    }
+
+    // Returns the shared deck of a name, opening it on first use. The deck is opened outside the lock of
+    // the map; if two requests open it at once, the one that lost is closed again.
+    private Deck openDeck(String name, File folder) {
+        Deck deck = decks.get(name);
+        if (deck != null) {
+            return deck;
+        }
+        Deck candidate = Deck.open(folder);
+        deck = decks.putIfAbsent(name, candidate);
+        if (deck != null) {
+            candidate.close();
+            return deck;
+        }
+        return candidate;
+    }
+
+    // Removes sessions that have not been used for a while.
+    private void removeIdleSessions() {
+        long oldest = System.currentTimeMillis() - IDLE_TIMEOUT_MILLIS;
+        sessions.values().removeIf(session -> {
+            if (session.lastAccess >= oldest) {
+                return false;
+            }
+            // Records the answers given so far, as if the player had finished.
+            session.session.finish();
+            return true;
+        });
+    }
+
+    // Converts a score to JSON.
+    private static Json score(Score score) {
+        return new Json().field("correct", score.getCorrect()).field("wrong", score.getWrong())
+                .field("cardsShown", score.getCardsShown()).field("elapsedMillis", score.getElapsedMillis());
+    }
+
+    // Reads a parameter from the query string.
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int pos = pair.indexOf('=');
+            if (pos > 0 && pair.substring(0, pos).equals(name)) {
+                return URLDecoder.decode(pair.substring(pos + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // Sends a JSON response.
+    private static void send(HttpExchange exchange, int status, Json body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * The ServerSession class pairs a session with the time of its last request.
+     */
+
+    private static class ServerSession {
+        private final DeckSession session;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        ServerSession(DeckSession session) {
+            this.session = session;
+        }
+    }
+}
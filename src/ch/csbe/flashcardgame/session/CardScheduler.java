@@ -0,0 +1,54 @@
+/**
+ * The CardScheduler interface decides in which order a {@link DeckSession} shows the cards of a deck.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+public interface CardScheduler {
+
+    /**
+     * Picks the next card to show and removes it from the cards waiting to be shown.
+     *
+     * @return The index of the next card, or -1 if no card is due.
+     */
+
+    int next();
+
+    /**
+     * @return True if {@link #next()} would return a card.
+     */
+
+    boolean hasNext();
+
+    /**
+     * Lists the cards {@link #next()} will return next as long as no answer changes the order, e.g. to
+     * read them ahead. The default implementation lists none.
+     *
+     * @param cards Receives the indices of the cards.
+     * @return The number of cards listed, at most the length of the array.
+     */
+
+    default int peek(int[] cards) {
+        return 0;
+    }
+
+    /**
+     * Called once a card has been answered correctly.
+     *
+     * @param index The index of the card.
+     * @param firstTry True if the first answer given for the card was correct.
+     */
+
+    void answered(int index, boolean firstTry);
+
+    /**
+     * Called when the session is finished. The default implementation does nothing.
+     */
+
+    default void finish() {
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * The DeckSession class is the state of one player going through a deck, without any user interface.
+ * <p>
+ * It shows the cards of a {@link CardSource} in the order picked by a {@link CardScheduler}, checks
+ * answers with the {@link AnswerRule}, forgiving {@link AnswerRule#TYPOS} typos unless set otherwise,
+ * and keeps the score. Once the deck's answers are known ({@link #setAnswerIndex(AnswerTrie)}), an
+ * input that is exactly another card's answer is never taken for a typo. Every attempt can be recorded in a {@link ResultJournal}. The deck itself is
+ * only read, so any number of sessions can share it. All methods are synchronized, so a session can
+ * be driven from any thread.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.metrics.AnswerCheckEvent;
+import ch.csbe.flashcardgame.metrics.Counter;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public class DeckSession {
+    // Metrics of all sessions: time to check an answer, time the player took, and the outcomes.
+    private static final Histogram CHECK_TIME = Metrics.histogram("answer.check");
+    private static final Histogram RESPONSE_TIME = Metrics.histogram("answer.response");
+    private static final Counter CORRECT_ANSWERS = Metrics.counter("answers.correct");
+    private static final Counter WRONG_ANSWERS = Metrics.counter("answers.wrong");
+
+    // The shared, read-only deck this session plays.
+    private final CardSource deck;
+    // Decides which card is shown next.
+    private final CardScheduler scheduler;
+    // Records every attempt, or null.
+    private final ResultJournal journal;
+    // Edits forgiven in an answer.
+    private int typos = AnswerRule.TYPOS;
+    // The answers of all cards, null until known.
+    private AnswerTrie answers;
+    // Index of the card currently shown, -1 before the first card.
+    private int currentIndex = -1;
+    // Set once a wrong answer was given for the current card.
+    private boolean currentAnsweredWrong = false;
+    // Time the current card was shown or last answered, for the response time.
+    private long promptedAt;
+    // Score counters.
+    private int correct = 0;
+    private int wrong = 0;
+    private int cardsShown = 0;
+    // Start and end of the session.
+    private final long startedAt = System.currentTimeMillis();
+    private long finishedAt = 0;
+
+    /**
+     * Creates a session that shows every card of a deck once, in deck order.
+     *
+     * @param deck The deck to play, shared with other sessions.
+     */
+
+    public DeckSession(CardSource deck) {
+        this(deck, new LinearScheduler(deck));
+    }
+
+    /**
+     * Creates a session over a deck.
+     *
+     * @param deck The deck to play, shared with other sessions.
+     * @param scheduler Decides which card is shown next; owned by this session.
+     */
+
+    public DeckSession(CardSource deck, CardScheduler scheduler) {
+        this(deck, scheduler, null);
+    }
+
+    /**
+     * Creates a session over a deck that records every attempt.
+     *
+     * @param deck The deck to play, shared with other sessions.
+     * @param scheduler Decides which card is shown next; owned by this session.
+     * @param journal Records every attempt, or null; it may be shared and is not closed by the session.
+     */
+
+    public DeckSession(CardSource deck, CardScheduler scheduler, ResultJournal journal) {
+        this.deck = deck;
+        this.scheduler = scheduler;
+        this.journal = journal;
+    }
+
+    /**
+     * Moves on to the next card.
+     *
+     * @return True if a new card is current, false if there is no next card (yet).
+     */
+
+    public synchronized boolean nextCard() {
+        int index = finishedAt == 0 ? scheduler.next() : -1;
+        if (index < 0) {
+            return false;
+        }
+        currentIndex = index;
+        currentAnsweredWrong = false;
+        promptedAt = System.nanoTime();
+        cardsShown++;
+        return true;
+    }
+
+    /**
+     * Lists the cards the scheduler will show next, e.g. to read them ahead. A card answered
+     * wrongly may still be put in between.
+     *
+     * @param count The largest number of cards listed.
+     * @return The indices of the upcoming cards, in the order they are shown.
+     */
+
+    public synchronized int[] getUpcomingCards(int count) {
+        if (finishedAt != 0) {
+            return new int[0];
+        }
+        int[] cards = new int[count];
+        return Arrays.copyOf(cards, scheduler.peek(cards));
+    }
+
+    /**
+     * @return True if the next card is not known yet because the deck is still being scanned.
+     */
+
+    public synchronized boolean isWaitingForCards() {
+        return finishedAt == 0 && !deck.isComplete() && !scheduler.hasNext();
+    }
+
+    /**
+     * Checks an answer against the current card. A correct answer does not move on by itself, call
+     * {@link #nextCard()} for that.
+     *
+     * @param answer The answer the player entered.
+     * @return True if the answer is correct.
+     */
+
+    public synchronized boolean submitAnswer(String answer) {
+        if (currentIndex < 0 || finishedAt != 0) {
+            return false;
+        }
+        long start = Metrics.start();
+        AnswerCheckEvent check = new AnswerCheckEvent();
+        check.begin();
+        // Checked by the deck, which compares against its packed names without creating the answer.
+        boolean isCorrect = deck.matchesAnswer(currentIndex, answer, typos, answers);
+        CHECK_TIME.recordSince(start);
+        RESPONSE_TIME.recordSince(promptedAt);
+        (isCorrect ? CORRECT_ANSWERS : WRONG_ANSWERS).increment();
+        check.end();
+        if (check.shouldCommit()) {
+            check.index = currentIndex;
+            check.correct = isCorrect;
+            check.responseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - promptedAt);
+            check.commit();
+        }
+        if (journal != null) {
+            long now = System.nanoTime();
+            long millis = TimeUnit.NANOSECONDS.toMillis(now - promptedAt);
+            journal.record(ReviewHistory.cardId(deck.getPath(currentIndex)), answer, isCorrect, (int) Math.min(millis, Integer.MAX_VALUE));
+            promptedAt = now;
+        }
+        if (isCorrect) {
+            correct++;
+            scheduler.answered(currentIndex, !currentAnsweredWrong);
+        } else {
+            wrong++;
+            currentAnsweredWrong = true;
+        }
+        return isCorrect;
+    }
+
+    /**
+     * Sets how many typos are forgiven in the following answers, see {@link AnswerRule#matches(String, String, int)}.
+     *
+     * @param typos The number of edits forgiven, 0 to only accept exact answers.
+     */
+
+    public synchronized void setTypos(int typos) {
+        this.typos = Math.max(0, typos);
+    }
+
+    /**
+     * Sets the answers of the deck, so an input that is exactly another card's answer is not forgiven
+     * as a typo, see {@link CardSource#matchesAnswer(int, String, int, AnswerTrie)}.
+     *
+     * @param answers The answer index of the deck, see {@code Deck#getAnswerIndex()}.
+     */
+
+    public synchronized void setAnswerIndex(AnswerTrie answers) {
+        this.answers = answers;
+    }
+
+    /**
+     * Ends the session; later calls have no effect.
+     */
+
+    public synchronized void finish() {
+        if (finishedAt == 0) {
+            finishedAt = System.currentTimeMillis();
+            scheduler.finish();
+        }
+    }
+
+    /**
+     * @return True once the session has been finished.
+     */
+
+    public synchronized boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    /**
+     * @return A snapshot of the current score.
+     */
+
+    public synchronized Score getScore() {
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        return new Score(correct, wrong, cardsShown, end - startedAt);
+    }
+
+    /**
+     * @return The index of the current card, -1 before the first card.
+     */
+
+    public synchronized int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    /**
+     * @return The file name of the current card, or null before the first card.
+     */
+
+    public synchronized String getCurrentName() {
+        return currentIndex < 0 ? null : deck.getName(currentIndex);
+    }
+
+    /**
+     * @return The expected answer of the current card, or null before the first card.
+     */
+
+    public synchronized String getCurrentAnswer() {
+        return currentIndex < 0 ? null : deck.getAnswer(currentIndex);
+    }
+
+    /**
+     * Reads the content of the current card. The read happens outside the session lock.
+     *
+     * @return The text content of the current card.
+     * @throws IOException If the card cannot be read.
+     */
+
+    public String readCurrentContent() throws IOException {
+        int index = getCurrentIndex();
+        if (index < 0) {
+            throw new IllegalStateException("No current card");
+        }
+        return deck.readContent(index);
+    }
+
+    /**
+     * Reads the raw bytes of the current card, e.g. of an image card. The read happens outside the session lock.
+     *
+     * @return The bytes of the current card.
+     * @throws IOException If the card cannot be read.
+     */
+
+    public byte[] readCurrentBytes() throws IOException {
+        int index = getCurrentIndex();
+        if (index < 0) {
+            throw new IllegalStateException("No current card");
+        }
+        try (InputStream content = deck.openContent(index)) {
+            return content.readAllBytes();
+        }
+    }
+
+    /**
+     * @return The deck this session plays.
+     */
+
+    public CardSource getDeck() {
+        return deck;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * The DueQueue class is a binary min-heap of card indices ordered by their due time.
+ * <p>
+ * It is built on primitive arrays, so a million cards cost a few int and long arrays instead of a
+ * million heap entries. Adding, removing the earliest card and changing the due time of a queued card
+ * all take O(log n). Cards with the same due time come out in index order.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.util.Arrays;
+
+public class DueQueue {
+    // Card indices in heap order.
+    private int[] heap = new int[16];
+    // Position of every card in the heap, -1 if the card is not queued.
+    private int[] position = new int[16];
+    // Due time of every card.
+    private long[] due = new long[16];
+    // Number of queued cards.
+    private int size = 0;
+
+    /**
+     * Creates an empty queue.
+     */
+
+    public DueQueue() {
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Queues a card, or changes its due time if it is already queued.
+     *
+     * @param card The index of the card.
+     * @param dueAt The due time of the card.
+     */
+
+    public void put(int card, long dueAt) {
+        ensureCard(card);
+        int pos = position[card];
+        due[card] = dueAt;
+        if (pos < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = card;
+            position[card] = size;
+            siftUp(size++);
+        } else {
+            siftUp(pos);
+            siftDown(position[card]);
+        }
+    }
+
+    /**
+     * @return The index of the card due first, or -1 if the queue is empty.
+     */
+
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * @return The due time of the card due first; only valid if the queue is not empty.
+     */
+
+    public long peekDue() {
+        return due[heap[0]];
+    }
+
+    /**
+     * Lists the cards due first, in the order {@link #poll()} would remove them, without removing them.
+     *
+     * @param cards Receives the indices of the cards.
+     * @return The number of cards listed, at most the length of the array.
+     */
+
+    public int peek(int[] cards) {
+        // The next card is always a child of a card already listed, so only those children are compared.
+        int[] candidates = new int[2 * cards.length + 1];
+        int candidateCount = size > 0 ? 1 : 0;
+        int count = 0;
+        while (count < cards.length && candidateCount > 0) {
+            int first = 0;
+            for (int i = 1; i < candidateCount; i++) {
+                if (before(heap[candidates[i]], heap[candidates[first]])) {
+                    first = i;
+                }
+            }
+            int pos = candidates[first];
+            candidates[first] = candidates[--candidateCount];
+            cards[count++] = heap[pos];
+            for (int child = 2 * pos + 1; child <= 2 * pos + 2 && child < size; child++) {
+                candidates[candidateCount++] = child;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes the card due first.
+     *
+     * @return The index of the removed card, or -1 if the queue is empty.
+     */
+
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int card = heap[0];
+        position[card] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return card;
+    }
+
+    /**
+     * @param card The index of the card.
+     * @return True if the card is queued.
+     */
+
+    public boolean contains(int card) {
+        return card < position.length && position[card] >= 0;
+    }
+
+    /**
+     * @param card The index of a queued card.
+     * @return The due time of the card.
+     */
+
+    public long getDue(int card) {
+        return due[card];
+    }
+
+    /**
+     * @return The number of queued cards.
+     */
+
+    public int size() {
+        return size;
+    }
+
+    // Grows the per-card arrays so the given card index fits.
+    private void ensureCard(int card) {
+        if (card >= position.length) {
+            int length = Math.max(card + 1, position.length * 2);
+            int oldLength = position.length;
+            position = Arrays.copyOf(position, length);
+            Arrays.fill(position, oldLength, length, -1);
+            due = Arrays.copyOf(due, length);
+        }
+    }
+
+    // True if card a has to come out before card b.
+    private boolean before(int a, int b) {
+        return due[a] < due[b] || (due[a] == due[b] && a < b);
+    }
+
+    private void siftUp(int pos) {
+        int card = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!before(card, heap[parent])) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            position[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = card;
+        position[card] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int card = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], card)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = card;
+        position[card] = pos;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * The InterleavedScheduler class plays several decks as one stream, mixing their cards by weight.
+ * <p>
+ * Every card of every deck of a {@link MultiDeckSource} is shown once. The cards of each deck come in
+ * their own seeded random order ({@link Permutation} of the cards sorted by path, so a seed replays
+ * the same stream whichever order the decks were scanned in), and the deck of the next card is picked by a
+ * smooth weighted round robin: with weights 3 and 1, every four cards hold three of the first deck and
+ * one of the second, spread out instead of in runs. Once a deck has no cards left, the remaining decks
+ * share the stream by their weights. Picking a card takes no allocation.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import ch.csbe.flashcardgame.deck.MultiDeckSource;
+
+public class InterleavedScheduler implements CardScheduler {
+    // The decks whose cards are shown.
+    private final MultiDeckSource cards;
+    // Share of every deck, and the running credit of the round robin.
+    private final int[] weights;
+    private final long[] credit;
+    // Cards of every deck sorted by path, their order and the next position.
+    private final int[][] sorted;
+    private final Permutation[] orders;
+    private final int[] positions;
+
+    /**
+     * @param cards The decks whose cards are shown.
+     * @param weights The share of every deck, one weight per deck; decks with weight 0 are not shown.
+     * @param seed The seed of the order; the same seed gives the same stream.
+     */
+
+    public InterleavedScheduler(MultiDeckSource cards, int[] weights, long seed) {
+        if (weights.length != cards.getPartCount()) {
+            throw new IllegalArgumentException(weights.length + " weights for " + cards.getPartCount() + " decks");
+        }
+        this.cards = cards;
+        this.weights = weights.clone();
+        this.credit = new long[weights.length];
+        this.sorted = new int[weights.length][];
+        this.orders = new Permutation[weights.length];
+        this.positions = new int[weights.length];
+        for (int part = 0; part < weights.length; part++) {
+            if (weights[part] < 0) {
+                throw new IllegalArgumentException("negative weight " + weights[part]);
+            }
+            int offset = cards.getPartOffset(part);
+            sorted[part] = weights[part] > 0 ? ShuffledScheduler.sortedByPath(cards, offset, offset + cards.getPartSize(part)) : new int[0];
+            // Every deck gets its own order, also when two decks have the same size.
+            orders[part] = new Permutation(sorted[part].length, seed + 31L * part);
+        }
+    }
+
+    @Override
+    public int next() {
+        int part = pickPart();
+        if (part < 0) {
+            return -1;
+        }
+        return sorted[part][orders[part].apply(positions[part]++)];
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (int part = 0; part < orders.length; part++) {
+            if (hasCard(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void answered(int index, boolean firstTry) {
+        // The order does not depend on answers.
+    }
+
+    // Smooth weighted round robin over the decks that still have cards: every deck earns its weight,
+    // the richest deck is picked and pays the sum of all weights.
+    private int pickPart() {
+        int best = -1;
+        long total = 0;
+        for (int part = 0; part < orders.length; part++) {
+            if (hasCard(part)) {
+                credit[part] += weights[part];
+                total += weights[part];
+                if (best < 0 || credit[part] > credit[best]) {
+                    best = part;
+                }
+            }
+        }
+        if (best >= 0) {
+            credit[best] -= total;
+        }
+        return best;
+    }
+
+    // Skips cards deleted from the deck and tells whether the deck has a card left.
+    private boolean hasCard(int part) {
+        Permutation order = orders[part];
+        while (positions[part] < order.size()
+                && cards.isRemoved(sorted[part][order.apply(positions[part])])) {
+            positions[part]++;
+        }
+        return positions[part] < order.size();
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * The JournalStats class aggregates a {@link ResultJournal} into per-card statistics.
+ * <p>
+ * The journal is streamed through a fixed buffer, so memory only grows with the number of different
+ * cards, not with the number of attempts. The counters live in a primitive open-addressing hash table
+ * keyed by card id.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class JournalStats {
+    // Records read per buffer fill.
+    private static final int RECORDS_PER_READ = 16 * 1024;
+
+    // Open-addressing table: card ids (0 marks a free slot) and their counters.
+    private long[] ids = new long[64];
+    private int[] attempts = new int[64];
+    private int[] correct = new int[64];
+    private long[] responseMillis = new long[64];
+    private int cardCount = 0;
+    private long totalAttempts = 0;
+
+    /**
+     * The CardConsumer interface receives the statistics of one card.
+     */
+
+    public interface CardConsumer {
+        void accept(long cardId, int attempts, int correct, long totalResponseMillis);
+    }
+
+    /**
+     * Reads a journal and aggregates its attempts per card. A torn record at the end is ignored.
+     *
+     * @param file The journal file.
+     * @return The statistics of the journal.
+     * @throws IOException If the journal cannot be read or is not a result journal.
+     */
+
+    public static JournalStats read(Path file) throws IOException {
+        JournalStats stats = new JournalStats();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ResultJournal.RECORD_SIZE * RECORDS_PER_READ);
+            buffer.limit(ResultJournal.HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read the whole header.
+            }
+            buffer.flip();
+            if (buffer.remaining() < ResultJournal.HEADER_SIZE || buffer.getInt() != ResultJournal.MAGIC
+                    || buffer.getInt() != ResultJournal.VERSION) {
+                throw new IOException("Not a result journal: " + file);
+            }
+            buffer.clear();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= ResultJournal.RECORD_SIZE) {
+                    int start = buffer.position();
+                    stats.add(buffer.getLong(start + 8), buffer.get(start + 20) != 0, buffer.getInt(start + 16));
+                    buffer.position(start + ResultJournal.RECORD_SIZE);
+                }
+                buffer.compact();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Adds one attempt.
+     *
+     * @param cardId The id of the card.
+     * @param isCorrect True if the answer was correct.
+     * @param millis Time the player took to answer.
+     */
+
+    public void add(long cardId, boolean isCorrect, int millis) {
+        int slot = find(cardId);
+        if (ids[slot] == 0) {
+            ids[slot] = cardId;
+            cardCount++;
+        }
+        attempts[slot]++;
+        if (isCorrect) {
+            correct[slot]++;
+        }
+        responseMillis[slot] += millis;
+        totalAttempts++;
+        if (cardCount * 2 > ids.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @return The number of different cards with attempts.
+     */
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * @return The number of attempts of all cards.
+     */
+
+    public long getTotalAttempts() {
+        return totalAttempts;
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The number of attempts of the card.
+     */
+
+    public int getAttempts(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : attempts[slot];
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The number of correct attempts of the card.
+     */
+
+    public int getCorrect(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : correct[slot];
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The share of correct attempts between 0 and 1, or 0 if the card has no attempts.
+     */
+
+    public double getAccuracy(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : (double) correct[slot] / attempts[slot];
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The average response time of the card, or 0 if the card has no attempts.
+     */
+
+    public long getAverageResponseMillis(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : responseMillis[slot] / attempts[slot];
+    }
+
+    /**
+     * Passes the statistics of every card to a consumer, in no particular order.
+     *
+     * @param consumer Receives the statistics.
+     */
+
+    public void forEach(CardConsumer consumer) {
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (ids[slot] != 0) {
+                consumer.accept(ids[slot], attempts[slot], correct[slot], responseMillis[slot]);
+            }
+        }
+    }
+
+    // Finds the slot of a card id, or the free slot where it belongs (linear probing).
+    private int find(long cardId) {
+        int mask = ids.length - 1;
+        int slot = (int) (cardId ^ (cardId >>> 32)) & mask;
+        while (ids[slot] != 0 && ids[slot] != cardId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Doubles the hash table.
+    private void grow() {
+        long[] oldIds = ids;
+        int[] oldAttempts = attempts;
+        int[] oldCorrect = correct;
+        long[] oldResponseMillis = responseMillis;
+        ids = new long[oldIds.length * 2];
+        attempts = new int[oldIds.length * 2];
+        correct = new int[oldIds.length * 2];
+        responseMillis = new long[oldIds.length * 2];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = find(oldIds[i]);
+                ids[slot] = oldIds[i];
+                attempts[slot] = oldAttempts[i];
+                correct[slot] = oldCorrect[i];
+                responseMillis[slot] = oldResponseMillis[i];
+            }
+        }
+    }
+}
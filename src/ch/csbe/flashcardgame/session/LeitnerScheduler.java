@@ -0,0 +1,148 @@
+/**
+ * The LeitnerScheduler class shows the cards of a deck with spaced repetition (Leitner boxes).
+ * <p>
+ * Every card sits in a box. A card answered correctly at the first try moves up one box, any wrong
+ * answer sends it back to box 1. Each box has a longer review interval, so well known cards come back
+ * rarely and difficult cards often. Cards never seen before are due at once, in deck order.
+ * </p>
+ * <p>
+ * Due cards are kept in a {@link DueQueue}, so picking the next card costs O(log n) even for a deck of
+ * a million cards. Box and due time of every card are stored in a {@link ReviewHistory} and survive
+ * restarts.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+
+public class LeitnerScheduler implements CardScheduler {
+    // Review interval of every box; box 1 is repeated in the same session.
+    private static final long[] INTERVALS = {
+        0,
+        0,
+        TimeUnit.DAYS.toMillis(1),
+        TimeUnit.DAYS.toMillis(3),
+        TimeUnit.DAYS.toMillis(7),
+        TimeUnit.DAYS.toMillis(30),
+    };
+    // The highest box.
+    public static final int MAX_BOX = INTERVALS.length - 1;
+
+    // The deck whose cards are shown.
+    private final CardSource deck;
+    // Stored box and due time of every card.
+    private final ReviewHistory history;
+    // Source of the current time, replaceable for tests.
+    private final LongSupplier clock;
+    // Cards waiting to be shown, ordered by due time.
+    private final DueQueue queue = new DueQueue();
+    // Number of deck cards already added to the queue; the deck may still grow while it is scanned.
+    private int knownCards = 0;
+
+    /**
+     * @param deck The deck whose cards are shown.
+     * @param history Stored box and due time of every card.
+     */
+
+    public LeitnerScheduler(CardSource deck, ReviewHistory history) {
+        this(deck, history, System::currentTimeMillis);
+    }
+
+    /**
+     * @param deck The deck whose cards are shown.
+     * @param history Stored box and due time of every card.
+     * @param clock Source of the current time in milliseconds.
+     */
+
+    public LeitnerScheduler(CardSource deck, ReviewHistory history, LongSupplier clock) {
+        this.deck = deck;
+        this.history = history;
+        this.clock = clock;
+    }
+
+    @Override
+    public int next() {
+        return hasNext() ? queue.poll() : -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        addNewCards();
+        // Cards deleted from the folder are dropped when they come up.
+        while (queue.size() > 0 && deck.isRemoved(queue.peek())) {
+            queue.poll();
+        }
+        return queue.size() > 0 && queue.peekDue() <= clock.getAsLong();
+    }
+
+    @Override
+    public int peek(int[] cards) {
+        addNewCards();
+        int queued = queue.peek(cards);
+        long now = clock.getAsLong();
+        int count = 0;
+        for (int i = 0; i < queued; i++) {
+            int index = cards[i];
+            if (queue.getDue(index) > now) {
+                // Cards come out by due time, all following cards are not due either.
+                break;
+            }
+            if (!deck.isRemoved(index)) {
+                cards[count++] = index;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void answered(int index, boolean firstTry) {
+        long cardId = ReviewHistory.cardId(deck.getPath(index));
+        int box = firstTry ? Math.min(Math.max(history.getBox(cardId), 1) + 1, MAX_BOX) : 1;
+        long dueAt = clock.getAsLong() + INTERVALS[box];
+        try {
+            history.record(cardId, box, dueAt);
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+        // Cards in box 1 come back later in the same session.
+        if (!deck.isRemoved(index)) {
+            queue.put(index, dueAt);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            history.close();
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+
+    /**
+     * @param index The index of a card.
+     * @return The current box of the card.
+     */
+
+    public int getBox(int index) {
+        return history.getBox(ReviewHistory.cardId(deck.getPath(index)));
+    }
+
+    // Queues the cards that were appended to the deck since the last call.
+    private void addNewCards() {
+        int size = deck.size();
+        while (knownCards < size) {
+            queue.put(knownCards, history.getDue(ReviewHistory.cardId(deck.getPath(knownCards))));
+            knownCards++;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * The LinearScheduler class shows every card of a deck once, in deck order.
+ * This is the order the game has always used.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+
+public class LinearScheduler implements CardScheduler {
+    // The deck whose cards are shown.
+    private final CardSource deck;
+    // Index of the next card to show.
+    private int nextIndex = 0;
+
+    /**
+     * @param deck The deck whose cards are shown.
+     */
+
+    public LinearScheduler(CardSource deck) {
+        this.deck = deck;
+    }
+
+    @Override
+    public int next() {
+        return hasNext() ? nextIndex++ : -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Cards deleted from the folder are skipped.
+        while (nextIndex < deck.size() && deck.isRemoved(nextIndex)) {
+            nextIndex++;
+        }
+        return nextIndex < deck.size();
+    }
+
+    @Override
+    public int peek(int[] cards) {
+        int count = 0;
+        for (int index = nextIndex; index < deck.size() && count < cards.length; index++) {
+            if (!deck.isRemoved(index)) {
+                cards[count++] = index;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void answered(int index, boolean firstTry) {
+        // The order does not depend on answers.
+    }
+}
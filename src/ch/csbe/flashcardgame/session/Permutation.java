@@ -0,0 +1,93 @@
+/**
+ * The Permutation class is a seeded random order of the numbers 0 to n-1 that is computed, not stored.
+ * <p>
+ * {@link #apply(int)} maps a position to the card shown at that position with a small Feistel network,
+ * a bijection over the smallest even power of two that holds n; results of n or more are mapped again
+ * until they fall below n ("cycle walking", on average less than four rounds). The order therefore
+ * takes a few dozen bytes whatever the size of the deck, needs no array of cards to shuffle, and every
+ * position can be looked up on its own. The same size and seed always give the same order.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+public final class Permutation {
+    // Feistel rounds; four rounds of a good round function make the order look random.
+    private static final int ROUNDS = 4;
+
+    // Number of permuted positions.
+    private final int size;
+    // Bits of each half of the permuted domain.
+    private final int halfBits;
+    private final long halfMask;
+    // Key of every round, derived from the seed.
+    private final long[] keys = new long[ROUNDS];
+
+    /**
+     * @param size The number of positions, at least 0.
+     * @param seed The seed; the same seed gives the same order.
+     */
+
+    public Permutation(int size, long seed) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size < 0: " + size);
+        }
+        this.size = size;
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, size - 1));
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.halfMask = (1L << halfBits) - 1;
+        long state = seed;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            keys[i] = mix(state);
+        }
+    }
+
+    /**
+     * @return The number of positions.
+     */
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param position A position between 0 and {@link #size()} - 1.
+     * @return The number at that position; every number from 0 to size - 1 is at exactly one position.
+     */
+
+    public int apply(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + " of " + size);
+        }
+        long value = position;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    // One pass of the Feistel network over the whole domain.
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long key : keys) {
+            long next = left ^ (mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // The SplitMix64 finalizer, which spreads every input bit over all output bits.
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
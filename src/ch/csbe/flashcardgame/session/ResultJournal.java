@@ -0,0 +1,259 @@
+/**
+ * The ResultJournal class persists every answer attempt of the players in an append-only file.
+ * <p>
+ * Each attempt is one fixed-size record:
+ * </p>
+ * <pre>
+ * header   int magic, int version
+ * record   long time, long cardId, int responseMillis, byte correct, byte answerLength,
+ *          byte[42] answer (UTF-8, cut after 42 bytes)                                  (64 bytes)
+ * </pre>
+ * <p>
+ * {@link #record} only copies the attempt into a buffer, so it is cheap enough for the EDT. The buffer
+ * is written in batches on the "result-journal" thread, and the file is forced to disk at most once per
+ * fsync interval (system property "flashcardgame.journal.fsyncMillis", 0 forces after every batch).
+ * A crash can lose the attempts of the last interval, but never corrupts older records. The journal is
+ * read back with {@link JournalStats}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import ch.csbe.flashcardgame.deck.CacheFiles;
+
+public class ResultJournal implements Closeable {
+    // Identifies a result journal ("FCRJ").
+    static final int MAGIC = 0x4643524a;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 64;
+    // Room for the answer in a record.
+    public static final int MAX_ANSWER_BYTES = RECORD_SIZE - 22;
+    // Default time between two forces to disk, configurable with -Dflashcardgame.journal.fsyncMillis=N.
+    public static final long DEFAULT_FSYNC_MILLIS = Long.getLong("flashcardgame.journal.fsyncMillis", 1000);
+    // Attempts recorded within this time are written in one batch.
+    private static final long BATCH_MILLIS = 50;
+
+    // Single thread writing all journals, so the EDT never waits for the disk.
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "result-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The journal file.
+    private final FileChannel channel;
+    // Minimum time between two forces to disk.
+    private final long fsyncMillis;
+    // Attempts recorded but not written yet; swapped with the buffer being written.
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_SIZE * 256);
+    private ByteBuffer writing = ByteBuffer.allocate(RECORD_SIZE * 256);
+    // Reused to encode answers without allocating a byte array per attempt.
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // Set while a batch is scheduled on the writer thread.
+    private boolean writeScheduled = false;
+    private boolean closed = false;
+    // Only used by the writer thread: written but not yet forced, and the time of the last force.
+    private boolean unforced = false;
+    private long lastForce = System.nanoTime();
+
+    private ResultJournal(FileChannel channel, long fsyncMillis) {
+        this.channel = channel;
+        this.fsyncMillis = fsyncMillis;
+    }
+
+    /**
+     * Opens a journal for appending, creating it if it does not exist. A torn record at the end (crash
+     * while writing) is cut off.
+     *
+     * @param file The journal file.
+     * @param fsyncMillis Minimum time between two forces to disk, 0 to force after every batch.
+     * @return The opened journal.
+     * @throws IOException If the journal cannot be opened or is not a result journal.
+     */
+
+    public static ResultJournal open(Path file, long fsyncMillis) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                header.putInt(MAGIC).putInt(VERSION).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                size = HEADER_SIZE;
+            } else {
+                channel.read(header, 0);
+                header.flip();
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Not a result journal: " + file);
+                }
+                size -= (size - HEADER_SIZE) % RECORD_SIZE;
+                channel.truncate(size);
+            }
+            channel.position(size);
+            return new ResultJournal(channel, fsyncMillis);
+        } catch (IOException event) {
+            channel.close();
+            throw event;
+        }
+    }
+
+    /**
+     * Opens the journal kept for a deck folder (see {@link CacheFiles}). The journals of the least
+     * recently played decks are deleted beyond {@link CacheFiles#MAX_ENTRIES}.
+     *
+     * @param folder The deck folder.
+     * @return The journal of the deck, or null if it cannot be opened.
+     */
+
+    public static ResultJournal forFolder(File folder) {
+        Path file = location(folder);
+        // Results are the player's record, so they are bounded by the number of decks, not by age.
+        CacheFiles.markUsed(file);
+        CacheFiles.evictInBackground("results", ".journal", Long.MAX_VALUE, 0);
+        try {
+            return open(file, DEFAULT_FSYNC_MILLIS);
+        } catch (IOException event) {
+            event.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * @param folder The deck folder.
+     * @return The file of the journal kept for a deck folder.
+     */
+
+    public static Path location(File folder) {
+        return CacheFiles.fileFor(folder, "results", ".journal");
+    }
+
+    /**
+     * Records an answer attempt. The attempt is written in the background.
+     *
+     * @param cardId The id of the card, see {@link ReviewHistory#cardId(String)}.
+     * @param answer The answer the player entered.
+     * @param correct True if the answer was correct.
+     * @param responseMillis Time the player took to answer.
+     */
+
+    public synchronized void record(long cardId, String answer, boolean correct, int responseMillis) {
+        if (closed) {
+            return;
+        }
+        if (pending.remaining() < RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+            pending.flip();
+            pending = grown.put(pending);
+        }
+        int start = pending.position();
+        pending.putLong(System.currentTimeMillis()).putLong(cardId).putInt(responseMillis).put((byte) (correct ? 1 : 0));
+        // The answer is encoded straight into the record; the encoder stops at a whole character.
+        ByteBuffer field = pending.slice(start + 22, MAX_ANSWER_BYTES);
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(answer.trim()), field, true);
+        pending.put((byte) field.position());
+        // The buffers are reused, so clear what an older record left behind the answer.
+        while (field.hasRemaining()) {
+            field.put((byte) 0);
+        }
+        pending.position(start + RECORD_SIZE);
+        if (!writeScheduled) {
+            writeScheduled = true;
+            WRITER.schedule(this::writeBatch, BATCH_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops accepting attempts, writes the remaining ones, forces them to disk and closes the file,
+     * all on the writer thread.
+     *
+     * @return Completes once the journal is closed.
+     */
+
+    public CompletableFuture<Void> closeAsync() {
+        synchronized (this) {
+            closed = true;
+        }
+        return CompletableFuture.runAsync(() -> {
+            writeBatch();
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException event) {
+                event.printStackTrace();
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Closes the journal and waits until all attempts are on disk.
+     */
+
+    @Override
+    public void close() {
+        closeAsync().join();
+    }
+
+    // Writes the recorded attempts and forces them to disk once the fsync interval has passed.
+    private void writeBatch() {
+        ByteBuffer batch;
+        synchronized (this) {
+            writeScheduled = false;
+            batch = pending;
+            pending = writing;
+            writing = batch;
+        }
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            batch.flip();
+            unforced |= batch.hasRemaining();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            batch.clear();
+            long sinceForce = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastForce);
+            if (unforced && sinceForce >= fsyncMillis) {
+                channel.force(false);
+                unforced = false;
+                lastForce = System.nanoTime();
+            } else if (unforced) {
+                // Nothing else may come, so make sure the attempts reach the disk within the interval.
+                synchronized (this) {
+                    if (!writeScheduled && !closed) {
+                        writeScheduled = true;
+                        WRITER.schedule(this::writeBatch, fsyncMillis - sinceForce, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * The ReviewHistory class remembers, per card, the Leitner box and the time the card is due again.
+ * <p>
+ * The history is kept in an append-only log of fixed-size records:
+ * </p>
+ * <pre>
+ * header   int magic, int version
+ * record   long cardId, long dueAt, byte box      (17 bytes, the last record of a card wins)
+ * </pre>
+ * <p>
+ * The log is loaded with a single read into a primitive open-addressing hash table. When it holds more
+ * than twice as many records as cards, it is compacted: rewritten with only the latest record of every
+ * card. Appends are buffered and flushed every {@link #FLUSH_INTERVAL} records and on {@link #close()}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import ch.csbe.flashcardgame.deck.CacheFiles;
+import ch.csbe.flashcardgame.deck.ContentHash;
+
+public class ReviewHistory implements Closeable {
+    // Identifies a review log ("FCRL").
+    private static final int MAGIC = 0x4643524c;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 17;
+    // Number of appended records after which the log is flushed.
+    public static final int FLUSH_INTERVAL = 64;
+
+    // The log file, or null for a history that is only kept in memory.
+    private final Path file;
+    // Open-addressing table: card ids (0 marks a free slot), due times and boxes.
+    private long[] ids = new long[16];
+    private long[] dues = new long[16];
+    private byte[] boxes = new byte[16];
+    private int cardCount = 0;
+    // Number of records in the log file.
+    private long recordCount = 0;
+    // Appends not yet flushed.
+    private DataOutputStream out;
+    private int unflushed = 0;
+
+    /**
+     * Private constructor, histories are created with {@link #open(Path)} or {@link #inMemory()}.
+     */
+
+    private ReviewHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return A history that is not persisted.
+     */
+
+    public static ReviewHistory inMemory() {
+        return new ReviewHistory(null);
+    }
+
+    /**
+     * Loads a review log, compacting it if it has grown too much. A missing log is created.
+     *
+     * @param file The log file.
+     * @return The loaded history.
+     * @throws IOException If the log cannot be read or created.
+     */
+
+    public static ReviewHistory open(Path file) throws IOException {
+        ReviewHistory history = new ReviewHistory(file);
+        if (Files.isRegularFile(file)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a review log: " + file);
+            }
+            // A torn record at the end (crash while appending) is ignored.
+            while (buffer.remaining() >= RECORD_SIZE) {
+                history.apply(buffer.getLong(), buffer.getLong(), buffer.get());
+                history.recordCount++;
+            }
+            if (history.recordCount > Math.max(1024, 2L * history.cardCount) || buffer.hasRemaining()) {
+                history.compact();
+            }
+        } else {
+            history.compact();
+        }
+        return history;
+    }
+
+    /**
+     * Opens the review log kept for a deck folder (see {@link CacheFiles}). If the log cannot be
+     * opened, the history is only kept in memory for this session. The logs of the least recently
+     * played decks are deleted beyond {@link CacheFiles#MAX_ENTRIES}.
+     *
+     * @param folder The deck folder.
+     * @return The history of the deck.
+     */
+
+    public static ReviewHistory forFolder(File folder) {
+        Path file = CacheFiles.fileFor(folder, "reviews", ".log");
+        // Cards wait up to a month in the last box, so review logs are bounded by the number of decks, not by age.
+        CacheFiles.markUsed(file);
+        CacheFiles.evictInBackground("reviews", ".log", Long.MAX_VALUE, 0);
+        try {
+            return open(file);
+        } catch (IOException event) {
+            event.printStackTrace();
+            return inMemory();
+        }
+    }
+
+    /**
+     * Computes the id under which a card is remembered. Cards directly in the deck folder keep the id
+     * of their file name.
+     *
+     * @param cardPath The path of the card relative to the deck, see
+     *        {@link ch.csbe.flashcardgame.deck.CardSource#getPath(int)}.
+     * @return The card id, never 0.
+     */
+
+    public static long cardId(String cardPath) {
+        long id = ContentHash.of(cardPath.getBytes(StandardCharsets.UTF_8));
+        return id == 0 ? 1 : id;
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The box of the card, 0 for a card that was never answered.
+     */
+
+    public synchronized int getBox(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : boxes[slot];
+    }
+
+    /**
+     * @param cardId The id of the card.
+     * @return The time the card is due, 0 for a card that was never answered.
+     */
+
+    public synchronized long getDue(long cardId) {
+        int slot = find(cardId);
+        return ids[slot] == 0 ? 0 : dues[slot];
+    }
+
+    /**
+     * Records the new state of a card and appends it to the log.
+     *
+     * @param cardId The id of the card.
+     * @param box The new box of the card.
+     * @param dueAt The time the card is due again.
+     * @throws IOException If the record cannot be written.
+     */
+
+    public synchronized void record(long cardId, int box, long dueAt) throws IOException {
+        apply(cardId, dueAt, (byte) box);
+        if (file == null) {
+            return;
+        }
+        if (out == null) {
+            OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            out = new DataOutputStream(new BufferedOutputStream(stream));
+        }
+        writeRecord(out, cardId, dueAt, (byte) box);
+        recordCount++;
+        if (++unflushed >= FLUSH_INTERVAL) {
+            out.flush();
+            unflushed = 0;
+        }
+    }
+
+    /**
+     * Rewrites the log with only the latest record of every card.
+     *
+     * @throws IOException If the log cannot be written.
+     */
+
+    public synchronized void compact() throws IOException {
+        if (file == null) {
+            return;
+        }
+        closeStream();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "reviews", ".tmp");
+        try (DataOutputStream compacted = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            compacted.writeInt(MAGIC);
+            compacted.writeInt(VERSION);
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (ids[slot] != 0) {
+                    writeRecord(compacted, ids[slot], dues[slot], boxes[slot]);
+                }
+            }
+        } catch (IOException event) {
+            Files.deleteIfExists(temp);
+            throw event;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = cardCount;
+    }
+
+    /**
+     * @return The number of cards with a recorded state.
+     */
+
+    public synchronized int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * @return The number of records in the log file, including outdated ones.
+     */
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Flushes and closes the log. The history can still be used; the next record reopens the log.
+     */
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeStream();
+    }
+
+    private void closeStream() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            unflushed = 0;
+        }
+    }
+
+    // Stores a state in the hash table.
+    private void apply(long cardId, long dueAt, byte box) {
+        int slot = find(cardId);
+        if (ids[slot] == 0) {
+            ids[slot] = cardId;
+            cardCount++;
+        }
+        dues[slot] = dueAt;
+        boxes[slot] = box;
+        if (cardCount * 2 > ids.length) {
+            grow();
+        }
+    }
+
+    // Finds the slot of a card id, or the free slot where it belongs (linear probing).
+    private int find(long cardId) {
+        int mask = ids.length - 1;
+        int slot = (int) (cardId ^ (cardId >>> 32)) & mask;
+        while (ids[slot] != 0 && ids[slot] != cardId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Doubles the hash table.
+    private void grow() {
+        long[] oldIds = ids;
+        long[] oldDues = dues;
+        byte[] oldBoxes = boxes;
+        ids = new long[oldIds.length * 2];
+        dues = new long[oldIds.length * 2];
+        boxes = new byte[oldIds.length * 2];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = find(oldIds[i]);
+                ids[slot] = oldIds[i];
+                dues[slot] = oldDues[i];
+                boxes[slot] = oldBoxes[i];
+            }
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, long cardId, long dueAt, byte box) throws IOException {
+        out.writeLong(cardId);
+        out.writeLong(dueAt);
+        out.writeByte(box);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * The Score class is an immutable snapshot of how a session went.
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+public class Score {
+    // Number of correct and wrong answers.
+    private final int correct;
+    private final int wrong;
+    // Number of cards that were shown.
+    private final int cardsShown;
+    // Time from the start of the session until it was finished (or until now).
+    private final long elapsedMillis;
+
+    /**
+     * @param correct Number of correct answers.
+     * @param wrong Number of wrong answers.
+     * @param cardsShown Number of cards that were shown.
+     * @param elapsedMillis Duration of the session in milliseconds.
+     */
+
+    public Score(int correct, int wrong, int cardsShown, long elapsedMillis) {
+        this.correct = correct;
+        this.wrong = wrong;
+        this.cardsShown = cardsShown;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getCorrect() {
+        return correct;
+    }
+
+    public int getWrong() {
+        return wrong;
+    }
+
+    public int getCardsShown() {
+        return cardsShown;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return The share of correct answers among all answers, between 0 and 1.
+     */
+
+    public double getAccuracy() {
+        int attempts = correct + wrong;
+        return attempts == 0 ? 0 : (double) correct / attempts;
+    }
+
+    @Override
+    public String toString() {
+        long seconds = elapsedMillis / 1000;
+        return String.format("%d correct, %d wrong, %d cards in %d:%02d", correct, wrong, cardsShown, seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * The ShuffledScheduler class shows every card of a deck once, in a random order given by a seed.
+ * <p>
+ * The order is a {@link Permutation} of the cards sorted by their path in the deck, so the same seed
+ * replays the same order, whichever order the scanner found the cards in or whether they came from a
+ * cache. The first card is therefore picked once the scan is complete; until then the session waits
+ * for cards. Shuffling a deck of a million cards takes one array of indices and no allocation per card
+ * shown. Cards added to the folder after the current round started are shuffled among themselves in a
+ * further round.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.session;
+
+import java.util.Arrays;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+
+public class ShuffledScheduler implements CardScheduler {
+    // The deck whose cards are shown.
+    private final CardSource deck;
+    // Seed of the order.
+    private final long seed;
+    // First card of the current round, the round's cards sorted by path and their order.
+    private int roundStart = 0;
+    private int[] sorted = new int[0];
+    private Permutation round;
+    // Next position in the round.
+    private int position = 0;
+
+    /**
+     * @param deck The deck whose cards are shown.
+     * @param seed The seed of the order; the same seed gives the same order.
+     */
+
+    public ShuffledScheduler(CardSource deck, long seed) {
+        this.deck = deck;
+        this.seed = seed;
+        this.round = new Permutation(0, seed);
+    }
+
+    @Override
+    public int next() {
+        return hasNext() ? sorted[round.apply(position++)] : -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (true) {
+            // Cards deleted from the folder are skipped.
+            while (position < round.size()) {
+                if (!deck.isRemoved(sorted[round.apply(position)])) {
+                    return true;
+                }
+                position++;
+            }
+            int end = roundStart + round.size();
+            int size = deck.size();
+            // While the deck is scanned, its cards and their order are not known yet.
+            if (size <= end || !deck.isComplete()) {
+                return false;
+            }
+            roundStart = end;
+            sorted = sortedByPath(deck, end, size);
+            round = new Permutation(sorted.length, seed + end);
+            position = 0;
+        }
+    }
+
+    @Override
+    public int peek(int[] cards) {
+        // Only the current round is listed; the order of a further round is not known yet.
+        int count = 0;
+        for (int next = position; next < round.size() && count < cards.length; next++) {
+            int index = sorted[round.apply(next)];
+            if (!deck.isRemoved(index)) {
+                cards[count++] = index;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void answered(int index, boolean firstTry) {
+        // The order does not depend on answers.
+    }
+
+    /**
+     * Sorts a range of cards by their path in the deck, the order a seeded shuffle starts from.
+     *
+     * @param deck The deck holding the cards.
+     * @param start The index of the first card.
+     * @param end The index after the last card.
+     * @return The indices of the cards, sorted by path.
+     */
+
+    static int[] sortedByPath(CardSource deck, int start, int end) {
+        String[] paths = new String[end - start];
+        Integer[] order = new Integer[end - start];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = deck.getPath(start + i);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> paths[a].compareTo(paths[b]));
+        int[] sorted = new int[order.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = start + order[i];
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * The AnswerFeedback class tells the player while they type whether their answer is on the right track.
+ * <p>
+ * It listens to the document of the answer field and, after every keystroke, shows whether the trimmed
+ * input is the expected answer, the start of it, the answer or start of another card's answer (with a
+ * "did you mean" hint), or the start of no answer in the deck at all. The input is compared in place
+ * through a reused {@link Segment}: the expected answer is case-folded once per card and the other
+ * answers are looked up in the deck's {@link AnswerTrie}, so a keystroke allocates nothing while the
+ * player types at the end of the field. The label is only changed when the feedback changes, and a
+ * hint is only built when the suggested answer changes.
+ * </p>
+ * <p>
+ * After a wrong answer it names the card whose answer is nearest to the input, if one is within two
+ * edits and a third of the input's length ({@link AnswerTrie#findNearest}), so the player sees which
+ * cards they mixed up.
+ * </p>
+ * <p>
+ * The feedback can be switched off with -Dflashcardgame.feedback=false.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.Color;
+import java.nio.CharBuffer;
+
+import javax.swing.JLabel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+
+class AnswerFeedback implements DocumentListener {
+    // Show feedback while typing, configurable with -Dflashcardgame.feedback=false.
+    static final boolean ENABLED = !"false".equals(System.getProperty("flashcardgame.feedback"));
+
+    // Kinds of feedback.
+    private static final int EMPTY = 0;
+    private static final int CORRECT = 1;
+    private static final int ON_TRACK = 2;
+    private static final int OTHER_ANSWER = 3;
+    private static final int OTHER_PREFIX = 4;
+    private static final int NO_ANSWER = 5;
+    private static final int MIXED_UP = 6;
+    // Colors of the feedback.
+    private static final Color GOOD = new Color(0, 128, 0);
+    private static final Color HINT = new Color(176, 96, 0);
+    private static final Color BAD = new Color(176, 0, 0);
+
+    // Shows the feedback.
+    private final JLabel label;
+    // Receives the text of the field without copying it.
+    private final Segment text = new Segment();
+    // Case-folded expected answer of the current card, in a buffer reused for every card.
+    private char[] expected = new char[32];
+    private int expectedLength = -1;
+    // The cards of the deck and the prefix index of their answers; null until the index is built.
+    private CardSource cards;
+    private AnswerTrie answers;
+    // Feedback currently shown, and the card suggested by the hint.
+    private int shown = -1;
+    private int suggested = -1;
+
+    /**
+     * @param label The label the feedback is shown in.
+     */
+
+    AnswerFeedback(JLabel label) {
+        this.label = label;
+    }
+
+    /**
+     * Sets the answers the input is looked up in; called on the EDT once the deck's index is built.
+     *
+     * @param cards The cards of the deck, or null when no deck is played.
+     * @param answers The answer index of the deck, or null.
+     */
+
+    void setAnswers(CardSource cards, AnswerTrie answers) {
+        this.cards = cards;
+        this.answers = answers;
+        this.suggested = -1;
+    }
+
+    /**
+     * Sets the answer of the card that is shown and updates the feedback for the current input.
+     *
+     * @param answer The expected answer, or null if no card is shown.
+     * @param document The document of the answer field.
+     */
+
+    void setCard(String answer, Document document) {
+        if (answer == null) {
+            expectedLength = -1;
+        } else {
+            if (expected.length < answer.length()) {
+                expected = new char[answer.length() * 2];
+            }
+            for (int i = 0; i < answer.length(); i++) {
+                expected[i] = AnswerTrie.fold(answer.charAt(i));
+            }
+            expectedLength = answer.length();
+        }
+        update(document);
+    }
+
+    /**
+     * Shows the card whose answer is nearest to a wrong answer, if any is close enough.
+     *
+     * @param entered The wrong answer the player submitted.
+     */
+
+    void showNearest(String entered) {
+        if (answers == null || entered == null || expectedLength < 0) {
+            return;
+        }
+        String input = entered.trim();
+        int node = answers.findNearest(input, 0, input.length(), Math.min(2, Math.max(1, input.length() / 3)),
+                answers.find(CharBuffer.wrap(expected, 0, expectedLength), 0, expectedLength));
+        if (node >= 0) {
+            show(MIXED_UP, answers.getExample(node));
+        }
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent event) {
+        update(event.getDocument());
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent event) {
+        update(event.getDocument());
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent event) {
+        // Only attributes changed, the text is the same.
+    }
+
+    // Compares the input with the expected answer and the answer index and shows the result.
+    private void update(Document document) {
+        try {
+            document.getText(0, document.getLength(), text);
+        } catch (BadLocationException event) {
+            event.printStackTrace();
+            return;
+        }
+        // Trim the same characters as the answer rule.
+        int start = text.offset;
+        int end = text.offset + text.count;
+        while (start < end && text.array[start] <= ' ') {
+            start++;
+        }
+        while (end > start && text.array[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end || expectedLength < 0) {
+            show(EMPTY, -1);
+            return;
+        }
+        int length = end - start;
+        boolean prefix = length <= expectedLength;
+        for (int i = 0; i < length && prefix; i++) {
+            prefix = AnswerTrie.fold(text.array[start + i]) == expected[i];
+        }
+        if (prefix) {
+            show(length == expectedLength ? CORRECT : ON_TRACK, -1);
+        } else if (answers == null) {
+            // The index of the deck is not built yet, only the expected answer is known.
+            show(NO_ANSWER, -1);
+        } else {
+            int node = answers.find(text, start - text.offset, end - text.offset);
+            if (node < 0) {
+                show(NO_ANSWER, -1);
+            } else {
+                show(answers.isAnswer(node) ? OTHER_ANSWER : OTHER_PREFIX, answers.getExample(node));
+            }
+        }
+    }
+
+    // Changes the label if the feedback changed.
+    private void show(int feedback, int example) {
+        if (feedback == shown && example == suggested) {
+            return;
+        }
+        shown = feedback;
+        suggested = example;
+        switch (feedback) {
+            case CORRECT:
+                label.setForeground(GOOD);
+                label.setText("Correct, press Enter.");
+                break;
+            case ON_TRACK:
+                label.setForeground(GOOD);
+                label.setText("On the right track...");
+                break;
+            case OTHER_ANSWER:
+                label.setForeground(HINT);
+                label.setText("That is the answer of another card.");
+                break;
+            case OTHER_PREFIX:
+                label.setForeground(HINT);
+                label.setText("Did you mean \"" + cards.getAnswer(example) + "\"?");
+                break;
+            case MIXED_UP:
+                label.setForeground(HINT);
+                label.setText("Not this card, but close to \"" + cards.getAnswer(example) + "\" of another card.");
+                break;
+            case NO_ANSWER:
+                label.setForeground(BAD);
+                label.setText("No answer starts like this.");
+                break;
+            default:
+                label.setText(" ");
+        }
+    }
+}
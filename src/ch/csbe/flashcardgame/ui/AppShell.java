@@ -0,0 +1,175 @@
+/**
+ * The AppShell class is the content of the single top-level window of the game.
+ * <p>
+ * The screens (main, explanation, ready, question and finale) are panels that are created lazily when
+ * they are first shown and switched with a {@link CardLayout}, so the game needs one frame and one
+ * native peer instead of one per screen. Screens that are rarely shown implement
+ * {@link DisposableScreen}: they are removed again as soon as another screen is shown and can be
+ * garbage collected. ESC quits the game on every screen. With metrics on (see {@link Metrics}), F12
+ * shows them over the current screen. The {@link EdtWatchdog} logs the code that keeps the window from
+ * responding.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.CardLayout;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+import ch.csbe.flashcardgame.metrics.ScreenTransitionEvent;
+
+public class AppShell extends JPanel {
+    // Serialization ID for the class.
+    private static final long serialVersionUID = 4128723075385472981L;
+    // Client property holding the window title of a screen.
+    private static final String TITLE = "flashcardgame.title";
+    // Time to switch to another screen.
+    private static final Histogram SHOW_TIME = Metrics.histogram("screen.show");
+    // Singleton instance of the AppShell class.
+    private static AppShell instance;
+    // Switches between the screens.
+    private final CardLayout screens = new CardLayout();
+    // The screen currently shown.
+    private JComponent current;
+
+    /**
+     * Singleton pattern to ensure only one instance of AppShell is created.
+     *
+     * @return The existing instance of AppShell, or a new one if none exists.
+     */
+
+    public static AppShell getInstance() {
+        if (instance == null) {
+            instance = new AppShell();
+        }
+        return instance;
+    }
+
+    /**
+     * Private constructor for the AppShell class.
+     * Sets up the card layout and the ESC key that quits the game.
+     */
+
+    private AppShell() {
+        this.setLayout(screens);
+
+        // ESC closes the application, whichever component has the focus.
+        this.getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "quit");
+        this.getActionMap().put("quit", new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                System.exit(0);
+            }
+        });
+    }
+
+    /**
+     * Creates the top-level window of the game around the shell.
+     *
+     * @return The window, not visible yet.
+     */
+
+    public static JFrame createFrame() {
+        JFrame frame = new JFrame();
+        frame.setSize(825, 800);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setContentPane(getInstance());
+        if (Metrics.ENABLED) {
+            MetricsOverlay.install(frame);
+        }
+        if (EdtWatchdog.ENABLED) {
+            EdtWatchdog.install();
+        }
+        return frame;
+    }
+
+    /**
+     * Shows a screen, adding it to the shell the first time. If the previous screen is a
+     * {@link DisposableScreen}, it is removed and released.
+     *
+     * @param screen The screen to show.
+     */
+
+    public void showScreen(JComponent screen) {
+        long start = Metrics.start();
+        ScreenTransitionEvent transition = new ScreenTransitionEvent();
+        transition.begin();
+        String name = screen.getClass().getName();
+        if (screen.getParent() != this) {
+            this.add(screen, name);
+        }
+        screens.show(this, name);
+        JComponent previous = current;
+        current = screen;
+        if (previous != null && previous != screen && previous instanceof DisposableScreen) {
+            this.remove(previous);
+            ((DisposableScreen) previous).screenClosed();
+        }
+        applyTitle((String) screen.getClientProperty(TITLE));
+        this.revalidate();
+        this.repaint();
+        screen.requestFocusInWindow();
+        SHOW_TIME.recordSince(start);
+        transition.end();
+        if (transition.shouldCommit()) {
+            transition.from = previous != null ? previous.getClass().getSimpleName() : null;
+            transition.to = screen.getClass().getSimpleName();
+            transition.commit();
+        }
+    }
+
+    /**
+     * Sets the window title shown while a screen is visible.
+     *
+     * @param screen The screen.
+     * @param title The title.
+     */
+
+    public void setScreenTitle(JComponent screen, String title) {
+        screen.putClientProperty(TITLE, title);
+        if (screen == current) {
+            applyTitle(title);
+        }
+    }
+
+    /**
+     * @return The screen currently shown, or null before the first screen.
+     */
+
+    public JComponent getCurrentScreen() {
+        return current;
+    }
+
+    /**
+     * @return The number of screens currently held by the shell.
+     */
+
+    public int getScreenCount() {
+        return this.getComponentCount();
+    }
+
+    // Shows the title in the frame, if the shell is in one.
+    private void applyTitle(String title) {
+        Window window = SwingUtilities.getWindowAncestor(this);
+        if (window instanceof JFrame) {
+            ((JFrame) window).setTitle(title != null ? title : "");
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * The CardView class is the ready-to-paint form of a card's content.
+ * <p>
+ * Cards with markup are parsed into a Swing HTML {@link View}, exactly what a {@link javax.swing.JLabel}
+ * builds for an "&lt;html&gt;" text. Cards without any markup take a fast path: their whitespace is
+ * collapsed like HTML would do and the text is wrapped into lines when painted, without building a
+ * document. Image cards hold their image already scaled down by the {@link ImageDecoder}. All can be
+ * built on any thread, so the EDT only has to paint them.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.text.View;
+
+public class CardView {
+    // Rough cost of a parsed HTML document per character (text, elements, attributes and views).
+    private static final int HTML_BYTES_PER_CHAR = 24;
+    // Rough fixed cost of a view.
+    private static final int BASE_BYTES = 1024;
+
+    // The parsed HTML, or null for a plain card.
+    private final View html;
+    // The text of a plain card with collapsed whitespace, or null for an HTML or image card.
+    private final String text;
+    // The scaled image of an image card, or null.
+    private final BufferedImage image;
+    // The component the view is painted on, used for its font.
+    private final JComponent host;
+    // Estimated heap footprint in bytes.
+    private final long estimatedBytes;
+    // Lines of a plain card for the width they were wrapped at.
+    private List<String> lines;
+    private int linesWidth = -1;
+
+    private CardView(View html, String text, BufferedImage image, JComponent host, long estimatedBytes) {
+        this.html = html;
+        this.text = text;
+        this.image = image;
+        this.host = host;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Builds the view of a card. May be called from any thread.
+     *
+     * @param content The content of the card, as it would be put between "&lt;html&gt;" tags.
+     * @param host The component the view will be painted on.
+     * @return The view of the card.
+     */
+
+    public static CardView build(String content, JComponent host) {
+        if (content.indexOf('<') < 0 && content.indexOf('&') < 0) {
+            String collapsed = content.trim().replaceAll("\\s+", " ");
+            return new CardView(null, collapsed, null, host, BASE_BYTES + 2L * collapsed.length());
+        }
+        View view = BasicHTML.createHTMLView(host, "<html>" + content + "</html>");
+        return new CardView(view, null, null, host, BASE_BYTES + (long) HTML_BYTES_PER_CHAR * content.length());
+    }
+
+    /**
+     * Creates the view of an image card. Its footprint is the exact size of the image's pixel data.
+     *
+     * @param image The decoded and scaled image.
+     * @param host The component the view will be painted on.
+     * @return The view of the card.
+     */
+
+    public static CardView of(BufferedImage image, JComponent host) {
+        DataBuffer pixels = image.getRaster().getDataBuffer();
+        long pixelBytes = (long) pixels.getSize() * pixels.getNumBanks() * DataBuffer.getDataTypeSize(pixels.getDataType()) / 8;
+        return new CardView(null, null, image, host, BASE_BYTES + pixelBytes);
+    }
+
+    /**
+     * @return True if the card was parsed as HTML, false if it took the plain-text fast path.
+     */
+
+    public boolean isHtml() {
+        return html != null;
+    }
+
+    /**
+     * @return True if the view shows an image card.
+     */
+
+    public boolean isImage() {
+        return image != null;
+    }
+
+    /**
+     * @return The estimated heap footprint of the view in bytes.
+     */
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Paints the view left-aligned and vertically centred in an area, like a {@link javax.swing.JLabel}.
+     * Images are centred and scaled down further if the area became smaller than they are.
+     * Must be called on the EDT.
+     *
+     * @param graphics The graphics to paint with.
+     * @param area The area to paint in.
+     */
+
+    public void paint(Graphics graphics, Rectangle area) {
+        if (html != null) {
+            int width = Math.min(area.width, (int) html.getPreferredSpan(View.X_AXIS));
+            html.setSize(width, area.height);
+            int height = Math.min(area.height, (int) html.getPreferredSpan(View.Y_AXIS));
+            html.paint(graphics, new Rectangle(area.x, area.y + (area.height - height) / 2, width, height));
+            return;
+        }
+        if (image != null) {
+            double scale = Math.min(1, Math.min((double) area.width / image.getWidth(), (double) area.height / image.getHeight()));
+            int width = (int) (image.getWidth() * scale);
+            int height = (int) (image.getHeight() * scale);
+            graphics.drawImage(image, area.x + (area.width - width) / 2, area.y + (area.height - height) / 2, width, height, null);
+            return;
+        }
+        graphics.setFont(host.getFont());
+        graphics.setColor(host.getForeground());
+        FontMetrics metrics = graphics.getFontMetrics();
+        List<String> wrapped = wrap(metrics, area.width);
+        int y = area.y + (area.height - wrapped.size() * metrics.getHeight()) / 2 + metrics.getAscent();
+        for (String line : wrapped) {
+            graphics.drawString(line, area.x, y);
+            y += metrics.getHeight();
+        }
+    }
+
+    // Breaks the plain text into lines at spaces; the lines are kept until the width changes.
+    private List<String> wrap(FontMetrics metrics, int width) {
+        if (width == linesWidth) {
+            return lines;
+        }
+        List<String> result = new ArrayList<>();
+        int lineStart = 0;
+        int lastSpace = -1;
+        for (int pos = 0; pos <= text.length(); pos++) {
+            if (pos < text.length() && text.charAt(pos) != ' ') {
+                continue;
+            }
+            // A word ends at pos; move it to a new line if it does not fit anymore.
+            if (lastSpace > lineStart && metrics.stringWidth(text.substring(lineStart, pos)) > width) {
+                result.add(text.substring(lineStart, lastSpace));
+                lineStart = lastSpace + 1;
+            }
+            lastSpace = pos;
+        }
+        if (lineStart < text.length()) {
+            result.add(text.substring(lineStart));
+        }
+        lines = result;
+        linesWidth = width;
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+/**
+ * The CardViewCache class keeps the views of recently shown cards, so a card shown again is not
+ * parsed again.
+ * <p>
+ * Views are built on the "card-view-builder" thread once the card content is read; image cards are
+ * decoded and scaled down by the {@link ImageDecoder} instead. The cache is a least-recently-used map
+ * bounded by the estimated footprint of its views (system property "flashcardgame.viewCache.maxBytes",
+ * 32 MB by default), which for images is the exact size of their scaled pixels, so a deck of
+ * thousands of photos holds only a few of them at a time. A view that alone exceeds the bound is not
+ * kept. Hits, misses and evictions are counted.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.swing.JComponent;
+
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public class CardViewCache {
+    // Default bound of the cache, configurable with -Dflashcardgame.viewCache.maxBytes=N.
+    public static final long DEFAULT_MAX_BYTES = Long.getLong("flashcardgame.viewCache.maxBytes", 32L * 1024 * 1024);
+    // Shared builder thread, a daemon so it never keeps the application alive.
+    private static final ExecutorService BUILDER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "card-view-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Time to lay out the view of a text card.
+    private static final Histogram BUILD_TIME = Metrics.histogram("card.buildView");
+
+    // The component the views are painted on.
+    private final JComponent host;
+    // Upper bound of the estimated footprint of all cached views.
+    private final long maxBytes;
+    // Cached views by card index, in access order.
+    private final LinkedHashMap<Integer, CardView> views = new LinkedHashMap<>(16, 0.75f, true);
+    // Views that are being built, so a card is never built twice at once.
+    private final Map<Integer, CompletableFuture<CardView>> building = new HashMap<>();
+    // Estimated footprint of all cached views.
+    private long cachedBytes = 0;
+
+    // Metrics.
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param host The component the views are painted on.
+     * @param maxBytes Upper bound of the estimated footprint of all cached views.
+     */
+
+    public CardViewCache(JComponent host, long maxBytes) {
+        this.host = host;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param index The index of the card.
+     * @return The cached view of the card, or null. Counts as a hit or a miss.
+     */
+
+    public synchronized CardView get(int index) {
+        CardView view = views.get(index);
+        if (view != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return view;
+    }
+
+    /**
+     * Builds the view of a card in the background once its content is read, unless it is cached or
+     * already being built.
+     *
+     * @param index The index of the card.
+     * @param content The content of the card.
+     * @return A future holding the view.
+     */
+
+    public synchronized CompletableFuture<CardView> load(int index, CompletableFuture<String> content) {
+        CardView cached = views.get(index);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<CardView> view = building.get(index);
+        if (view == null) {
+            view = startBuilding(index, content.thenApplyAsync(this::build, BUILDER));
+        }
+        return view;
+    }
+
+    /**
+     * Decodes the image of an image card, unless its view is cached or already being built.
+     *
+     * @param index The index of the card.
+     * @param decode Starts decoding the scaled image, see {@link ImageDecoder}; only called if needed.
+     * @return A future holding the view.
+     */
+
+    public synchronized CompletableFuture<CardView> loadImage(int index, Supplier<CompletableFuture<BufferedImage>> decode) {
+        CardView cached = views.get(index);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<CardView> view = building.get(index);
+        if (view == null) {
+            view = startBuilding(index, decode.get().thenApply(image -> CardView.of(image, host)));
+        }
+        return view;
+    }
+
+    /**
+     * Drops the view of a card, e.g. because its file was edited. A view that is still being built is
+     * not cached once it is done.
+     *
+     * @param index The index of the card.
+     */
+
+    public synchronized void invalidate(int index) {
+        building.remove(index);
+        CardView removed = views.remove(index);
+        if (removed != null) {
+            cachedBytes -= removed.getEstimatedBytes();
+        }
+    }
+
+    /**
+     * @return The number of requests that found their view in the cache.
+     */
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return The number of requests that did not find their view in the cache.
+     */
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return The share of requests that found their view in the cache, between 0 and 1.
+     */
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return The number of views removed to stay within the bound.
+     */
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of cached views.
+     */
+
+    public synchronized int size() {
+        return views.size();
+    }
+
+    /**
+     * @return The estimated footprint of all cached views in bytes.
+     */
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    // Lays out the view of a text card on the builder thread.
+    private CardView build(String text) {
+        long start = Metrics.start();
+        CardView view = CardView.build(text, host);
+        BUILD_TIME.recordSince(start);
+        return view;
+    }
+
+    // Registers a view that is being built; it moves into the cache once it is done.
+    private CompletableFuture<CardView> startBuilding(int index, CompletableFuture<CardView> started) {
+        building.put(index, started);
+        started.whenComplete((built, error) -> finishBuilding(index, started, built));
+        return started;
+    }
+
+    // Moves a built view into the cache and evicts the least recently used views beyond the bound.
+    private synchronized void finishBuilding(int index, CompletableFuture<CardView> future, CardView view) {
+        if (building.get(index) != future) {
+            // Invalidated while it was built.
+            return;
+        }
+        building.remove(index);
+        if (view == null || view.getEstimatedBytes() > maxBytes) {
+            return;
+        }
+        CardView replaced = views.put(index, view);
+        if (replaced != null) {
+            cachedBytes -= replaced.getEstimatedBytes();
+        }
+        cachedBytes += view.getEstimatedBytes();
+        Iterator<CardView> eldest = views.values().iterator();
+        while (cachedBytes > maxBytes) {
+            cachedBytes -= eldest.next().getEstimatedBytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * The CardViewPanel class shows a {@link CardView} in the question window.
+ * <p>
+ * Showing a card only replaces the view and repaints, so a card that is already built costs no parsing
+ * on the EDT, no matter how often it is shown.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+
+public class CardViewPanel extends JComponent {
+    // Serialization ID for the class.
+    private static final long serialVersionUID = 2381562059436472185L;
+    // The view currently shown, or null.
+    private transient CardView view;
+
+    /**
+     * Shows a view.
+     *
+     * @param view The view to show.
+     */
+
+    public void setView(CardView view) {
+        this.view = view;
+        repaint();
+    }
+
+    /**
+     * Shows a short text such as "Loading...".
+     *
+     * @param text The text to show.
+     */
+
+    public void setText(String text) {
+        setView(CardView.build(text, this));
+    }
+
+    /**
+     * @return The view currently shown, or null.
+     */
+
+    public CardView getView() {
+        return view;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        super.paintComponent(graphics);
+        if (view != null) {
+            Insets insets = getInsets();
+            view.paint(graphics, new Rectangle(insets.left, insets.top,
+                    getWidth() - insets.left - insets.right, getHeight() - insets.top - insets.bottom));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * The DeckChooser class lets the user pick a deck: a folder of cards or a ZIP archive of one.
+ * <p>
+ * Archives are played without extracting them, see {@link ZipCardSource}. Only folders and archives are
+ * listed in the dialog.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.Component;
+import java.io.File;
+
+import javax.swing.JFileChooser;
+import javax.swing.filechooser.FileFilter;
+
+import ch.csbe.flashcardgame.deck.ZipCardSource;
+
+final class DeckChooser {
+
+    /**
+     * The DeckChooser class only provides static helpers.
+     */
+
+    private DeckChooser() {
+    }
+
+    /**
+     * Shows the dialog.
+     *
+     * @param parent The component the dialog belongs to.
+     * @return The picked folder or archive, or null if the user cancelled.
+     */
+
+    static File choose(Component parent) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        fileChooser.setFileFilter(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isDirectory() || ZipCardSource.isArchive(file);
+            }
+
+            @Override
+            public String getDescription() {
+                return "Deck folders and ZIP archives";
+            }
+        });
+
+        int option = fileChooser.showOpenDialog(parent);
+        return option == JFileChooser.APPROVE_OPTION ? fileChooser.getSelectedFile() : null;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * The DisposableScreen interface marks screens that are only kept while they are shown.
+ * <p>
+ * The {@link AppShell} removes such a screen as soon as another screen is shown and then calls
+ * {@link #screenClosed()}, so the screen can drop its singleton instance and be garbage collected.
+ * The next time it is needed, a fresh instance is created.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+interface DisposableScreen {
+
+    /**
+     * Called after the screen was removed from the shell.
+     */
+
+    void screenClosed();
+}
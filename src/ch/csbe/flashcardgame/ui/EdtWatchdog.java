@@ -0,0 +1,338 @@
+/**
+ * The EdtWatchdog class finds out what keeps the event dispatch thread (EDT) busy when the window freezes.
+ * <p>
+ * Every event the EDT dispatches passes through a queue that notes when the dispatch started. A
+ * background thread checks that time several times per threshold (system property
+ * "flashcardgame.watchdog.thresholdMillis", 500 ms by default). Once the EDT has been busy with one event
+ * for longer than the threshold, the watchdog takes a stack trace of the EDT, and takes another one on
+ * every check until the EDT is idle again. Each sample is attributed to a code path, the innermost method
+ * of the game on the EDT's stack (e.g. "QuestionWindow.loadNextMedia"), so the stall time sums up by the
+ * code that caused it.
+ * </p>
+ * <p>
+ * Every stall is written with its event, its first stack trace and its code paths to a rolling log
+ * ("edt-stalls.0.log" to "edt-stalls.4.log", 1 MB each) in the "logs" directory below
+ * {@link CacheFiles#directory()}, and the stall time of all code paths so far to "edt-stalls-summary.txt"
+ * next to it. Time spent in a modal dialog, such as the deck chooser waiting for the user, is not a stall;
+ * the work the dialog does on the EDT is. Stall durations are accurate to one check interval.
+ * The watchdog is on unless the system property "flashcardgame.watchdog" is false.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import ch.csbe.flashcardgame.deck.CacheFiles;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public final class EdtWatchdog {
+    // Watch the EDT, configurable with -Dflashcardgame.watchdog=false.
+    public static final boolean ENABLED = !"false".equals(System.getProperty("flashcardgame.watchdog"));
+    // Default stall threshold, configurable with -Dflashcardgame.watchdog.thresholdMillis=N.
+    public static final long DEFAULT_THRESHOLD_MILLIS = Math.max(10, Long.getLong("flashcardgame.watchdog.thresholdMillis", 500));
+    // Size and number of the rolling log files.
+    private static final int LOG_LIMIT_BYTES = 1024 * 1024;
+    private static final int LOG_FILES = 5;
+    // Frames of the first stack trace written per stall.
+    private static final int LOGGED_FRAMES = 40;
+    // Stack frames of the game, which name the code paths.
+    private static final String GAME_PACKAGE = "ch.csbe.flashcardgame.";
+    // Duration of the stalls, if metrics are on.
+    private static final Histogram STALL_TIME = Metrics.histogram("edt.stall");
+
+    // Single background thread checking the EDT, a daemon so it never keeps the application alive.
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "edt-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The installed watchdog, null before {@link #install()}.
+    private static EdtWatchdog instance;
+
+    // Dispatches longer than this are stalls.
+    private final long thresholdNanos;
+    // The rolling stall log; kept in a field so the logger is not garbage collected.
+    private final Logger log;
+    // File the summary of all code paths is written to.
+    private final Path summaryFile;
+
+    // Written by the EDT: when it started the event it is dispatching (0 while idle), and the event.
+    private volatile long busySince;
+    private volatile AWTEvent dispatching;
+    private volatile Thread dispatchThread;
+
+    // State of the open stall, only used by the watchdog thread. The stall is identified by the start
+    // of its dispatch, 0 if there is none.
+    private long openStall;
+    private long lastSample;
+    private String stalledEvent;
+    private StackTraceElement[] firstStack;
+    private final Map<String, Long> stallPaths = new LinkedHashMap<>();
+
+    // Stall time of all code paths so far, and the totals.
+    private final Map<String, CodePath> codePaths = new ConcurrentHashMap<>();
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong stallNanos = new AtomicLong();
+
+    /**
+     * Private constructor, the watchdog is started with {@link #install(long, Path)}.
+     */
+
+    private EdtWatchdog(long thresholdMillis, Path logDirectory) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.summaryFile = logDirectory.resolve("edt-stalls-summary.txt");
+        this.log = Logger.getLogger(EdtWatchdog.class.getName());
+        log.setUseParentHandlers(false);
+        try {
+            Files.createDirectories(logDirectory);
+            FileHandler handler = new FileHandler(logDirectory.resolve("edt-stalls.%g.log").toString(), LOG_LIMIT_BYTES, LOG_FILES, true);
+            handler.setEncoding("UTF-8");
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return String.format("%1$tF %1$tT %2$s%n", record.getMillis(), record.getMessage());
+                }
+            });
+            log.addHandler(handler);
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts watching the EDT with the default threshold and log directory. Only the first call installs
+     * the watchdog.
+     *
+     * @return The watchdog.
+     */
+
+    public static EdtWatchdog install() {
+        return install(DEFAULT_THRESHOLD_MILLIS, CacheFiles.directory().resolve("logs"));
+    }
+
+    /**
+     * Starts watching the EDT. Only the first call installs the watchdog; later calls return it unchanged.
+     *
+     * @param thresholdMillis How long the EDT may be busy with one event before it counts as a stall.
+     * @param logDirectory The directory of the stall log and summary.
+     * @return The watchdog.
+     */
+
+    public static synchronized EdtWatchdog install(long thresholdMillis, Path logDirectory) {
+        if (instance == null) {
+            instance = new EdtWatchdog(Math.max(10, thresholdMillis), logDirectory);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(instance.new WatchedQueue());
+            // Checking five times per threshold detects a stall at most a fifth of the threshold late.
+            long interval = Math.max(2, thresholdMillis / 5);
+            WATCHDOG.scheduleWithFixedDelay(instance::check, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return instance;
+    }
+
+    /**
+     * @return The installed watchdog, or null if none was installed.
+     */
+
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return The number of stalls that have ended so far.
+     */
+
+    public long getStallCount() {
+        return stalls.get();
+    }
+
+    /**
+     * @return The total time of the stalls that have ended so far, in milliseconds.
+     */
+
+    public long getStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallNanos.get());
+    }
+
+    /**
+     * @return The code paths that caused stalls, the one with the most stall time first, one per line
+     *         with their stall time and the number of stalls they appeared in.
+     */
+
+    public String report() {
+        List<CodePath> sorted = new ArrayList<>(codePaths.values());
+        sorted.sort(Comparator.comparingLong((CodePath path) -> path.nanos.get()).reversed());
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d stalls, %d ms in total%n", getStallCount(), getStallMillis()));
+        for (CodePath path : sorted) {
+            report.append(String.format("%8d ms %5d stalls  %s%n", TimeUnit.NANOSECONDS.toMillis(path.nanos.get()),
+                    path.stalls.get(), path.name));
+        }
+        return report.toString();
+    }
+
+    // Runs on the watchdog thread: ends a stall the EDT has left and samples the EDT while it stalls.
+    private void check() {
+        try {
+            long now = System.nanoTime();
+            long start = busySince;
+            if (openStall != 0 && start != openStall) {
+                // The EDT finished the event, or a modal dialog started dispatching events of its own.
+                stallEnded();
+            }
+            if (start == 0 || now - start < thresholdNanos) {
+                return;
+            }
+            Thread thread = dispatchThread;
+            AWTEvent event = dispatching;
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (busySince != start) {
+                // The stack may already belong to the next event.
+                return;
+            }
+            if (openStall != start) {
+                openStall = start;
+                lastSample = start;
+                stalledEvent = describe(event);
+                firstStack = stack;
+                stallPaths.clear();
+            }
+            // The time since the last sample is attributed to the code the EDT is running now.
+            stallPaths.merge(codePath(stack), now - lastSample, Long::sum);
+            lastSample = now;
+        } catch (RuntimeException event) {
+            // An exception would cancel the scheduled checks.
+            event.printStackTrace();
+        }
+    }
+
+    // Records the open stall, writes it to the log and rewrites the summary.
+    private void stallEnded() {
+        long duration = lastSample - openStall;
+        stalls.incrementAndGet();
+        stallNanos.addAndGet(duration);
+        if (Metrics.ENABLED) {
+            STALL_TIME.recordNanos(duration);
+        }
+        StringBuilder entry = new StringBuilder();
+        entry.append(String.format("EDT stall of at least %d ms while dispatching %s%n",
+                TimeUnit.NANOSECONDS.toMillis(duration), stalledEvent));
+        entry.append("  code paths:");
+        for (Map.Entry<String, Long> path : stallPaths.entrySet()) {
+            codePaths.computeIfAbsent(path.getKey(), CodePath::new).add(path.getValue());
+            entry.append(String.format(" %s (%d ms)", path.getKey(), TimeUnit.NANOSECONDS.toMillis(path.getValue())));
+        }
+        entry.append(String.format("%n  stack when detected:%n"));
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, firstStack.length); i++) {
+            entry.append(String.format("    at %s%n", firstStack[i]));
+        }
+        log.info(entry.toString().trim());
+        openStall = 0;
+        firstStack = null;
+        stallPaths.clear();
+        writeSummary();
+    }
+
+    // Replaces the summary file at once, so readers never see half a summary.
+    private void writeSummary() {
+        try {
+            Path temp = Files.createTempFile(summaryFile.getParent(), "edt-stalls", ".tmp");
+            Files.write(temp, report().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, summaryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException event) {
+            event.printStackTrace();
+        }
+    }
+
+    // The innermost method of the game on the stack, e.g. "ch.csbe.flashcardgame.ui.MainWindow.actionPerformed",
+    // or the top of the stack if the EDT is not running game code.
+    private static String codePath(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(GAME_PACKAGE) && !frame.getClassName().startsWith(EdtWatchdog.class.getName())) {
+                return frame.getClassName() + "." + frame.getMethodName();
+            }
+        }
+        return stack.length > 0 ? stack[0].getClassName() + "." + stack[0].getMethodName() : "unknown";
+    }
+
+    // A short description of an event, e.g. "ActionEvent "START" from JButton".
+    private static String describe(AWTEvent event) {
+        if (event == null) {
+            return "unknown event";
+        }
+        String command = event instanceof ActionEvent ? " \"" + ((ActionEvent) event).getActionCommand() + "\"" : "";
+        return event.getClass().getSimpleName() + command + " from " + event.getSource().getClass().getSimpleName();
+    }
+
+    /**
+     * The WatchedQueue class replaces the system event queue and notes when the EDT starts and finishes
+     * dispatching an event.
+     */
+
+    private class WatchedQueue extends EventQueue {
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long outerStart = busySince;
+            AWTEvent outerEvent = dispatching;
+            dispatchThread = Thread.currentThread();
+            dispatching = event;
+            busySince = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                // After a nested dispatch (inside a modal dialog) the outer event continues from now on.
+                dispatching = outerEvent;
+                busySince = outerStart != 0 ? System.nanoTime() : 0;
+            }
+        }
+    }
+
+    /**
+     * The CodePath class sums up the stall time of one code path.
+     */
+
+    private static class CodePath {
+        private final String name;
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong stalls = new AtomicLong();
+
+        private CodePath(String name) {
+            this.name = name;
+        }
+
+        // Adds the time of one stall.
+        private void add(long stallNanos) {
+            nanos.addAndGet(stallNanos);
+            stalls.incrementAndGet();
+        }
+    }
+}
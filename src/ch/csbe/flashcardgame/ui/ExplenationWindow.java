@@ -1,6 +1,7 @@
 /**
- * The ExplenationWindow class represents a GUI window that provides instructions on how to set up the game.
- * The user can navigate back to the main window using a "BACK" button.
+ * The ExplenationWindow class represents a screen that provides instructions on how to set up the game.
+ * The user can navigate back to the main screen using a "BACK" button. The screen is released when it
+ * is left, see {@link DisposableScreen}.
  * 
  * @author Stefan Mitric
  * @version 1.0
@@ -13,16 +14,14 @@ import java.awt.Dimension;
 import java.awt.Font; 
 import java.awt.event.ActionEvent; 
 import java.awt.event.ActionListener;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
 import javax.swing.JButton;
-import javax.swing.JFrame; 
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
+import javax.swing.JPanel;
 import javax.swing.JTextArea; 
 
 	 
-public class ExplenationWindow extends JFrame implements ActionListener {
+public class ExplenationWindow extends JPanel implements ActionListener, DisposableScreen {
 	// Serialization ID for the class.
 	private static final long serialVersionUID = 1L;
 	// Singleton instance of the ExplenationWindow class.
@@ -48,22 +47,12 @@ public class ExplenationWindow extends JFrame implements ActionListener {
 	    }
 	    /**
 	     * Private constructor for the ExplenationWindow class.
-	     * Initializes the UI components, sets the window size, and configures event listeners.
+	     * Initializes the UI components and configures event listeners.
 	     */
 	    private ExplenationWindow() {
-	    	// Setting the window size.
-	        this.setSize(825, 800);
-	        
-	        // Add key listener to close the application when ESC is pressed.
-	        this.addKeyListener(new KeyAdapter() {
-	            @Override
-	            public void keyPressed(KeyEvent e) {
-	                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-	                    System.exit(0);
-	                }
-	            }
-	        });
-	        // Allowing the window to be focusable.
+	    	// Same layout the screen had as a frame; ESC is handled by the shell.
+	        this.setLayout(new BorderLayout());
+	        // Allowing the screen to be focusable.
 	        this.setFocusable(true);
 
 	        // Initializing the layered pane to hold UI components.
@@ -94,7 +83,7 @@ public class ExplenationWindow extends JFrame implements ActionListener {
 	        this.add(questionLabel, BorderLayout.NORTH);
 	        
 	        // Initializing the step-by-step instructions label.
-	        JLabel explenationLabel = new JLabel("<html>1. Make a folder on your desktop and put your data (Text files) in it.<br/>"
+	        JLabel explenationLabel = new JLabel("<html>1. Make a folder on your desktop and put your data (Text files or PNG/JPEG/GIF images, named after the answer) in it.<br/>"
 	        		+ "2. Choose the Folder you wane use.<br/>"
 	        		+ "3. After you choosed click yes if you ready or not.<br/>"
 	        		+ "4. At the end you can see your score/time and rating. ");
@@ -114,12 +103,18 @@ public class ExplenationWindow extends JFrame implements ActionListener {
 
 		public void actionPerformed(ActionEvent event) {
 			// Handling the action when the "BACK" button is pressed.
-			ExplenationWindow explenationWindow = ExplenationWindow.getInstance(); 
-			explenationWindow.setVisible(false);
-			MainWindow mainWindow = MainWindow.getInstance(); 
-			mainWindow.setVisible(true); 
+			AppShell.getInstance().showScreen(MainWindow.getInstance());
+
+		}
+
+	    /**
+	     * Releases the screen once it was left; it is rarely shown twice.
+	     */
 
-		}  
+		@Override
+		public void screenClosed() {
+			instance = null;
+		}
 }
 	
 	 
\ No newline at end of file
@@ -1,8 +1,9 @@
 /**
- * The FinaleWindow class represents the final GUI window that appears at the end of a game session.
+ * The FinaleWindow class represents the final screen that appears at the end of a game session.
  * <p>
- * This window provides options for the user to either retry, return to the home screen, or quit the game.
- * Additionally, a motivational message is displayed to the user.
+ * This screen provides options for the user to either retry, return to the home screen, or quit the game.
+ * Additionally, a motivational message is displayed to the user. The screen is released when it is
+ * left, see {@link DisposableScreen}.
  * </p>
  * 
  * @author Stefan Mitric
@@ -17,11 +18,12 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
+import java.io.File;
 import javax.swing.*;
 
-public class FinaleWindow extends JFrame implements ActionListener {
+import ch.csbe.flashcardgame.session.DeckSession;
+
+public class FinaleWindow extends JPanel implements ActionListener, DisposableScreen {
 	// Serialization ID for the class.
 	private static final long serialVersionUID = 1L;
     // Singleton instance of the FinaleWindow class.
@@ -32,6 +34,8 @@ public class FinaleWindow extends JFrame implements ActionListener {
     private JButton quitButton;
     // Pane to manage layered items like buttons.
     private JLayeredPane buttonPane;
+    // Label showing the score and time of the finished session.
+    private JLabel scoreLabel;
     
 
     /**
@@ -52,25 +56,14 @@ public class FinaleWindow extends JFrame implements ActionListener {
  
     /**
      * Private constructor for the FinaleWindow class.
-     * Initializes the UI components, sets the window size, and configures event listeners.
+     * Initializes the UI components and configures event listeners.
      */
     
-    FinaleWindow() {
-    	// Setting the window size.
-        this.setSize(825, 800);
-        // Allowing the window to be focusable.
+    private FinaleWindow() {
+    	// Same layout the screen had as a frame; ESC is handled by the shell.
+        this.setLayout(new BorderLayout());
+        // Allowing the screen to be focusable.
         this.setFocusable(true);
-        
-        // Add key listener to close the application when ESC is pressed.
-        this.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-                    System.exit(0);
-                }
-            }
-        });
-      
 
         // Initializing the layered pane to hold UI components.
         buttonPane = new JLayeredPane();
@@ -104,6 +97,22 @@ public class FinaleWindow extends JFrame implements ActionListener {
         questionLabel.setFont(questionLabel.getFont().deriveFont(Font.BOLD, 20));
         this.add(questionLabel);
 
+        // Initializing the label for the score of the finished session.
+        scoreLabel = new JLabel();
+        scoreLabel.setHorizontalAlignment(JLabel.CENTER);
+        scoreLabel.setFont(scoreLabel.getFont().deriveFont(Font.PLAIN, 17));
+        this.add(scoreLabel, BorderLayout.PAGE_START);
+
+    }
+
+    /**
+     * Shows the score and time of a finished session.
+     * 
+     * @param session The finished session, or null to clear the score.
+     */
+    
+    public void showResult(DeckSession session) {
+        scoreLabel.setText(session != null ? session.getScore().toString() : "");
     }
     
     /**
@@ -116,24 +125,26 @@ public class FinaleWindow extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent event) {
     	  // Handling the actions for the "HOME", "RETRY", and "QUIT" buttons.
         if (event.getSource() == this.homeButton) {
-        	FinaleWindow finaleWindow = FinaleWindow.getInstance();
-        	finaleWindow.setVisible(false);
-            MainWindow mainWindow = MainWindow.getInstance();
-            mainWindow.setVisible(true);
+            AppShell.getInstance().showScreen(MainWindow.getInstance());
            
         } if (event.getSource() == this.retryButton) {
-    		JFileChooser fileChooser = new JFileChooser();
-    		fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-
-    		int option = fileChooser.showOpenDialog(this);
-    		if (option == JFileChooser.APPROVE_OPTION) {
+    		File selectedDeck = DeckChooser.choose(this);
+    		if (selectedDeck != null) {
     			ReadyWindow readyWindow = ReadyWindow.getInstance();
-    			readyWindow.setSelectedFolder(fileChooser.getSelectedFile());
-    			readyWindow.setVisible(true);
-    			this.setVisible(false);    	
+    			readyWindow.setSelectedFolder(selectedDeck);
+    			AppShell.getInstance().showScreen(readyWindow);
     		}
         	}	else if (event.getSource() == this.quitButton) {
         			System.exit(0); // This will close the program
     		}	
     	}
+
+    /**
+     * Releases the screen once it was left; a new one is created for the next finished session.
+     */
+
+    @Override
+    public void screenClosed() {
+        instance = null;
+    }
     }
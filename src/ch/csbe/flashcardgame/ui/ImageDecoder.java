@@ -0,0 +1,162 @@
+/**
+ * The ImageDecoder class decodes image cards on a background pool and scales them down to the size
+ * they are shown at.
+ * <p>
+ * A photo of 6000x4000 pixels takes 96 MB once decoded, the card area only a few. The decoder therefore
+ * asks ImageIO to skip source pixels while decoding (subsampling), so such an image never exists in
+ * memory at full size, and then scales the result down smoothly to fit the requested bounds. Images
+ * smaller than the bounds are not enlarged. Only the scaled image is kept by the {@link CardViewCache}.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import ch.csbe.flashcardgame.deck.CardFormat;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.metrics.CardReadEvent;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public final class ImageDecoder {
+    // Shared decoding pool, daemon threads so they never keep the application alive. Decoding is CPU
+    // bound, so one core is left to the EDT.
+    private static final ExecutorService DECODERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), runnable -> {
+                Thread thread = new Thread(runnable, "card-image-decoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+    // Time to read, decode and scale an image card.
+    private static final Histogram DECODE_TIME = Metrics.histogram("card.decodeImage");
+
+    static {
+        // Buffer streams in memory instead of in temporary files.
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * The ImageDecoder class only provides static helpers.
+     */
+
+    private ImageDecoder() {
+    }
+
+    /**
+     * Decodes an image card on the background pool.
+     *
+     * @param deck The deck of the card.
+     * @param index The index of the card.
+     * @param maxWidth The largest width the image is shown at.
+     * @param maxHeight The largest height the image is shown at.
+     * @return A future holding the scaled image; it fails if the card cannot be read or decoded.
+     */
+
+    public static CompletableFuture<BufferedImage> decodeAsync(CardSource deck, int index, int maxWidth, int maxHeight) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = Metrics.start();
+            CardReadEvent read = new CardReadEvent();
+            read.begin();
+            try (InputStream content = deck.openContent(index)) {
+                return decode(content, maxWidth, maxHeight);
+            } catch (IOException event) {
+                read.failed = true;
+                throw new UncheckedIOException(event);
+            } finally {
+                DECODE_TIME.recordSince(start);
+                read.end();
+                if (read.shouldCommit()) {
+                    read.index = index;
+                    read.card = deck.getName(index);
+                    read.format = CardFormat.IMAGE.name();
+                    read.size = contentLength(deck, index);
+                    read.commit();
+                }
+            }
+        }, DECODERS);
+    }
+
+    /**
+     * Decodes an image and scales it down to fit the given bounds, keeping its aspect ratio.
+     * Of an animated GIF only the first frame is decoded.
+     *
+     * @param content The encoded image (PNG, JPEG or GIF).
+     * @param maxWidth The largest width of the result.
+     * @param maxHeight The largest height of the result.
+     * @return The scaled image.
+     * @throws IOException If the image cannot be read or its format is not supported.
+     */
+
+    public static BufferedImage decode(InputStream content, int maxWidth, int maxHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                double scale = Math.min(1, Math.min((double) maxWidth / width, (double) maxHeight / height));
+                int targetWidth = Math.max(1, (int) Math.round(width * scale));
+                int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+                // Skip source pixels while decoding, but keep at least twice the target size so the
+                // final scaling can still smooth the image.
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, (int) (1 / scale / 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                return scale(decoded, targetWidth, targetHeight);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // The size of a card for the flight recorder, -1 if it cannot be read.
+    private static long contentLength(CardSource deck, int index) {
+        try {
+            return deck.getContentLength(index);
+        } catch (IOException event) {
+            return -1;
+        }
+    }
+
+    // Scales an image down in steps of at most one half, which keeps bilinear filtering smooth.
+    private static BufferedImage scale(BufferedImage image, int targetWidth, int targetHeight) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+}
@@ -1,8 +1,9 @@
 /**
- * The MainWindow class represents the primary user interface window for the game.
+ * The MainWindow class represents the primary screen of the game.
  * <p>
- * This window provides options to the user to either start the game, learn how to set it up, or quit.
- * It is the first window users will interact with when launching the application.
+ * This screen provides options to the user to either start the game, learn how to set it up, or quit.
+ * It is the first screen users will interact with when launching the application, and it stays in the
+ * {@link AppShell} for the whole lifetime of the game.
  * </p>
  * 
  * @author Stefan Mitric
@@ -17,17 +18,15 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
+import java.io.File;
 import javax.swing.JButton;
-import javax.swing.JFileChooser;
-import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
+import javax.swing.JPanel;
 
 import ch.csbe.flashcardgame.ui.MainWindow; 
 
-public class MainWindow extends JFrame implements ActionListener {
+public class MainWindow extends JPanel implements ActionListener {
 	// Serialization ID for the class.
     private static final long serialVersionUID = 6575190792282698563L;
     // Singleton instance of the MainWindow class.
@@ -56,24 +55,13 @@ public class MainWindow extends JFrame implements ActionListener {
 
     /**
      * Private constructor for the MainWindow class.
-     * Initializes the UI components, sets the window size, and configures event listeners.
+     * Initializes the UI components and configures event listeners.
      */
     
     private MainWindow() {
-    	// Setting the window size.
-        this.setSize(825, 800);
-        
-        
-        // Add key listener to close the application when ESC is pressed.
-        this.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-                    System.exit(0);
-                }
-            }
-        });
-        // Allowing the window to be focusable.
+    	// Same layout the screen had as a frame; ESC is handled by the shell.
+        this.setLayout(new BorderLayout());
+        // Allowing the screen to be focusable.
         this.setFocusable(true);
 
         // Initializing the layered pane to hold UI components.
@@ -118,22 +106,16 @@ public class MainWindow extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent event) {
     	// Handling the action when the "HOW TO DO" button is pressed.
         if (event.getSource() == this.beginButton) {
-            MainWindow mainWindow = MainWindow.getInstance();
-            mainWindow.setVisible(false);
-            ExplenationWindow explenationWindow = ExplenationWindow.getInstance();
-            explenationWindow.setVisible(true);
+            AppShell.getInstance().showScreen(ExplenationWindow.getInstance());
             
             // Handling the action when the "START" button is pressed.
         } else if (event.getSource() == this.startButton) {
-            JFileChooser fileChooser = new JFileChooser();
-            fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-
-            int option = fileChooser.showOpenDialog(this);
-            if (option == JFileChooser.APPROVE_OPTION) {
+            // A deck folder or a ZIP archive of one.
+            File selectedDeck = DeckChooser.choose(this);
+            if (selectedDeck != null) {
             	ReadyWindow readyWindow = ReadyWindow.getInstance();
-            	readyWindow.setSelectedFolder(fileChooser.getSelectedFile());
-            	readyWindow.setVisible(true);
-                this.setVisible(false);
+            	readyWindow.setSelectedFolder(selectedDeck);
+            	AppShell.getInstance().showScreen(readyWindow);
             }
             // Handling the action when the "QUIT" button is pressed.
             } else if (event.getSource() == this.quitButton) {
@@ -0,0 +1,104 @@
+/**
+ * The MetricsOverlay class shows the game's metrics (see {@link Metrics}) over the current screen.
+ * <p>
+ * It is the glass pane of the game window and is toggled with F12. While it is hidden nothing is
+ * painted or refreshed; while it is visible the report is repainted twice a second. The overlay has no
+ * mouse listeners, so clicks and typing still reach the screen below it.
+ * </p>
+ *
+ * @author Stefan Mitric
+ * @version 1.0
+ * @since 17.10.2026
+ */
+
+package ch.csbe.flashcardgame.ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.KeyStroke;
+import javax.swing.Timer;
+
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+class MetricsOverlay extends JComponent {
+    // Serialization ID for the class.
+    private static final long serialVersionUID = -2318046419735861902L;
+    // How often the visible overlay is refreshed, in milliseconds.
+    private static final int REFRESH_MILLIS = 500;
+    // Space between the report and the edge of its background.
+    private static final int PADDING = 8;
+
+    // Repaints the overlay while it is visible.
+    private final Timer refresh = new Timer(REFRESH_MILLIS, event -> repaint());
+
+    /**
+     * Private constructor, the overlay is created by {@link #install(JFrame)}.
+     */
+
+    private MetricsOverlay() {
+        this.setOpaque(false);
+        this.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    }
+
+    /**
+     * Installs the overlay as the glass pane of a window and binds F12 to show and hide it.
+     *
+     * @param frame The game window.
+     */
+
+    static void install(JFrame frame) {
+        MetricsOverlay overlay = new MetricsOverlay();
+        frame.setGlassPane(overlay);
+        JComponent content = (JComponent) frame.getContentPane();
+        content.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F12, 0), "metrics");
+        content.getActionMap().put("metrics", new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                overlay.setVisible(!overlay.isVisible());
+            }
+        });
+    }
+
+    /**
+     * Starts refreshing while the overlay is visible and stops when it is hidden.
+     *
+     * @param visible True to show the overlay.
+     */
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (visible) {
+            refresh.start();
+        } else {
+            refresh.stop();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        String[] lines = Metrics.report().split("\\R");
+        FontMetrics metrics = graphics.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int height = lines.length * metrics.getHeight();
+        graphics.setColor(new Color(0, 0, 0, 180));
+        graphics.fillRect(0, 0, width + 2 * PADDING, height + 2 * PADDING);
+        graphics.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            graphics.drawString(lines[i], PADDING, PADDING + i * metrics.getHeight() + metrics.getAscent());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 /**
- * The QuestionWindow class provides a user interface for presenting questions to the user.
+ * The QuestionWindow class provides a screen for presenting questions to the user.
  * <p>
- * It displays content from text files and allows the user to answer. Once answered, the user can 
+ * It displays content from text and image files and allows the user to answer. Once answered, the user can 
  * check if their answer matches the file name (without extension). It provides buttons to navigate back 
- * to the main window, check answers, and finish the current session.
+ * to the main screen, check answers, and finish the current session. The screen stays in the
+ * {@link AppShell}, so its view cache survives between sessions; the deck is closed when a session ends.
+ * Very large cards are shown page by page, see {@link CardText}. While an answer is typed, it is
+ * checked against the answers of the deck after every keystroke, see {@link AnswerFeedback}.
  * </p>
  * 
  * @author Stefan Mitric
@@ -17,41 +20,94 @@ import java.awt.BorderLayout;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.JButton;
-import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
-public class QuestionWindow extends JFrame implements ActionListener {
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.CardFormat;
+import ch.csbe.flashcardgame.deck.CardPrefetcher;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.CardText;
+import ch.csbe.flashcardgame.deck.Deck;
+import ch.csbe.flashcardgame.deck.DeckScanner;
+import ch.csbe.flashcardgame.deck.DeckWatcher;
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+import ch.csbe.flashcardgame.session.CardScheduler;
+import ch.csbe.flashcardgame.session.DeckSession;
+import ch.csbe.flashcardgame.session.LeitnerScheduler;
+import ch.csbe.flashcardgame.session.LinearScheduler;
+import ch.csbe.flashcardgame.session.ResultJournal;
+import ch.csbe.flashcardgame.session.ReviewHistory;
+import ch.csbe.flashcardgame.session.ShuffledScheduler;
+
+public class QuestionWindow extends JPanel implements ActionListener {
 	// Serialization ID for the class.
     private static final long serialVersionUID = -8429055363017236971L;
+    // Time from asking for a card until it is shown.
+    private static final Histogram SHOW_TIME = Metrics.histogram("card.show");
     // Singleton instance of the QuestionWindow class.
     private static QuestionWindow instance;
-    // Array containing all the text files for questions.
-    private File[] listOfFiles;
-    // Label to display the media content.
-    private JLabel mediaContent;
+    // The deck that is currently played.
+    private transient Deck deck;
+    // The session state (current card, score) of the deck that is currently played.
+    private transient DeckSession session;
+    // Records every answer attempt of the current session, or null if the journal cannot be opened.
+    private transient ResultJournal journal;
+    // Completes once the journal of the previous session has been written and closed.
+    private transient CompletableFuture<Void> journalClosed = CompletableFuture.completedFuture(null);
+    // Listeners registered on the played deck, removed again when its session ends.
+    private transient Runnable changeListener;
+    private transient DeckWatcher.Listener cardListener;
+    // Set while the next card has not been found by the scanner yet.
+    private boolean waitingForCards = false;
+    // Coalesces scan updates so the EDT handles at most one pending update at a time.
+    private final AtomicBoolean scanUpdatePending = new AtomicBoolean();
+    // Shows the content of the current card.
+    private CardViewPanel mediaContent;
+    // Views of the cards of the current deck that were already built.
+    private transient CardViewCache viewCache;
     // Navigation and action buttons.
     private JButton backButton;
     private JButton checkButton;
     // Text field for user's answer.
     private JTextField textField;
-    // Name of the current file (without extension) serving as the answer.
-    private String currentFileName;
-    // Index of the current file being shown.
-    private int currentFileIndex = 0;
+    // Tells while typing whether the answer is on the right track, or null if switched off.
+    private transient AnswerFeedback feedback;
     // Button to finish the session.
 	private JButton finishButton;
+    // Reads the upcoming cards in the background so the EDT never blocks on file I/O.
+    private transient CardPrefetcher prefetcher;
+    // Index of the card whose content should currently be displayed.
+    private int displayedIndex = -1;
+    // Page of the displayed card that is shown, and its number of pages.
+    private int displayedPage = 0;
+    private int pageCount = 1;
+    // Page navigation, only visible for cards with more than one page.
+    private JPanel pageControls;
+    private JButton previousPageButton;
+    private JButton nextPageButton;
+    private JLabel pageLabel;
     
 	 // Constants for font styling which can be modified.
     private static final String FONT_NAME = "Arial";
     private static final int FONT_SIZE = 20;
+    // Size image cards are scaled to while the card area has not been laid out yet.
+    private static final int DEFAULT_IMAGE_WIDTH = 800;
+    private static final int DEFAULT_IMAGE_HEIGHT = 700;
+    // Number of cards read ahead, configurable with -Dflashcardgame.lookahead=N.
+    private static final int LOOKAHEAD = Integer.getInteger("flashcardgame.lookahead", CardPrefetcher.DEFAULT_LOOKAHEAD);
+    // Card order: spaced repetition by default, -Dflashcardgame.order=linear shows every card once in deck order,
+    // -Dflashcardgame.order=shuffle once in a random order (replayed with -Dflashcardgame.seed=N).
+    private static final boolean LINEAR_ORDER = "linear".equals(System.getProperty("flashcardgame.order"));
+    private static final boolean SHUFFLED_ORDER = "shuffle".equals(System.getProperty("flashcardgame.order"));
+    private static final long SEED = Long.getLong("flashcardgame.seed", System.nanoTime());
 
     /**
      * Singleton pattern to ensure only one instance of QuestionWindow is created.
@@ -68,29 +124,23 @@ public class QuestionWindow extends JFrame implements ActionListener {
 
     /**
      * Private constructor for the QuestionWindow class.
-     * Initializes the UI components, sets the window size, and configures event listeners.
+     * Initializes the UI components and configures event listeners.
      */
     
     private QuestionWindow() {
-        this.setSize(825, 800);
-        this.setDefaultCloseOperation(EXIT_ON_CLOSE);
+        // Same layout the screen had as a frame; ESC is handled by the shell.
+        this.setLayout(new BorderLayout());
 
-        // Initialize and set properties for the media content label.
-        this.mediaContent = new JLabel();
+        // Initialize and set properties for the media content panel.
+        this.mediaContent = new CardViewPanel();
         this.mediaContent.setFont(new Font(FONT_NAME, Font.PLAIN, FONT_SIZE));
         this.add(mediaContent, BorderLayout.CENTER);
 
-        // Add key listener to the entire window
-        this.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent event) {
-                if (event.getKeyCode() == KeyEvent.VK_ESCAPE) {
-                    System.exit(0);
-                }
-            }
-        });
         this.setFocusable(true);
 
+        // ESC and closing the window exit the JVM; the session is finished first so nothing recorded is lost.
+        Runtime.getRuntime().addShutdownHook(new Thread(this::finishOnExit, "session-shutdown"));
+
         // Top Container for navigation.
         JPanel topContainer = new JPanel();
         topContainer.setLayout(new BorderLayout());
@@ -100,6 +150,19 @@ public class QuestionWindow extends JFrame implements ActionListener {
         this.backButton.addActionListener(this);
         topContainer.add(this.backButton, BorderLayout.LINE_START);
 
+        // Page navigation for very large cards.
+        this.pageControls = new JPanel();
+        this.previousPageButton = new JButton("Previous page");
+        this.previousPageButton.addActionListener(this);
+        this.pageControls.add(this.previousPageButton);
+        this.pageLabel = new JLabel();
+        this.pageControls.add(this.pageLabel);
+        this.nextPageButton = new JButton("Next page");
+        this.nextPageButton.addActionListener(this);
+        this.pageControls.add(this.nextPageButton);
+        this.pageControls.setVisible(false);
+        topContainer.add(this.pageControls, BorderLayout.LINE_END);
+
         // Bottom Center container for user actions.
         JPanel bottomContainer = new JPanel();
         bottomContainer.setLayout(new BorderLayout());
@@ -116,57 +179,364 @@ public class QuestionWindow extends JFrame implements ActionListener {
         this.textField = new JTextField();
         this.textField.addActionListener(this);
         bottomContainer.add(textField, BorderLayout.CENTER);
+
+        // Feedback on the typed answer above the text field.
+        if (AnswerFeedback.ENABLED) {
+            JLabel feedbackLabel = new JLabel(" ");
+            this.feedback = new AnswerFeedback(feedbackLabel);
+            this.textField.getDocument().addDocumentListener(this.feedback);
+            bottomContainer.add(feedbackLabel, BorderLayout.PAGE_START);
+        }
     }
     
     /**
-     * Loads the next media content from the text files and displays it.
+     * Loads the next media content from the card files and displays it.
+     * The content is taken from the prefetcher; if it is not decoded yet a placeholder is shown
+     * until the background read completes.
+     * If the scanner has not found the next card yet, the card is shown as soon as it is found.
      * If no more files are left, transitions to the finale window.
      */
     
     private void loadNextMedia() {
         // ... [Load the next question from the file and display]
-        if (listOfFiles != null && currentFileIndex < listOfFiles.length) {
-            File file = listOfFiles[currentFileIndex++];
-            String fileName = file.getName().toLowerCase();
-
-            // Get the file name without extension
-            int pos = fileName.lastIndexOf(".");
-            if (pos > 0) {
-                currentFileName = fileName.substring(0, pos);
+        waitingForCards = false;
+        if (session != null && session.nextCard()) {
+            if (feedback != null) {
+                feedback.setCard(session.getCurrentAnswer(), textField.getDocument());
             }
+            showCard(session.getCurrentIndex());
+        } else if (session != null && session.isWaitingForCards()) {
+            // The scan is still running, continue as soon as the next card is found.
+            waitingForCards = true;
+            mediaContent.setText("Loading...");
+        } else {
+            // The singleton, a new window per finished session was never released.
+            FinaleWindow finaleWindow = FinaleWindow.getInstance();
+            finaleWindow.showResult(finishSession());
+            AppShell.getInstance().showScreen(finaleWindow);
+        }
+    }
 
-            if (fileName.endsWith(".txt")) {
-                try {
-                    String content = new String(Files.readAllBytes(file.toPath()));
-                    mediaContent.setText("<html>" + content + "</html>");
-                } catch (IOException event) {
-                    event.printStackTrace();
+    /**
+     * Shows a card, from the view cache if it was built before, otherwise once it is read and built.
+     * 
+     * @param index The index of the card.
+     */
+    
+    private void showCard(int index) {
+        displayedIndex = index;
+        displayedPage = 0;
+        pageCount = 1;
+        updatePageControls();
+        if (!CardFormat.isImage(deck.getCards().getName(index))) {
+            CardText.pageCountAsync(deck.getCards(), index).thenAccept(count -> SwingUtilities.invokeLater(() -> {
+                if (index == displayedIndex) {
+                    pageCount = count;
+                    updatePageControls();
                 }
-            }
-        
+            }));
+        }
+        long start = Metrics.start();
+        CardView cached = viewCache.get(index);
+        if (cached != null) {
+            // Shown before (e.g. a repeated card): no reading and no parsing needed.
+            mediaContent.setView(cached);
+            SHOW_TIME.recordSince(start);
         } else {
-            FinaleWindow finaleWindow = new FinaleWindow();
-            finaleWindow.setVisible(true);
-            this.setVisible(false);
+            CompletableFuture<CardView> view = loadView(index, prefetcher.take(index));
+            if (view.isDone()) {
+                showView(index, view, start);
+            } else {
+                // Not built yet: show a placeholder and swap in the view once it is built.
+                mediaContent.setText("Loading...");
+                view.whenComplete((built, error) -> SwingUtilities.invokeLater(() -> showView(index, view, start)));
+            }
         }
+        prepareViews();
     }
 
     /**
-     * Sets the selected folder from which the text files will be loaded for questions.
+     * Shows another page of the displayed card. Only that page is read and decoded, on the page reader thread.
      * 
-     * @param selectedFolder The folder containing text files.
+     * @param page The page, starting at 0.
+     */
+    
+    private void showPage(int page) {
+        int index = displayedIndex;
+        displayedPage = page;
+        updatePageControls();
+        CardView firstPage = page == 0 && viewCache != null ? viewCache.get(index) : null;
+        if (firstPage != null) {
+            mediaContent.setView(firstPage);
+            return;
+        }
+        CardText.readPageAsync(deck.getCards(), index, page)
+                .thenApply(text -> CardView.build(text, mediaContent))
+                .whenComplete((view, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                    } else if (index == displayedIndex && page == displayedPage) {
+                        mediaContent.setView(view);
+                    }
+                }));
+    }
+
+    /**
+     * Shows the page navigation if the displayed card has more than one page.
+     */
+    
+    private void updatePageControls() {
+        pageControls.setVisible(pageCount > 1);
+        pageLabel.setText("Page " + (displayedPage + 1) + " of " + pageCount);
+        previousPageButton.setEnabled(displayedPage > 0);
+        nextPageButton.setEnabled(displayedPage < pageCount - 1);
+    }
+
+    /**
+     * Starts building the view of a card: text cards from their content, image cards by decoding and
+     * scaling the image to the current size of the card area.
+     * 
+     * @param index The index of the card.
+     * @param content The content read by the prefetcher; a placeholder for image cards.
+     * @return A future holding the view.
+     */
+    
+    private CompletableFuture<CardView> loadView(int index, CompletableFuture<String> content) {
+        if (!CardFormat.isImage(deck.getCards().getName(index))) {
+            return viewCache.load(index, content);
+        }
+        int width = mediaContent.getWidth() > 0 ? mediaContent.getWidth() : DEFAULT_IMAGE_WIDTH;
+        int height = mediaContent.getHeight() > 0 ? mediaContent.getHeight() : DEFAULT_IMAGE_HEIGHT;
+        return viewCache.loadImage(index, () -> ImageDecoder.decodeAsync(deck.getCards(), index, width, height));
+    }
+
+    /**
+     * Shows the built view of a card, unless the user has already moved on to another card.
+     * 
+     * @param index The index of the card the view belongs to.
+     * @param view The completed future holding the view.
+     * @param start When the card was asked for, see {@link Metrics#start()}.
+     */
+    
+    private void showView(int index, CompletableFuture<CardView> view, long start) {
+        if (index != displayedIndex || view.isCancelled()) {
+            return;
+        }
+        try {
+            mediaContent.setView(view.join());
+            SHOW_TIME.recordSince(start);
+        } catch (RuntimeException event) {
+            event.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the cards the session shows next and builds their views, so they are ready when shown.
+     * These are the cards the scheduler picks, e.g. a card answered wrongly that comes back.
+     */
+    
+    private void prepareViews() {
+        int[] upcoming = session.getUpcomingCards(prefetcher.getLookahead());
+        prefetcher.prefetch(upcoming);
+        for (int next : upcoming) {
+            CompletableFuture<String> content = prefetcher.peek(next);
+            if (content != null) {
+                loadView(next, content);
+            }
+        }
+    }
+
+    /**
+     * Sets the selected folder from which the card files will be loaded for questions.
+     * The folder is opened as a {@link Deck} and a new session is started on it.
+     * 
+     * @param selectedFolder The folder containing card files, or a ZIP archive of it.
      */
     
     public void setSelectedFolder(File selectedFolder) {
         // ... [Set the selected folder and load the first question]
-        listOfFiles = selectedFolder.listFiles(file -> file.getName().toLowerCase().endsWith(".txt"));
-        currentFileIndex = 0;
+        startSession(Deck.open(selectedFolder));
+    }
 
-        // Debugging: Zeige die Anzahl der Dateien an
-        System.out.println("Anzahl der Dateien im Ordner: " + (listOfFiles != null ? listOfFiles.length : 0));
+    /**
+     * Starts a new session on an opened deck and shows its first card.
+     * 
+     * @param openedDeck The deck to play.
+     */
+    
+    public void startSession(Deck openedDeck) {
+        displayedIndex = -1;
+
+        // The previous session is over: its review history and journal are written before the new one starts.
+        if (session != null) {
+            session.finish();
+        }
+        removeListeners();
+        // Replace the prefetcher and scan of the previous deck, they would only keep reading files nobody needs.
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+        if (deck != null && deck != openedDeck) {
+            deck.close();
+        }
+        closeJournal();
+        // Views are kept by card index, so they can only be reused when the same deck is played again.
+        if (viewCache == null || deck != openedDeck) {
+            viewCache = new CardViewCache(mediaContent, CardViewCache.DEFAULT_MAX_BYTES);
+        }
+
+        deck = openedDeck;
+        journal = ResultJournal.forFolder(openedDeck.getFolder());
+        // Cards that repeat another card are skipped once the deck has been checked for duplicates.
+        CardSource distinctCards = openedDeck.getDistinctCards();
+        session = new DeckSession(distinctCards, createScheduler(openedDeck, distinctCards), journal);
+        changeListener = () -> {
+            if (scanUpdatePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> onScanUpdate(openedDeck));
+            }
+        };
+        cardListener = changed -> SwingUtilities.invokeLater(() -> onCardsChanged(openedDeck, changed));
+        openedDeck.addChangeListener(changeListener);
+        openedDeck.addCardListener(cardListener);
+        prefetcher = new CardPrefetcher(openedDeck.getCards(), LOOKAHEAD);
+        if (feedback != null) {
+            feedback.setAnswers(null, null);
+        }
+        // Other answers are only suggested, and told apart from typos, once the deck's answer index is built.
+        DeckSession started = session;
+        openedDeck.getAnswerIndex().thenAccept(answers -> {
+            started.setAnswerIndex(answers);
+            SwingUtilities.invokeLater(() -> {
+                if (deck == openedDeck && feedback != null) {
+                    feedback.setAnswers(openedDeck.getCards(), answers);
+                }
+            });
+        });
         loadNextMedia();
     }
 
+    /**
+     * Creates the scheduler that decides the card order of a new session.
+     * 
+     * @param openedDeck The deck to play.
+     * @param cards The cards of the deck that are played.
+     * @return A spaced-repetition scheduler backed by the deck's review history, or the linear or shuffled order.
+     */
+    
+    private CardScheduler createScheduler(Deck openedDeck, CardSource cards) {
+        if (LINEAR_ORDER) {
+            return new LinearScheduler(cards);
+        }
+        if (SHUFFLED_ORDER) {
+            return new ShuffledScheduler(cards, SEED);
+        }
+        return new LeitnerScheduler(cards, ReviewHistory.forFolder(openedDeck.getFolder()));
+    }
+
+    /**
+     * Called on the EDT after cards of the deck were edited or deleted in the folder.
+     * Drops their read-ahead content and views; the current card is shown again if it was edited.
+     * A deleted current card stays on screen so it can still be answered.
+     * 
+     * @param updated The deck the change belongs to.
+     * @param changed The indices of the edited or removed cards.
+     */
+    
+    private void onCardsChanged(Deck updated, int[] changed) {
+        if (updated != deck || viewCache == null) {
+            return;
+        }
+        boolean currentChanged = false;
+        for (int index : changed) {
+            viewCache.invalidate(index);
+            prefetcher.invalidate(index);
+            currentChanged |= index == displayedIndex;
+        }
+        if (currentChanged && !updated.getCards().isRemoved(displayedIndex)) {
+            showCard(displayedIndex);
+        }
+    }
+
+    /**
+     * Called on the EDT after the scanner has found new cards or finished, or the watched folder changed.
+     * Updates the card count in the title and shows the next card if the window was waiting for it.
+     * 
+     * @param updated The deck the scan update belongs to.
+     */
+    
+    private void onScanUpdate(Deck updated) {
+        scanUpdatePending.set(false);
+        if (updated != deck) {
+            return;
+        }
+        DeckScanner scanner = updated.getScanner();
+        AppShell.getInstance().setScreenTitle(this, scanner.isDone() ? "Cards: " + updated.getCardCount() : "Cards: " + updated.getCardCount() + " (scanning...)");
+        if (waitingForCards) {
+            loadNextMedia();
+        }
+    }
+
+    /**
+     * Finishes the current session, stops reading ahead and watching the deck, and releases the views.
+     * 
+     * @return The final session, or null if no session was running.
+     */
+    
+    private DeckSession finishSession() {
+        if (session != null) {
+            session.finish();
+        }
+        removeListeners();
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+        if (deck != null) {
+            deck.close();
+        }
+        closeJournal();
+        if (feedback != null) {
+            feedback.setAnswers(null, null);
+            feedback.setCard(null, textField.getDocument());
+        }
+        displayedIndex = -1;
+        viewCache = null;
+        return session;
+    }
+
+    /**
+     * Closes the journal of the current session. The remaining attempts are written in the background.
+     */
+    
+    private void closeJournal() {
+        if (journal != null) {
+            journalClosed = journal.closeAsync();
+            journal = null;
+        }
+    }
+
+    // Removes the listeners of the current session from its deck.
+    private void removeListeners() {
+        if (deck != null) {
+            deck.removeListeners(changeListener, cardListener);
+        }
+        changeListener = null;
+        cardListener = null;
+    }
+
+    // Called by the shutdown hook: finishes the current session, which closes its review history,
+    // and waits until the remaining attempts of the journals are on disk.
+    private void finishOnExit() {
+        DeckSession running = session;
+        if (running != null) {
+            running.finish();
+        }
+        ResultJournal open = journal;
+        if (open != null) {
+            open.close();
+        }
+        journalClosed.join();
+    }
+
     /**
      * Event handling method for the actions performed on the UI components of the QuestionWindow.
      * Handles the actions for the "HOW TO DO", "START", and "QUIT" buttons.
@@ -178,29 +548,82 @@ public class QuestionWindow extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent event) {
     	// ... [Handle user actions based on button pressed]
         if (event.getSource() == this.backButton) {
-            this.setVisible(false); // Schließt das aktuelle Fenster (QuestionWindow)
-            MainWindow mainWindow = MainWindow.getInstance();
-            mainWindow.setVisible(true);
+            AppShell.getInstance().showScreen(MainWindow.getInstance());
             
         }
             else if (event.getSource() == this.finishButton) {
-                this.setVisible(false); // Schließt das aktuelle Fenster (QuestionWindow)
                 FinaleWindow finaleWindow = FinaleWindow.getInstance();
-                finaleWindow.setVisible(true);
+                finaleWindow.showResult(finishSession());
+                AppShell.getInstance().showScreen(finaleWindow);
                 
+        } else if (event.getSource() == this.previousPageButton && displayedPage > 0) {
+            showPage(displayedPage - 1);
+        } else if (event.getSource() == this.nextPageButton && displayedPage < pageCount - 1) {
+            showPage(displayedPage + 1);
         } else if (event.getSource() == this.checkButton || event.getSource() == this.textField) {
-            String enteredName = this.textField.getText().trim();
-            if (enteredName.equalsIgnoreCase(currentFileName)) {
-                System.out.println("Richtig!");
-                loadNextMedia();
-            } else {
-                System.out.println("Falsch!");
-            }
+            submitAnswer(this.textField.getText());
         }
     }
 
+    /**
+     * Checks an answer against the current card and moves on to the next card if it is correct.
+     * The session records the attempt in the result journal. Small typos are forgiven, see
+     * {@link AnswerRule#TYPOS}.
+     * 
+     * @param enteredName The answer the user entered.
+     * @return True if the answer is correct.
+     */
+    
+    public boolean submitAnswer(String enteredName) {
+        if (session != null && session.submitAnswer(enteredName)) {
+            loadNextMedia();
+            return true;
+        }
+        if (feedback != null) {
+            // Tell the player which other card the answer belongs to, if it is near one.
+            feedback.showNearest(enteredName);
+        }
+        return false;
+    }
+
+    /**
+     * @return The card files found so far by the scan of the selected folder.
+     */
+    
     public File[] getListOfFiles() {
-        return listOfFiles;
+        return deck != null ? deck.getFiles() : null;
+    }
+
+    /**
+     * @return The scan of the selected folder, which exposes its progress and the total card count.
+     */
+    
+    public DeckScanner getScanner() {
+        return deck != null ? deck.getScanner() : null;
+    }
+
+    /**
+     * @return The session that is currently played, or null before the first deck was selected.
+     */
+    
+    public DeckSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return The prefetcher of the current deck, which also holds the cache hit/miss metrics.
+     */
+    
+    public CardPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * @return The cache of built card views, which exposes its hit rate and evictions.
+     */
+    
+    public CardViewCache getViewCache() {
+        return viewCache;
     }
 
 }
@@ -1,8 +1,11 @@
 /**
- * The ReadyWindow class represents a GUI window that prompts the user to confirm if they are ready to start.
+ * The ReadyWindow class represents a screen that prompts the user to confirm if they are ready to start.
  * <p>
- * This window provides options for the user to either proceed with the questions or go back to the main window.
- * Additionally, a message is displayed asking if the user is ready.
+ * This screen provides options for the user to either proceed with the questions or go back to the main screen.
+ * Additionally, a message is displayed asking if the user is ready. While the user decides, the deck is
+ * scanned and validated: repeated cards, broken cards, answers several cards share and files that are
+ * not cards are summarised above the question, and the full list is written to a report file. The
+ * screen is released when it is left, see {@link DisposableScreen}.
  * </p>
  * 
  * @author Stefan Mitric
@@ -17,28 +20,39 @@ import java.awt.Dimension;
 import java.awt.Font; 
 import java.awt.event.ActionEvent; 
 import java.awt.event.ActionListener;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import javax.swing.JButton;
-import javax.swing.JFrame; 
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
+import javax.swing.JPanel;
 import javax.swing.JTextArea; 
+import javax.swing.SwingUtilities;
+
+import ch.csbe.flashcardgame.deck.CardProblem;
+import ch.csbe.flashcardgame.deck.Deck;
+import ch.csbe.flashcardgame.deck.DeckValidation;
+import ch.csbe.flashcardgame.deck.DuplicateReport;
 
  
 
-public class ReadyWindow extends JFrame implements ActionListener {
+public class ReadyWindow extends JPanel implements ActionListener, DisposableScreen {
 	// Serialization ID for the class
 	private static final long serialVersionUID = 1L;
+	// Number of answer collisions listed by name.
+	private static final int LISTED_COLLISIONS = 5;
     // Singleton instance of the ReadyWindow class.
 	private static ReadyWindow instance;
 	// UI components for the window.
     private JButton readyButton;
     private JButton backButton;
     private JLayeredPane buttonPane;
- // Selected file to be used for questions.
-	private File selectedFile;
+	// Deck opened for the selected folder; it is scanned while the user decides.
+	private transient Deck deck;
+	// Shows the result of the validation of the deck.
+	private JLabel deckReport;
 
 	/**
      * Singleton pattern to ensure only one instance of ReadyWindow is created.
@@ -57,23 +71,12 @@ public class ReadyWindow extends JFrame implements ActionListener {
 
     /**
      * Private constructor for the ReadyWindow class.
-     * Initializes the UI components, sets the window size, and configures event listeners.
+     * Initializes the UI components and configures event listeners.
      */
     
     private ReadyWindow() {
-    	// Set the window size.
-        this.setSize(825, 800);
-        
-        // Add key listener to the entire window
-        this.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-            	 // If ESC key is pressed, exit the application.
-                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
-                    System.exit(0);
-                }
-            }
-        });
+    	// Same layout the screen had as a frame; ESC is handled by the shell.
+        this.setLayout(new BorderLayout());
         this.setFocusable(true);
 
         // Initialize the layered pane for UI elements.
@@ -104,6 +107,11 @@ public class ReadyWindow extends JFrame implements ActionListener {
         questionLabel.setHorizontalAlignment(JLabel.CENTER);
         questionLabel.setFont(questionLabel.getFont().deriveFont(Font.BOLD, 30));
         this.add(questionLabel, BorderLayout.CENTER);
+
+        // Initialize the label reporting repeated cards of the deck.
+        deckReport = new JLabel(" ");
+        deckReport.setHorizontalAlignment(JLabel.CENTER);
+        this.add(deckReport, BorderLayout.PAGE_START);
     }
 
     /**
@@ -117,31 +125,109 @@ public class ReadyWindow extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent event) {
         // Handle action when "YES" button is clicked.
         if (event.getSource() == this.readyButton) {
-            ReadyWindow readyWindow = ReadyWindow.getInstance(); 
-            readyWindow.setVisible(false);
             QuestionWindow questionWindow = QuestionWindow.getInstance(); 
-            questionWindow.setSelectedFolder(this.selectedFile);
-            questionWindow.setVisible(true); 
+            AppShell.getInstance().showScreen(questionWindow);
+            // The question window owns the deck from now on.
+            questionWindow.startSession(this.deck);
+            this.deck = null;
         } 
         // Handle action when "NO" button is clicked.
         else if (event.getSource() == this.backButton) {
-            ReadyWindow readyWindow = ReadyWindow.getInstance(); 
-            readyWindow.setVisible(false);
-            MainWindow mainWindow = MainWindow.getInstance();
-            mainWindow.setVisible(true);
+            // The deck will not be played, stop scanning it.
+            this.deck.close();
+            this.deck = null;
+            AppShell.getInstance().showScreen(MainWindow.getInstance());
 		 }  
 	}
 
+    /**
+     * Releases the screen once it was left; the deck has been handed over or closed by then.
+     */
+
+    @Override
+    public void screenClosed() {
+        instance = null;
+    }
+
 	 /**
-     * Sets the selected folder from which the text files will be loaded for questions.
+     * Sets the selected folder from which the card files will be loaded for questions.
+     * The folder is opened right away, so it is already scanned while the user decides.
      * 
-     * @param selectedFile The folder containing text files.
+     * @param selectedFile The folder containing card files, or a ZIP archive of it.
      */
 	
 	public void setSelectedFolder(File selectedFile) {
-		// Set the selected file.
-		this.selectedFile = selectedFile;
+		if (this.deck != null) {
+			this.deck.close();
+		}
+		this.deck = Deck.open(selectedFile);
+		Deck checked = this.deck;
+		deckReport.setText("Checking the deck...");
+		checked.validate().whenComplete((validation, error) -> SwingUtilities.invokeLater(() -> {
+			// Only the deck still on this screen is reported.
+			if (checked == this.deck) {
+				deckReport.setText(error == null ? describe(validation, checked.getReportFile()) : " ");
+			}
+		}));
+	}
+
+	/**
+	 * Describes the result of a deck validation for the user.
+	 * 
+	 * @param validation The result of the validation.
+	 * @param reportFile The file the full report was written to.
+	 * @return The description, as HTML.
+	 */
 	
+	private static String describe(DeckValidation validation, Path reportFile) {
+		DuplicateReport report = validation.getDuplicates();
+		StringBuilder text = new StringBuilder("<html><center>");
+		text.append(report.getCardCount()).append(" cards checked. ");
+		if (report.getRedundantCount() == 0) {
+			text.append("No card is repeated.");
+		} else {
+			text.append(report.getRedundantCount()).append(" repeated cards will be skipped (")
+					.append(report.getDuplicateGroupCount()).append(" cards appear more than once).");
+		}
+		// Collisions are listed below by answer.
+		String separator = "<br>Cards with problems: ";
+		for (CardProblem problem : CardProblem.values()) {
+			int count = validation.getProblemCount(problem);
+			if (count > 0 && problem != CardProblem.ANSWER_COLLISION) {
+				text.append(separator).append(count).append(" ").append(problem.getLabel());
+				separator = ", ";
+			}
+		}
+		if (!separator.startsWith("<br>")) {
+			text.append(".");
+		}
+		Map<String, List<String>> collisions = report.getAnswerCollisions();
+		if (!collisions.isEmpty()) {
+			text.append("<br>").append(collisions.size()).append(" answers are expected by several different cards: ");
+			int listed = 0;
+			for (Map.Entry<String, List<String>> collision : collisions.entrySet()) {
+				if (listed == LISTED_COLLISIONS) {
+					text.append(", ...");
+					break;
+				}
+				text.append(listed > 0 ? ", " : "").append(escape(collision.getKey()))
+						.append(" (").append(escape(String.join(", ", collision.getValue()))).append(")");
+				listed++;
+			}
+		}
+		if (!validation.getSkippedFiles().isEmpty()) {
+			text.append("<br>").append(validation.getSkippedFiles().size())
+					.append(" files are not part of the deck, they have no card extension.");
+		}
+		if (!validation.isClean()) {
+			text.append("<br>Report: ").append(escape(reportFile.toString()));
+		}
+		return text.append("</center></html>").toString();
+	}
+
+	// Escapes text for an HTML label.
+	private static String escape(String text) {
+		return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
 	}
 }
 
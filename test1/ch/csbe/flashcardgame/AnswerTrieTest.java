@@ -0,0 +1,36 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+public class AnswerTrieTest {
+
+    @Test
+    public void testPrefixesAreFoundIgnoringCase() {
+        CardSource cards = new FolderCardSource(new File[] {
+            new File("/deck", "Paris2.txt"),
+            new File("/deck", "Paris.txt"),
+            new File("/deck", "Panama.png"),
+            new File("/deck", "Zürich.txt"),
+        });
+        AnswerTrie answers = AnswerTrie.build(cards, () -> false);
+
+        int node = answers.find("  PAR", 2, 5);
+        assertTrue(node >= 0);
+        assertFalse(answers.isAnswer(node));
+        assertEquals("paris2", cards.getAnswer(answers.getExample(node)));
+        node = answers.find("paRIS", 0, 5);
+        assertTrue(answers.isAnswer(node));
+        assertEquals(1, answers.getExample(node));
+        assertEquals(3, answers.getExample(answers.find("ZÜ", 0, 2)));
+        assertEquals(-1, answers.find("pat", 0, 3));
+        assertEquals(-1, answers.find("paris22", 0, 7));
+    }
+}
@@ -0,0 +1,61 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+import ch.csbe.flashcardgame.grading.BulkGrader;
+
+public class BulkGraderTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testCsvSubmissionsAreGradedPerStudentAndCard() throws Exception {
+        File folder = decks.capitals();
+        File[] files = { new File(folder, "Paris.txt"), new File(folder, "Bern.txt") };
+        Path output = decks.newFolder("grades").toPath();
+        Path submissions = output.resolve("answers.csv");
+        Files.write(submissions, List.of(
+                "student,card,answer",
+                "anna,Paris.txt,  PARIS ",
+                "anna,bern.txt,Zurich",
+                "\"Meier, Ben\",Bern.txt,bern",
+                "\"Meier, Ben\",Rome.txt,rome"));
+
+        BulkGrader grader = new BulkGrader(new FolderCardSource(files));
+        grader.gradeCsv(submissions, output.resolve("students.csv"));
+        grader.writeCardStatistics(output.resolve("cards.csv"));
+
+        assertEquals(4, grader.getAnswerCount());
+        assertEquals(1, grader.getUnknownAnswerCount());
+        List<String> students = Files.readAllLines(output.resolve("students.csv"));
+        assertEquals(3, students.size());
+        assertTrue(students.contains("anna,2,1,1,0,50.0"));
+        assertTrue(students.contains("\"Meier, Ben\",2,1,0,1,100.0"));
+        List<String> cards = Files.readAllLines(output.resolve("cards.csv"));
+        assertEquals("Paris.txt,paris,1,1,100.0", cards.get(1));
+        assertEquals("Bern.txt,bern,2,1,50.0", cards.get(2));
+    }
+
+    @Test
+    public void testTyposAreOnlyForgivenWhenEnabled() throws Exception {
+        FolderCardSource cards = new FolderCardSource(new File[] { new File(decks.capitals(), "Paris.txt") });
+        Path output = decks.newFolder("grades").toPath();
+        Path submissions = output.resolve("answers.csv");
+        Files.write(submissions, List.of("anna,Paris.txt,Pairs"));
+
+        new BulkGrader(cards).gradeCsv(submissions, output.resolve("exact.csv"));
+        new BulkGrader(cards, 1).gradeCsv(submissions, output.resolve("typos.csv"));
+        assertTrue(Files.readAllLines(output.resolve("exact.csv")).contains("anna,1,0,1,0,0.0"));
+        assertTrue(Files.readAllLines(output.resolve("typos.csv")).contains("anna,1,1,0,0,100.0"));
+    }
+}
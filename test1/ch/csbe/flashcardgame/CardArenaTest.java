@@ -0,0 +1,51 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.CardArena;
+
+public class CardArenaTest {
+
+    @Test
+    public void testPackedCardsAreListedAndFound() {
+        CardArena arena = new CardArena(false);
+        File paris = new File("/decks/europe", "Paris.txt");
+        for (int i = 0; i < 1000; i++) {
+            arena.add(new File("/decks/unit" + (i % 7), "card" + i + ".txt"));
+        }
+        assertEquals(-1, arena.indexOf(paris));
+        assertEquals(1000, arena.add(paris));
+        assertEquals(1001, arena.add(new File("Zürich.png")));
+
+        assertEquals("Paris.txt", arena.getName(1000));
+        assertEquals("zürich", arena.getAnswer(1001));
+        assertEquals(paris, arena.getFile(1000));
+        assertEquals(1000, arena.indexOf(paris));
+        assertEquals(417, arena.indexOf(new File("/decks/unit4", "card417.txt")));
+        assertEquals(-1, arena.indexOf(new File("/decks/unit5", "card417.txt")));
+    }
+
+    @Test
+    public void testAnswersMatchLikeTheAnswerRule() {
+        String[] names = { "Paris.txt", "New York.html", "Zürich.png", "Kelvin.txt", "no extension", ".txt", "a.b.txt" };
+        String[] entered = { "paris", "  PARIS ", "pari", "new york", "NEW YORK", "zürich", "ZÜRICH", "zurich",
+                "Kelvin", "NO EXTENSION", ".txt", "a.b", "a", "", null };
+        for (boolean offHeap : new boolean[] { false, true }) {
+            CardArena arena = new CardArena(offHeap);
+            for (String name : names) {
+                arena.add(new File("/deck", name));
+            }
+            for (int index = 0; index < names.length; index++) {
+                for (String answer : entered) {
+                    assertEquals(names[index] + " / " + answer, AnswerRule.matches(answer, AnswerRule.fromFileName(names[index])),
+                            arena.matchesAnswer(index, answer));
+                }
+            }
+        }
+    }
+}
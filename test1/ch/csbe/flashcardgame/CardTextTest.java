@@ -0,0 +1,58 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardText;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+public class CardTextTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testPagesAddUpToTheWholeCard() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; builder.length() < 4 * CardText.PAGE_BYTES; i++) {
+            builder.append("Zürich, Genève and Lugano – line ").append(i).append(i % 7 == 0 ? "\n" : " ");
+        }
+        String text = builder.toString();
+        Path card = decks.newFolder("large-card").toPath().resolve("Switzerland.txt");
+        Files.write(card, text.getBytes(StandardCharsets.UTF_8));
+        FolderCardSource deck = new FolderCardSource(new File[] { card.toFile() });
+
+        int pages = CardText.pageCount(deck.getContentLength(0));
+        assertTrue(pages > 4);
+        StringBuilder joined = new StringBuilder();
+        for (int page = 0; page < pages; page++) {
+            String pageText = CardText.readPage(deck, 0, page);
+            assertTrue(pageText.getBytes(StandardCharsets.UTF_8).length <= CardText.PAGE_BYTES + CardText.BOUNDARY_SLACK);
+            joined.append(pageText);
+        }
+        assertEquals(text, joined.toString());
+        assertEquals(text, deck.readContent(0));
+    }
+
+    @Test
+    public void testDecodingIsExplicitAndLenient() throws Exception {
+        Path card = decks.newFolder("odd-card").toPath().resolve("Bern.txt");
+        byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+        byte[] text = "Bundesstadt der Schweiz ".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[bom.length + text.length + 1];
+        System.arraycopy(bom, 0, content, 0, bom.length);
+        System.arraycopy(text, 0, content, bom.length, text.length);
+        // A byte that is never valid in UTF-8.
+        content[content.length - 1] = (byte) 0xFF;
+        Files.write(card, content);
+
+        assertEquals("Bundesstadt der Schweiz \uFFFD", CardText.read(card));
+    }
+}
@@ -0,0 +1,43 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.ui.CardView;
+import ch.csbe.flashcardgame.ui.CardViewCache;
+import ch.csbe.flashcardgame.ui.CardViewPanel;
+
+public class CardViewCacheTest {
+
+    @Test
+    public void testPlainCardsSkipHtmlParsing() {
+        CardViewPanel panel = new CardViewPanel();
+        assertFalse(CardView.build("Capital of\n France", panel).isHtml());
+        assertTrue(CardView.build("Capital of <b>France</b>", panel).isHtml());
+        assertTrue(CardView.build("Fish &amp; Chips", panel).isHtml());
+    }
+
+    @Test
+    public void testCacheStaysWithinItsBound() throws Exception {
+        CardViewPanel panel = new CardViewPanel();
+        long cardBytes = CardView.build("<b>card</b>", panel).getEstimatedBytes();
+        CardViewCache cache = new CardViewCache(panel, 3 * cardBytes);
+        for (int index = 0; index < 5; index++) {
+            cache.load(index, CompletableFuture.completedFuture("<b>card</b>")).get();
+        }
+
+        // The views are moved into the cache right after they are built.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.getEvictionCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertNull(cache.get(0));
+        assertNotNull(cache.get(4));
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+}
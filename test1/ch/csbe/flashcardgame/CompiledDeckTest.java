@@ -0,0 +1,93 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CacheFiles;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.CompiledDeck;
+import ch.csbe.flashcardgame.deck.Deck;
+
+public class CompiledDeckTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    private File folder;
+    private Path deckFile;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = decks.capitals();
+        deckFile = decks.newFolder("compiled").toPath().resolve("test" + CompiledDeck.EXTENSION);
+    }
+
+    @Test
+    public void testCompiledDeckHoldsNamesAnswersAndContent() throws Exception {
+        File[] files = folder.listFiles();
+        CompiledDeck.compile(files, deckFile);
+
+        CompiledDeck deck = CompiledDeck.open(deckFile);
+        assertEquals(files.length, deck.size());
+        for (int i = 0; i < files.length; i++) {
+            assertEquals(files[i].getName(), deck.getName(i));
+            assertEquals(files[i].getName().toLowerCase().replace(".txt", ""), deck.getAnswer(i));
+            assertEquals(new String(Files.readAllBytes(files[i].toPath())), deck.readContent(i));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDecksAreEvicted() throws Exception {
+        Path cached = Files.createDirectories(CacheFiles.directory().resolve("decks"));
+        Path oldest = write(cached.resolve("a-1" + CompiledDeck.EXTENSION), 400, 1000);
+        Path older = write(cached.resolve("b-2" + CompiledDeck.EXTENSION), 400, 2000);
+        Path recent = write(cached.resolve("c-3" + CompiledDeck.EXTENSION), 400, 3000);
+        Path compiling = write(cached.resolve("compile42" + CompiledDeck.EXTENSION), 400, 0);
+        CacheFiles.markUsed(oldest);
+
+        assertEquals(1, CacheFiles.evict("decks", CompiledDeck.EXTENSION, 1000, 0));
+        assertTrue(Files.exists(oldest));
+        assertFalse(Files.exists(older));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(compiling));
+    }
+
+    @Test
+    public void testFingerprintChangesWhenFolderChanges() throws Exception {
+        long before = CompiledDeck.fingerprint(folder.listFiles());
+        Files.write(new File(folder, "Rome.txt").toPath(), "Capital of Italy".getBytes());
+
+        assertNotEquals(before, CompiledDeck.fingerprint(folder.listFiles()));
+    }
+
+    // Writes a file of the given size and last use.
+    private static Path write(Path file, int size, long lastUsed) throws Exception {
+        Files.write(file, new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastUsed));
+        return file;
+    }
+
+    @Test
+    public void testOutdatedCompiledDeckIsNotPlayed() throws Exception {
+        CompiledDeck.compile(folder.listFiles(), CompiledDeck.defaultLocation(folder));
+        Files.write(new File(folder, "Paris.txt").toPath(), "Capital of France, on the Seine".getBytes());
+
+        Deck deck = Deck.open(folder);
+        deck.getScanner().awaitCompletion();
+        CardSource cards = deck.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.getName(i).equals("Paris.txt")) {
+                assertEquals("Capital of France, on the Seine", cards.readContent(i));
+            }
+        }
+        deck.close();
+    }
+}
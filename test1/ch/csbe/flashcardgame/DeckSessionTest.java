@@ -0,0 +1,56 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+import ch.csbe.flashcardgame.session.DeckSession;
+
+public class DeckSessionTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    private CardSource deck;
+
+    @Before
+    public void setUp() throws Exception {
+        deck = new FolderCardSource(decks.capitals().listFiles());
+    }
+
+    @Test
+    public void testAnswersAreCheckedAndCounted() throws Exception {
+        DeckSession session = new DeckSession(deck);
+        assertTrue(session.nextCard());
+
+        String answer = session.getCurrentAnswer();
+        assertFalse(session.submitAnswer("wrong"));
+        assertTrue(session.submitAnswer("  " + answer.toUpperCase() + " "));
+        assertTrue(session.nextCard());
+        assertFalse(session.nextCard());
+        assertFalse(session.isWaitingForCards());
+
+        session.finish();
+        assertEquals(1, session.getScore().getCorrect());
+        assertEquals(1, session.getScore().getWrong());
+        assertEquals(2, session.getScore().getCardsShown());
+    }
+
+    @Test
+    public void testSessionsSharingADeckAreIndependent() {
+        DeckSession first = new DeckSession(deck);
+        DeckSession second = new DeckSession(deck);
+        first.nextCard();
+        first.nextCard();
+        second.nextCard();
+
+        assertEquals(1, first.getCurrentIndex());
+        assertEquals(0, second.getCurrentIndex());
+        assertTrue(second.submitAnswer(deck.getAnswer(0)));
+        assertEquals(0, first.getScore().getCorrect());
+    }
+}
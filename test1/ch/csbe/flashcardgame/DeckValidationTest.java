@@ -0,0 +1,67 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardProblem;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.DeckValidation;
+import ch.csbe.flashcardgame.deck.DuplicateReport;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+public class DeckValidationTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testBrokenCardsAndSkippedFilesAreReported() throws Exception {
+        File folder = decks.newFolder("deck");
+        File europe = new File(folder, "europe");
+        europe.mkdir();
+        File[] files = {
+            TestDecks.write(new File(folder, "Paris.txt"), "Capital of <b>France</b>"),
+            TestDecks.write(new File(folder, "Bern.txt"), " \n<br> "),
+            TestDecks.write(new File(folder, "Rome.txt"), new byte[] { 'I', 't', (byte) 0xC3, 0x28 }),
+            TestDecks.write(new File(folder, "Oslo.txt"), "Capital of <b>Norway"),
+            TestDecks.write(new File(folder, "Wien.txt"), "<p>Capital<br>of Austria"),
+            TestDecks.write(new File(folder, ".txt"), "No answer"),
+            TestDecks.write(new File(folder, "Map.png"), "not an image"),
+            TestDecks.write(new File(europe, "paris.txt"), "City on the Seine"),
+        };
+        TestDecks.write(new File(folder, "notes"), "Check the capitals");
+        TestDecks.write(new File(europe, "sources.md"), "Atlas");
+        CardSource cards = new FolderCardSource(files);
+
+        List<String> skipped = DeckValidation.findSkippedFiles(folder);
+        assertEquals(Arrays.asList(new File("europe", "sources.md").getPath(), "notes"), skipped);
+        DuplicateReport report = DuplicateReport.find(cards);
+        DeckValidation validation = new DeckValidation(folder, cards, report, skipped);
+        assertFalse(report.hasProblems(4));
+        assertTrue(report.hasProblem(1, CardProblem.EMPTY));
+        assertTrue(report.hasProblem(2, CardProblem.UNDECODABLE));
+        assertTrue(report.hasProblem(3, CardProblem.MALFORMED_HTML));
+        assertTrue(report.hasProblem(5, CardProblem.NO_NAME));
+        assertTrue(report.hasProblem(6, CardProblem.UNDECODABLE));
+        assertTrue(report.hasProblem(7, CardProblem.ANSWER_COLLISION));
+        assertEquals(2, validation.getProblemCount(CardProblem.ANSWER_COLLISION));
+        assertEquals(7, validation.getCardsWithProblems());
+        assertFalse(validation.isClean());
+
+        Path file = folder.toPath().resolve("report.txt");
+        validation.writeReport(file);
+        String written = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertTrue(written.contains("8 cards checked, 7 with problems, 0 repeated, 2 files skipped."));
+        assertTrue(written.contains("  Oslo.txt has malformed HTML"));
+        assertTrue(written.contains("  paris: Paris.txt, paris.txt"));
+    }
+}
@@ -0,0 +1,78 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardProblem;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.DistinctCardSource;
+import ch.csbe.flashcardgame.deck.DuplicateReport;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+public class DuplicateReportTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testRepeatedCardsAreSkippedAndSharedAnswersReported() throws Exception {
+        File folder = decks.capitals();
+        File europe = new File(folder, "europe");
+        europe.mkdir();
+        File[] files = {
+            new File(folder, "Paris.txt"),
+            new File(folder, "Bern.txt"),
+            TestDecks.write(new File(folder, "France.txt"), "Capital of France"),
+            TestDecks.write(new File(europe, "paris.txt"), "City on the Seine"),
+            TestDecks.write(new File(europe, "Rome.txt"), "Capital of France"),
+        };
+        CardSource cards = new FolderCardSource(files);
+
+        DuplicateReport report = DuplicateReport.find(cards);
+        assertEquals(5, report.getCardCount());
+        assertEquals(2, report.getRedundantCount());
+        assertEquals(1, report.getDuplicateGroupCount());
+        assertEquals(0, report.getOriginal(2));
+        assertEquals(0, report.getOriginal(4));
+        assertFalse(report.isRedundant(3));
+        assertEquals(Arrays.asList("Paris.txt", "paris.txt"), report.getAnswerCollisions().get("paris"));
+        assertEquals(1, report.getAnswerCollisions().size());
+
+        DistinctCardSource distinct = new DistinctCardSource(cards, CompletableFuture.completedFuture(report));
+        assertFalse(distinct.isRemoved(0));
+        assertTrue(distinct.isRemoved(2));
+    }
+
+    @Test
+    public void testCardThatCannotBeComparedIsReportedUnreadable() throws Exception {
+        File folder = decks.capitals();
+        File copy = TestDecks.write(new File(folder, "France.txt"), "Capital of France");
+        AtomicInteger opened = new AtomicInteger();
+        CardSource cards = new FolderCardSource(new File[] { new File(folder, "Paris.txt"), copy }) {
+            @Override
+            public InputStream openContent(int index) throws IOException {
+                // The copy disappears after it was hashed, before it is compared with Paris.txt.
+                if (index == 1 && opened.incrementAndGet() > 1) {
+                    throw new NoSuchFileException(copy.getPath());
+                }
+                return super.openContent(index);
+            }
+        };
+
+        DuplicateReport report = DuplicateReport.find(cards);
+        assertEquals(0, report.getRedundantCount());
+        assertEquals(1, report.getUnreadableCount());
+        assertTrue(report.hasProblem(1, CardProblem.UNREADABLE));
+        assertTrue(report.getError(1).contains("France.txt"));
+    }
+}
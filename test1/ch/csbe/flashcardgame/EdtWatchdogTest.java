@@ -0,0 +1,47 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.ui.EdtWatchdog;
+
+public class EdtWatchdogTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testStallIsLoggedWithItsCodePath() throws Exception {
+        Path logs = decks.newFolder("logs").toPath();
+        EdtWatchdog watchdog = EdtWatchdog.install(50, logs);
+        long before = watchdog.getStallCount();
+
+        SwingUtilities.invokeAndWait(EdtWatchdogTest::blockTheEdt);
+        // Let the watchdog notice that the EDT is idle again and write the summary.
+        Path summary = logs.resolve("edt-stalls-summary.txt");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Files.exists(summary) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(watchdog.getStallCount() > before);
+        assertTrue(watchdog.getStallMillis() >= 50);
+        assertTrue(watchdog.report().contains("EdtWatchdogTest.blockTheEdt"));
+        assertTrue(new String(Files.readAllBytes(summary)).contains("EdtWatchdogTest.blockTheEdt"));
+        assertTrue(new String(Files.readAllBytes(logs.resolve("edt-stalls.0.log"))).contains("at ch.csbe.flashcardgame.EdtWatchdogTest.blockTheEdt"));
+    }
+
+    private static void blockTheEdt() {
+        long end = System.currentTimeMillis() + 300;
+        while (System.currentTimeMillis() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CompiledDeck;
+import ch.csbe.flashcardgame.ui.CardView;
+import ch.csbe.flashcardgame.ui.CardViewPanel;
+import ch.csbe.flashcardgame.ui.ImageDecoder;
+
+public class ImageCardTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testLargeImageIsScaledToFit() throws Exception {
+        Path folder = decks.newFolder("image-cards").toPath();
+        File photo = folder.resolve("Matterhorn.png").toFile();
+        ImageIO.write(new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB), "png", photo);
+
+        BufferedImage scaled;
+        try (InputStream content = Files.newInputStream(photo.toPath())) {
+            scaled = ImageDecoder.decode(content, 600, 600);
+        }
+        assertEquals(600, scaled.getWidth());
+        assertEquals(400, scaled.getHeight());
+
+        // The cache is charged with the pixels of the scaled image, not of the file.
+        CardView view = CardView.of(scaled, new CardViewPanel());
+        assertTrue(view.isImage());
+        assertTrue(view.getEstimatedBytes() >= 600 * 400 * 4);
+        assertTrue(view.getEstimatedBytes() < 3000 * 2000);
+    }
+
+    @Test
+    public void testCompiledDeckKeepsImageBytes() throws Exception {
+        Path folder = decks.newFolder("image-deck").toPath();
+        File photo = folder.resolve("Eiger.gif").toFile();
+        ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "gif", photo);
+        File text = folder.resolve("Paris.txt").toFile();
+        Files.write(text.toPath(), "Capital of France".getBytes());
+
+        Path deckFile = folder.resolve("cards" + CompiledDeck.EXTENSION);
+        CompiledDeck.compile(new File[] { photo, text }, deckFile);
+        try (CompiledDeck deck = CompiledDeck.open(deckFile); InputStream content = deck.openContent(0)) {
+            assertEquals("eiger", deck.getAnswer(0));
+            assertArrayEquals(Files.readAllBytes(photo.toPath()), content.readAllBytes());
+            assertEquals("Capital of France", deck.readContent(1));
+        }
+    }
+}
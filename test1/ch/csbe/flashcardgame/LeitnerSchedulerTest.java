@@ -0,0 +1,117 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.CompiledDeck;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+import ch.csbe.flashcardgame.deck.ScannedCardSource;
+import ch.csbe.flashcardgame.session.LeitnerScheduler;
+import ch.csbe.flashcardgame.session.ReviewHistory;
+
+public class LeitnerSchedulerTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    private CardSource deck;
+    private long now = 1_000_000;
+
+    @Before
+    public void setUp() throws Exception {
+        deck = new FolderCardSource(decks.capitals().listFiles());
+    }
+
+    @Test
+    public void testWrongCardsComeBackAndKnownCardsWait() {
+        LeitnerScheduler scheduler = new LeitnerScheduler(deck, ReviewHistory.inMemory(), () -> now);
+        int first = scheduler.next();
+        int second = scheduler.next();
+        assertNotEquals(first, second);
+
+        scheduler.answered(first, true);
+        scheduler.answered(second, false);
+        assertEquals(2, scheduler.getBox(first));
+        assertEquals(1, scheduler.getBox(second));
+        assertEquals(second, scheduler.next());
+        assertFalse(scheduler.hasNext());
+
+        now += TimeUnit.DAYS.toMillis(1);
+        assertEquals(first, scheduler.next());
+    }
+
+    @Test
+    public void testUpcomingCardsAreTheCardsShownNext() {
+        File[] files = new File[20];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File("/deck", "Card" + i + ".txt");
+        }
+        LeitnerScheduler scheduler = new LeitnerScheduler(new FolderCardSource(files), ReviewHistory.inMemory(), () -> now);
+        Random random = new Random(3);
+        int[] upcoming = new int[4];
+        for (int round = 0; round < 60 && scheduler.hasNext(); round++) {
+            int count = scheduler.peek(upcoming);
+            int index = scheduler.next();
+            assertEquals(upcoming[0], index);
+            // Wrong cards come back, so the listed cards are only certain while no answer comes in between.
+            for (int i = 1; i < count && random.nextBoolean(); i++) {
+                assertEquals(upcoming[i], scheduler.next());
+                scheduler.answered(upcoming[i], true);
+            }
+            scheduler.answered(index, random.nextBoolean());
+            now++;
+        }
+    }
+
+    @Test
+    public void testHistorySurvivesReopeningAndCompaction() throws Exception {
+        Path log = decks.newFolder("reviews").toPath().resolve("deck.log");
+        ReviewHistory history = ReviewHistory.open(log);
+        for (int i = 0; i < 3000; i++) {
+            history.record(ReviewHistory.cardId("card" + (i % 10)), 1 + i % 5, i);
+        }
+        history.close();
+
+        ReviewHistory reopened = ReviewHistory.open(log);
+        assertEquals(10, reopened.getCardCount());
+        assertEquals(10, reopened.getRecordCount());
+        assertEquals(5, reopened.getBox(ReviewHistory.cardId("card9")));
+        assertEquals(2999, reopened.getDue(ReviewHistory.cardId("card9")));
+        reopened.close();
+    }
+
+    @Test
+    public void testCardsWithTheSameNameInSubFoldersAreRememberedApart() throws Exception {
+        File folder = decks.newFolder("deck");
+        File[] files = { new File(folder, "a/Paris.txt"), new File(folder, "b/Paris.txt") };
+        for (File file : files) {
+            file.getParentFile().mkdir();
+            Files.write(file.toPath(), "Capital of France".getBytes());
+        }
+        ScannedCardSource scanned = new ScannedCardSource(folder);
+        scanned.addAll(Arrays.asList(files));
+        Path deckFile = decks.newFolder("compiled").toPath().resolve("test" + CompiledDeck.EXTENSION);
+        CompiledDeck.compile(folder, files, deckFile);
+        CompiledDeck compiled = CompiledDeck.open(deckFile);
+        assertEquals("b/Paris.txt", scanned.getPath(1));
+        assertEquals("b/Paris.txt", compiled.getPath(1));
+        assertEquals("Paris.txt", compiled.getName(1));
+
+        LeitnerScheduler scheduler = new LeitnerScheduler(scanned, ReviewHistory.inMemory(), () -> now);
+        scheduler.answered(0, true);
+        scheduler.answered(1, false);
+        assertEquals(2, scheduler.getBox(0));
+        assertEquals(1, scheduler.getBox(1));
+    }
+}
@@ -0,0 +1,59 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.LiveCardSource;
+import ch.csbe.flashcardgame.deck.ScannedCardSource;
+
+public class LiveCardSourceTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    private File folder;
+    private LiveCardSource cards;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = decks.capitals();
+        ScannedCardSource scanned = new ScannedCardSource();
+        scanned.addAll(Arrays.asList(new File(folder, "Paris.txt"), new File(folder, "Bern.txt")));
+        scanned.complete();
+        cards = new LiveCardSource(scanned);
+        cards.track(scanned.toArray());
+    }
+
+    @Test
+    public void testChangesKeepIndicesStable() throws Exception {
+        File rome = new File(folder, "Rome.txt");
+        Files.write(rome.toPath(), "Capital of Italy".getBytes());
+        Files.write(new File(folder, "Paris.txt").toPath(), "Capitale de la France".getBytes());
+
+        int[] changed = cards.apply(Arrays.asList(rome, new File(folder, "Paris.txt")), Collections.singletonList(new File(folder, "Bern.txt")));
+        assertArrayEquals(new int[] { 0, 1 }, changed);
+        assertEquals(3, cards.size());
+        assertEquals(2, cards.getCardCount());
+        assertEquals("Capitale de la France", cards.readContent(0));
+        assertTrue(cards.isRemoved(1));
+        assertEquals("bern", cards.getAnswer(1));
+        assertEquals("rome", cards.getAnswer(2));
+    }
+
+    @Test
+    public void testRestoredCardIsShownAgain() {
+        File bern = new File(folder, "Bern.txt");
+        cards.apply(Collections.emptyList(), Collections.singletonList(bern));
+        assertArrayEquals(new int[] { 1 }, cards.apply(Collections.singletonList(bern), Collections.emptyList()));
+        assertFalse(cards.isRemoved(1));
+        assertEquals(2, cards.getFiles().length);
+    }
+}
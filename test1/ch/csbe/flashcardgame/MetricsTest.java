@@ -0,0 +1,33 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.metrics.Histogram;
+import ch.csbe.flashcardgame.metrics.Metrics;
+
+public class MetricsTest {
+
+    @Test
+    public void testPercentilesStayWithinOneBucket() {
+        Histogram histogram = Metrics.histogram("test.percentiles");
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.recordNanos(millis * 1_000_000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000_000L, histogram.getMaxNanos());
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 500_000_000L && median <= 500_000_000L * 9 / 8);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= 990_000_000L && p99 <= 1_000_000_000L);
+        assertTrue(Metrics.report().contains("test.percentiles"));
+    }
+
+    @Test
+    public void testNothingIsTimedWhileDisabled() {
+        Histogram histogram = Metrics.histogram("test.disabled");
+        histogram.recordSince(Metrics.start());
+        assertEquals(Metrics.ENABLED ? 1 : 0, histogram.getCount());
+    }
+}
@@ -22,13 +22,17 @@ public class QuestionWindowTest {
     }
 
     @Test
-    public void testLoadFilesFromFolder() {
+    public void testLoadFilesFromFolder() throws Exception {
         questionWindow.setSelectedFolder(folder);
+        // The folder is scanned in the background, wait until all files have been found.
+        questionWindow.getScanner().awaitCompletion();
         
         // Angenommen, es gibt 10 Dateien in Ihrem Ordner. Ändern Sie die Zahl entsprechend.
         int expectedFileCount = 3; 
 
         assertNotNull(questionWindow.getListOfFiles());
         assertEquals(expectedFileCount, questionWindow.getListOfFiles().length);
+        assertEquals(expectedFileCount, questionWindow.getScanner().getCardCount());
+        assertEquals(1.0, questionWindow.getScanner().getProgress(), 0.0);
     }
 }
@@ -0,0 +1,55 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.session.JournalStats;
+import ch.csbe.flashcardgame.session.ResultJournal;
+
+public class ResultJournalTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testAttemptsAreAggregatedPerCard() throws Exception {
+        Path file = decks.getRoot().toPath().resolve("deck.journal");
+        ResultJournal journal = ResultJournal.open(file, 1000);
+        for (int i = 0; i < 10000; i++) {
+            journal.record(1 + i % 3, "answer " + i, i % 4 != 0, 100);
+        }
+        journal.close();
+
+        JournalStats stats = JournalStats.read(file);
+        assertEquals(10000, stats.getTotalAttempts());
+        assertEquals(3, stats.getCardCount());
+        assertEquals(3334, stats.getAttempts(1));
+        assertEquals(0.75, stats.getAccuracy(2), 0.01);
+        assertEquals(100, stats.getAverageResponseMillis(3));
+        assertEquals(0, stats.getAttempts(4));
+    }
+
+    @Test
+    public void testTornRecordIsCutOffWhenReopened() throws Exception {
+        Path file = decks.getRoot().toPath().resolve("deck.journal");
+        ResultJournal journal = ResultJournal.open(file, 0);
+        journal.record(7, "Paris", true, 1500);
+        journal.close();
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length());
+            raw.write(new byte[10]);
+        }
+
+        journal = ResultJournal.open(file, 0);
+        journal.record(7, "Bern", false, 500);
+        journal.close();
+        JournalStats stats = JournalStats.read(file);
+        assertEquals(2, stats.getAttempts(7));
+        assertEquals(1, stats.getCorrect(7));
+    }
+}
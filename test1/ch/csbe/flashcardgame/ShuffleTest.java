@@ -0,0 +1,104 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+import ch.csbe.flashcardgame.deck.MultiDeckSource;
+import ch.csbe.flashcardgame.session.InterleavedScheduler;
+import ch.csbe.flashcardgame.session.Permutation;
+import ch.csbe.flashcardgame.session.ShuffledScheduler;
+
+public class ShuffleTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testPermutationIsASeededBijection() {
+        for (int size : new int[] {0, 1, 2, 7, 1000, 65_539}) {
+            Permutation permutation = new Permutation(size, 42);
+            boolean[] seen = new boolean[size];
+            int inPlace = 0;
+            for (int position = 0; position < size; position++) {
+                int value = permutation.apply(position);
+                assertFalse(seen[value]);
+                seen[value] = true;
+                assertEquals(value, new Permutation(size, 42).apply(position));
+                if (value == position) {
+                    inPlace++;
+                }
+            }
+            assertTrue(size < 1000 || inPlace < size / 100);
+        }
+        assertNotEquals(new Permutation(1000, 1).apply(0) * 1000 + new Permutation(1000, 1).apply(1),
+                new Permutation(1000, 2).apply(0) * 1000 + new Permutation(1000, 2).apply(1));
+    }
+
+    @Test
+    public void testDecksAreMixedByWeight() throws Exception {
+        MultiDeckSource mixed = new MultiDeckSource(deck("a", 30), deck("b", 10));
+        InterleavedScheduler scheduler = new InterleavedScheduler(mixed, new int[] {3, 1}, 7);
+        int[] perPart = new int[2];
+        boolean[] shown = new boolean[mixed.size()];
+        for (int i = 0; i < 20; i++) {
+            int index = scheduler.next();
+            perPart[mixed.getPart(index)]++;
+            shown[index] = true;
+        }
+        assertEquals(15, perPart[0]);
+        assertEquals(5, perPart[1]);
+        int index;
+        while ((index = scheduler.next()) >= 0) {
+            assertFalse(shown[index]);
+            shown[index] = true;
+        }
+        for (boolean card : shown) {
+            assertTrue(card);
+        }
+        assertTrue(mixed.getName(35).startsWith("b"));
+    }
+
+    @Test
+    public void testSeedReplaysTheOrderWhateverTheScanOrder() {
+        File[] files = new File[50];
+        File[] reversed = new File[files.length];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File("/deck", "Card" + i + ".txt");
+            reversed[files.length - 1 - i] = files[i];
+        }
+        CardSource deck = new FolderCardSource(files);
+        CardSource scannedBackwards = new FolderCardSource(reversed);
+        ShuffledScheduler scheduler = new ShuffledScheduler(deck, 11);
+        ShuffledScheduler replay = new ShuffledScheduler(scannedBackwards, 11);
+        for (int i = 0; i < files.length; i++) {
+            assertEquals(deck.getPath(scheduler.next()), scannedBackwards.getPath(replay.next()));
+        }
+        assertEquals(-1, scheduler.next());
+
+        // While the deck is scanned, no card is picked.
+        CardSource scanning = new FolderCardSource(files) {
+            @Override
+            public boolean isComplete() {
+                return false;
+            }
+        };
+        assertFalse(new ShuffledScheduler(scanning, 11).hasNext());
+    }
+
+    private CardSource deck(String prefix, int cards) throws Exception {
+        File folder = decks.newFolder();
+        File[] files = new File[cards];
+        for (int i = 0; i < cards; i++) {
+            files[i] = new File(folder, prefix + i + ".txt");
+            Files.write(files[i].toPath(), ("Card " + i).getBytes());
+        }
+        return new FolderCardSource(files);
+    }
+}
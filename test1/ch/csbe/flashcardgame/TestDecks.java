@@ -0,0 +1,43 @@
+package ch.csbe.flashcardgame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Temporary deck folders for tests, deleted after every test. The cache directory of the game
+ * ("flashcardgame.cacheDir") points into the temporary folder, so no test writes into the user's
+ * home directory.
+ */
+public class TestDecks extends TemporaryFolder {
+
+    @Override
+    protected void before() throws Throwable {
+        super.before();
+        // Not restored afterwards: a deck may still refresh its cache files in the background once
+        // the test is over, and they must not end up in the user's cache either.
+        System.setProperty("flashcardgame.cacheDir", newFolder("cache").getPath());
+    }
+
+    /**
+     * @return A new deck folder with the cards Paris.txt ("Capital of France") and Bern.txt
+     *         ("Capital of Switzerland").
+     */
+    public File capitals() throws IOException {
+        File folder = newFolder();
+        write(new File(folder, "Paris.txt"), "Capital of France");
+        write(new File(folder, "Bern.txt"), "Capital of Switzerland");
+        return folder;
+    }
+
+    public static File write(File file, String content) throws IOException {
+        return write(file, content.getBytes());
+    }
+
+    public static File write(File file, byte[] content) throws IOException {
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
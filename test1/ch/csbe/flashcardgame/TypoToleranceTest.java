@@ -0,0 +1,97 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.AnswerRule;
+import ch.csbe.flashcardgame.deck.AnswerTrie;
+import ch.csbe.flashcardgame.deck.CardSource;
+import ch.csbe.flashcardgame.deck.FolderCardSource;
+
+public class TypoToleranceTest {
+
+    @Test
+    public void testSmallTyposAreForgiven() {
+        assertEquals(1, AnswerRule.distance("pairs", 0, 5, "paris", 2));
+        assertEquals(1, AnswerRule.distance(" PARI ", 1, 5, "paris", 2));
+        assertEquals(3, AnswerRule.distance("bren", 0, 4, "berlin", 3));
+        assertEquals(3, AnswerRule.distance("washington", 0, 10, "paris", 2));
+
+        assertTrue(AnswerRule.matches(" Pairs ", "paris", 1));
+        assertTrue(AnswerRule.matches("ZURICH", "zürich", 1));
+        assertFalse(AnswerRule.matches("pairs", "paris", 0));
+        assertFalse(AnswerRule.matches("pxrxs", "paris", 1));
+        assertFalse(AnswerRule.matches("ron", "rom", 1));
+        assertTrue(AnswerRule.matches("Rom", "rom", 1));
+    }
+
+    @Test
+    public void testNearestAnswerIsFoundLikeAScanOverAllAnswers() {
+        Random random = new Random(7);
+        File[] files = new File[2000];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File("/deck", word(random) + ".txt");
+        }
+        CardSource cards = new FolderCardSource(files);
+        AnswerTrie answers = AnswerTrie.build(cards, () -> false);
+        for (int query = 0; query < 300; query++) {
+            String input = query % 2 == 0 ? word(random) : typo(cards.getAnswer(random.nextInt(files.length)), random);
+            int excluded = answers.find(cards.getAnswer(0), 0, cards.getAnswer(0).length());
+            int nearest = Integer.MAX_VALUE;
+            for (int index = 0; index < files.length; index++) {
+                if (!cards.getAnswer(index).equals(cards.getAnswer(0))) {
+                    nearest = Math.min(nearest, AnswerRule.distance(input, 0, input.length(), cards.getAnswer(index), 2));
+                }
+            }
+            int node = answers.findNearest(input, 0, input.length(), 2, excluded);
+            if (nearest > 2) {
+                assertEquals(input, -1, node);
+            } else {
+                String found = cards.getAnswer(answers.getExample(node));
+                assertEquals(input, nearest, AnswerRule.distance(input, 0, input.length(), found, 2));
+            }
+        }
+    }
+
+    @Test
+    public void testAnotherCardsAnswerIsNoTypo() {
+        CardSource cards = new FolderCardSource(new File[] {
+            new File("/deck", "Mali.txt"),
+            new File("/deck", "Bali.txt"),
+        });
+        AnswerTrie answers = AnswerTrie.build(cards, () -> false);
+
+        assertTrue(cards.matchesAnswer(0, " MALI ", 1, answers));
+        assertTrue(cards.matchesAnswer(0, "mlai", 1, answers));
+        assertFalse(cards.matchesAnswer(0, "bali", 1, answers));
+        assertFalse(cards.matchesAnswer(0, "Bali ", 1, answers));
+        assertTrue(cards.matchesAnswer(1, "bail", 1, answers));
+    }
+
+    // A random lower-case word from a small alphabet, so many words are near each other.
+    private static String word(Random random) {
+        char[] word = new char[3 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(word);
+    }
+
+    // Swaps two neighbouring characters or replaces one.
+    private static String typo(String answer, Random random) {
+        char[] word = answer.toCharArray();
+        int pos = random.nextInt(word.length - 1);
+        if (random.nextBoolean()) {
+            char swapped = word[pos];
+            word[pos] = word[pos + 1];
+            word[pos + 1] = swapped;
+        } else {
+            word[pos] = 'z';
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,60 @@
+package ch.csbe.flashcardgame;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import ch.csbe.flashcardgame.deck.Deck;
+import ch.csbe.flashcardgame.deck.LiveCardSource;
+import ch.csbe.flashcardgame.session.DeckSession;
+
+public class ZipDeckTest {
+
+    @Rule
+    public TestDecks decks = new TestDecks();
+
+    @Test
+    public void testArchiveIsPlayedWithoutExtracting() throws Exception {
+        File archive = new File(decks.getRoot(), "europe.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive.toPath()))) {
+            put(zip, "france/", null);
+            put(zip, "france/Paris.txt", "Capital of France");
+            put(zip, "Rome.TXT", "Capital of Italy");
+            put(zip, "__MACOSX/france/._Paris.txt", "resource fork");
+            put(zip, "readme.md", "not a card");
+        }
+
+        Deck deck = Deck.open(archive);
+        try {
+            assertTrue(deck.getScanner().isDone());
+            assertEquals(2, deck.getCardCount());
+            LiveCardSource cards = deck.getCards();
+            assertEquals("Paris.txt", cards.getName(0));
+            assertEquals("Capital of France", cards.readContent(0));
+
+            DeckSession session = new DeckSession(cards);
+            assertTrue(session.nextCard());
+            assertTrue(session.submitAnswer("Paris"));
+            assertTrue(session.nextCard());
+            assertTrue(session.submitAnswer("rome"));
+            assertFalse(session.nextCard());
+        } finally {
+            deck.close();
+        }
+    }
+
+    // Adds an entry; a null content adds a directory.
+    private static void put(ZipOutputStream zip, String name, String content) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        if (content != null) {
+            zip.write(content.getBytes());
+        }
+        zip.closeEntry();
+    }
+}